@@ -0,0 +1,22 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import static ru.practicum.shareit.util.ProfileConstants.REACTIVE;
+
+/**
+ * Сервер для профиля {@code reactive}. Tomcat остаётся в classpath ради основного варианта gateway
+ * и при автоконфигурации выбирался бы первым, поэтому Reactor Netty задаётся явно.
+ */
+@Configuration
+@Profile(REACTIVE)
+public class ReactiveWebServerConfig {
+
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -1,53 +1,72 @@
 package ru.practicum.shareit.booking;
 
+import java.util.HashMap;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionsRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
 
+import static ru.practicum.shareit.util.ProfileConstants.NOT_REACTIVE;
+
 @Service
+@Profile(NOT_REACTIVE)
 public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl,
+                         @Value("${shareit-server.pass-through}") boolean passThrough,
+                         ClientHttpRequestFactory serverRequestFactory,
+                         RestTemplateBuilder builder) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                passThrough
         );
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, Integer from, Integer size,
+                                              String cursor) {
+        Map<String, Object> parameters = pageParameters(state, from, size, cursor);
+        return get("?" + pageQuery(cursor), userId, parameters);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getBookingsByState(BookingState state, Integer from, Integer size, Long userId) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookingsByState(BookingState state, Integer from, Integer size, String cursor,
+                                                     Long userId) {
+        Map<String, Object> parameters = pageParameters(state, from, size, cursor);
+        return get("/owner?" + pageQuery(cursor), userId, parameters);
+    }
+
+    private static Map<String, Object> pageParameters(BookingState state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
     }
 
+    private static String pageQuery(String cursor) {
+        String query = "state={state}&from={from}&size={size}";
+        return cursor == null ? query : query + "&cursor={cursor}";
+    }
 
     public ResponseEntity<Object> bookItem(long userId, BookItemRequestDto requestDto) {
         return post("", userId, requestDto);
@@ -64,6 +83,10 @@ public class BookingClient extends BaseClient {
          return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
      }
 
+    public ResponseEntity<Object> decideBookings(BookingDecisionsRequestDto request, Long userId) {
+        return patch("/bulk", userId, request);
+    }
+
     public ResponseEntity<Object> canceledBooking(Long bookingId, Long userId) {
         return patch("/" + bookingId + "/canceled", userId);
     }
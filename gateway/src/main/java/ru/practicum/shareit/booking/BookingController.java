@@ -5,16 +5,20 @@ import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionsRequestDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
 import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
+import static ru.practicum.shareit.util.ProfileConstants.NOT_REACTIVE;
 
 @Controller
+@Profile(NOT_REACTIVE)
 @RequestMapping(path = "/bookings")
 @RequiredArgsConstructor
 @Slf4j
@@ -26,11 +30,12 @@ public class BookingController {
     public ResponseEntity<Object> getBookings(@RequestHeader(USER_ID_HEADER) @Positive long userId,
                                               @RequestParam(name = "state", defaultValue = "all") String stateParam,
                                               @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+                                              @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                              @RequestParam(name = "cursor", required = false) String cursor) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+        return bookingClient.getBookings(userId, state, from, size, cursor);
     }
 
     @GetMapping("/owner")
@@ -40,11 +45,13 @@ public class BookingController {
                                                      Integer from,
                                                      @Positive @RequestParam(name = "size", defaultValue = "10")
                                                      Integer size,
+                                                     @RequestParam(name = "cursor", required = false) String cursor,
                                                      @RequestHeader(USER_ID_HEADER) @Positive Long userId) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Get booking owner with state {}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookingsByState(state, from, size, userId);
+        log.info("Get booking owner with state {}, userId={}, from={}, size={}, cursor={}",
+                stateParam, userId, from, size, cursor);
+        return bookingClient.getBookingsByState(state, from, size, cursor, userId);
     }
 
     @GetMapping("/{bookingId}")
@@ -69,6 +76,13 @@ public class BookingController {
         return bookingClient.approveBooking(bookingId, approved, userId);
     }
 
+    @PatchMapping("/bulk")
+    public ResponseEntity<Object> decideBookings(@RequestBody @Valid BookingDecisionsRequestDto request,
+                                                 @RequestHeader(USER_ID_HEADER) @Positive Long userId) {
+        log.info("Bulk decision on {} bookings, userId={}", request.getDecisions().size(), userId);
+        return bookingClient.decideBookings(request, userId);
+    }
+
     @PatchMapping("/{bookingId}/canceled")
     public ResponseEntity<Object> canceledBooking(@PathVariable("bookingId") Long bookingId,
                                                   @RequestHeader(USER_ID_HEADER) Long userId) {
@@ -0,0 +1,85 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionsRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static ru.practicum.shareit.util.ProfileConstants.REACTIVE;
+
+@Service
+@Profile(REACTIVE)
+public class ReactiveBookingClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/bookings";
+
+    public ReactiveBookingClient(@Value("${shareit-server.url}") String serverUrl,
+                                 ClientHttpConnector serverHttpConnector,
+                                 WebClient.Builder builder) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverHttpConnector)
+                        .build()
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookings(long userId, BookingState state, Integer from,
+                                                              Integer size, String cursor) {
+        Map<String, Object> parameters = pageParameters(state, from, size, cursor);
+        return get("?" + pageQuery(cursor), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingsByState(BookingState state, Integer from, Integer size,
+                                                                     String cursor, Long userId) {
+        Map<String, Object> parameters = pageParameters(state, from, size, cursor);
+        return get("/owner?" + pageQuery(cursor), userId, parameters);
+    }
+
+    private static Map<String, Object> pageParameters(BookingState state, Integer from, Integer size, String cursor) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("state", state.name());
+        parameters.put("from", from);
+        parameters.put("size", size);
+        if (cursor != null) {
+            parameters.put("cursor", cursor);
+        }
+        return parameters;
+    }
+
+    private static String pageQuery(String cursor) {
+        String query = "state={state}&from={from}&size={size}";
+        return cursor == null ? query : query + "&cursor={cursor}";
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> bookItem(long userId, BookItemRequestDto requestDto) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBooking(long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approveBooking(Long bookingId, Boolean approved, Long userId) {
+        return patch("/" + bookingId + "?approved={approved}", userId, Map.of("approved", approved), null);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> decideBookings(BookingDecisionsRequestDto request, Long userId) {
+        return patch("/bulk", userId, request);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> canceledBooking(Long bookingId, Long userId) {
+        return patch("/" + bookingId + "/canceled", userId);
+    }
+}
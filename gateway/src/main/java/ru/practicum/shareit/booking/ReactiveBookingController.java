@@ -0,0 +1,94 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookItemRequestDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionsRequestDto;
+import ru.practicum.shareit.booking.dto.BookingState;
+
+import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
+import static ru.practicum.shareit.util.ProfileConstants.REACTIVE;
+
+@RestController
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@Profile(REACTIVE)
+public class ReactiveBookingController {
+    private final ReactiveBookingClient bookingClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookings(
+            @RequestHeader(USER_ID_HEADER) @Positive long userId,
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Get booking with state {}, userId={}, from={}, size={}, cursor={}", stateParam, userId, from, size, cursor);
+        return bookingClient.getBookings(userId, state, from, size, cursor);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBookingsByState(
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestHeader(USER_ID_HEADER) @Positive Long userId) {
+        BookingState state = BookingState.from(stateParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
+        log.info("Get booking owner with state {}, userId={}, from={}, size={}, cursor={}",
+                stateParam, userId, from, size, cursor);
+        return bookingClient.getBookingsByState(state, from, size, cursor, userId);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getBooking(@RequestHeader(USER_ID_HEADER) long userId,
+                                                             @PathVariable Long bookingId) {
+        log.info("Get booking {}, userId={}", bookingId, userId);
+        return bookingClient.getBooking(userId, bookingId);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createBooking(@RequestHeader(USER_ID_HEADER) long userId,
+                                                                @RequestBody @Valid BookItemRequestDto requestDto) {
+        log.info("Creating booking {}, userId={}", requestDto, userId);
+        return bookingClient.bookItem(userId, requestDto);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> approveBooking(@PathVariable("bookingId") Long bookingId,
+                                                                 @RequestParam("approved") Boolean approved,
+                                                                 @RequestHeader(USER_ID_HEADER) Long userId) {
+        log.info("Update booking {}, userId={} on approve = {}", bookingId, userId, approved);
+        return bookingClient.approveBooking(bookingId, approved, userId);
+    }
+
+    @PatchMapping("/bulk")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> decideBookings(
+            @RequestBody @Valid BookingDecisionsRequestDto request,
+            @RequestHeader(USER_ID_HEADER) @Positive Long userId) {
+        log.info("Bulk decision on {} bookings, userId={}", request.getDecisions().size(), userId);
+        return bookingClient.decideBookings(request, userId);
+    }
+
+    @PatchMapping("/{bookingId}/canceled")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> canceledBooking(@PathVariable("bookingId") Long bookingId,
+                                                                  @RequestHeader(USER_ID_HEADER) Long userId) {
+        log.info("Cancel booking {}, userId={}", bookingId, userId);
+        return bookingClient.canceledBooking(bookingId, userId);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BookingDecisionDto {
+    @NotNull(message = "bookingId не может быть null")
+    @Positive(message = "bookingId должен быть положительным числом")
+    private Long bookingId;
+
+    @NotNull(message = "approved не может быть null")
+    private Boolean approved;
+}
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class BookingDecisionsRequestDto {
+    @NotEmpty(message = "decisions не может быть пустым")
+    @Size(max = 100, message = "За один запрос можно обработать не больше 100 бронирований")
+    private List<@Valid @NotNull BookingDecisionDto> decisions;
+}
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.bulk;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.StreamingHttpOutputMessage;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import ru.practicum.shareit.client.BaseClient;
+
+import java.io.InputStream;
+import java.util.List;
+
+import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
+import static ru.practicum.shareit.util.ProfileConstants.NOT_REACTIVE;
+
+/**
+ * Клиент массового импорта. В отличие от остальных клиентов не сериализует тело,
+ * а передаёт входящий NDJSON-поток серверу по мере чтения, не накапливая его в памяти gateway.
+ */
+@Service
+@Profile(NOT_REACTIVE)
+public class BulkImportClient extends BaseClient {
+
+    private static final String API_PREFIX = "/import";
+
+    public BulkImportClient(@Value("${shareit-server.url}") String serverUrl,
+                            ClientHttpRequestFactory serverRequestFactory,
+                            RestTemplateBuilder builder) {
+        super(
+                builder
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
+                        .requestFactory(() -> serverRequestFactory)
+                        .build());
+    }
+
+    public ResponseEntity<Object> importUsers(InputStream body) {
+        return stream("/users", null, body);
+    }
+
+    public ResponseEntity<Object> importItems(long userId, InputStream body) {
+        return stream("/items", userId, body);
+    }
+
+    private ResponseEntity<Object> stream(String path, @Nullable Long userId, InputStream body) {
+        try {
+            return rest.execute(path, HttpMethod.POST, request -> {
+                request.getHeaders().setContentType(MediaType.APPLICATION_NDJSON);
+                request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+                if (userId != null) {
+                    request.getHeaders().set(USER_ID_HEADER, String.valueOf(userId));
+                }
+                if (request instanceof StreamingHttpOutputMessage streaming) {
+                    streaming.setBody(body::transferTo);
+                } else {
+                    body.transferTo(request.getBody());
+                }
+            }, response -> ResponseEntity.status(response.getStatusCode())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body((Object) response.getBody().readAllBytes()));
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.bulk;
+
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.InputStream;
+
+import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
+import static ru.practicum.shareit.util.ProfileConstants.NOT_REACTIVE;
+
+@RestController
+@Profile(NOT_REACTIVE)
+@RequestMapping("/import")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+public class BulkImportController {
+
+    private final BulkImportClient bulkImportClient;
+
+    @PostMapping(value = "/users", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Object> importUsers(InputStream body) {
+        log.info("POST /import/users");
+        return bulkImportClient.importUsers(body);
+    }
+
+    @PostMapping(value = "/items", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Object> importItems(@RequestHeader(USER_ID_HEADER) @Positive Long userId,
+                                              InputStream body) {
+        log.info("POST /import/items by userId={}", userId);
+        return bulkImportClient.importItems(userId, body);
+    }
+}
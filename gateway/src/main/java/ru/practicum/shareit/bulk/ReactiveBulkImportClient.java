@@ -0,0 +1,58 @@
+package ru.practicum.shareit.bulk;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
+import static ru.practicum.shareit.util.ProfileConstants.REACTIVE;
+
+/**
+ * Реактивный клиент массового импорта: буферы входящего NDJSON-потока передаются серверу по мере поступления.
+ */
+@Service
+@Profile(REACTIVE)
+public class ReactiveBulkImportClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/import";
+
+    public ReactiveBulkImportClient(@Value("${shareit-server.url}") String serverUrl,
+                                    ClientHttpConnector serverHttpConnector,
+                                    WebClient.Builder builder) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverHttpConnector)
+                        .build());
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> importUsers(Flux<DataBuffer> body) {
+        return stream("/users", null, body);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> importItems(long userId, Flux<DataBuffer> body) {
+        return stream("/items", userId, body);
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> stream(String path, @Nullable Long userId, Flux<DataBuffer> body) {
+        return relay(webClient.post()
+                .uri(path)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    if (userId != null) {
+                        headers.set(USER_ID_HEADER, String.valueOf(userId));
+                    }
+                })
+                .body(body, DataBuffer.class));
+    }
+}
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.bulk;
+
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
+import static ru.practicum.shareit.util.ProfileConstants.REACTIVE;
+
+@RestController
+@RequestMapping("/import")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@Profile(REACTIVE)
+public class ReactiveBulkImportController {
+
+    private final ReactiveBulkImportClient bulkImportClient;
+
+    @PostMapping(value = "/users", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> importUsers(@RequestBody Flux<DataBuffer> body) {
+        log.info("POST /import/users");
+        return bulkImportClient.importUsers(body);
+    }
+
+    @PostMapping(value = "/items", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<DataBuffer>>> importItems(@RequestHeader(USER_ID_HEADER) @Positive Long userId,
+                                                              @RequestBody Flux<DataBuffer> body) {
+        log.info("POST /import/items by userId={}", userId);
+        return bulkImportClient.importItems(userId, body);
+    }
+}
@@ -1,20 +1,69 @@
 package ru.practicum.shareit.client;
 
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
 
+/**
+ * Базовый клиент shareit-server. Ответы сервера передаются клиенту gateway одним из двух способов:
+ * <ul>
+ *     <li>разбором тела в {@code Object} (деревья {@code LinkedHashMap}/{@code ArrayList}), которое Spring MVC
+ *     затем сериализует заново;</li>
+ *     <li>в режиме {@code passThrough} — без разбора: байты тела копируются в ответ gateway по мере чтения
+ *     из соединения с сервером, вместе с заголовками ответа, кроме hop-by-hop.</li>
+ * </ul>
+ * Ответы с ошибками в обоих режимах возвращаются с тем же статусом и телом, что и у сервера.
+ * Клиенты с {@link GatewayResponseCache} читают отдельные ресурсы через {@link #getCached}: тело
+ * таких ответов читается целиком и сохраняется, а повторные запросы проверяются по ETag.
+ */
 public class BaseClient {
+
+    /**
+     * Заголовки, которые относятся к соединению с сервером или к исходной длине тела и не передаются клиенту.
+     */
+    private static final Set<String> NOT_RELAYED_HEADERS = Set.of(
+            HttpHeaders.CONNECTION, "Keep-Alive", HttpHeaders.TRANSFER_ENCODING, HttpHeaders.TE,
+            HttpHeaders.TRAILER, HttpHeaders.UPGRADE, HttpHeaders.PROXY_AUTHENTICATE,
+            HttpHeaders.PROXY_AUTHORIZATION, HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONTENT_ENCODING);
+
     protected final RestTemplate rest;
+    private final RestClient restClient;
+    private final boolean passThrough;
+    @Nullable
+    private final GatewayResponseCache responseCache;
+    private final String resource;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, false);
+    }
+
+    public BaseClient(RestTemplate rest, boolean passThrough) {
+        this(rest, passThrough, null, "");
+    }
+
+    /**
+     * @param resource префикс пути ресурса на сервере, с которого начинаются ключи кэша ответов
+     */
+    public BaseClient(RestTemplate rest, boolean passThrough, @Nullable GatewayResponseCache responseCache,
+                      String resource) {
         this.rest = rest;
+        this.restClient = RestClient.create(rest);
+        this.passThrough = passThrough;
+        this.responseCache = responseCache;
+        this.resource = resource;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -29,6 +78,49 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    /**
+     * Чтение через кэш ответов: при сохранённом ответе серверу передаётся его ETag, и ответ 304
+     * заменяется сохранённым телом.
+     */
+    protected ResponseEntity<Object> getCached(String path, Long userId) {
+        if (responseCache == null || !responseCache.isEnabled()) {
+            return get(path, userId);
+        }
+        String key = resource + path;
+        GatewayResponseCache.Entry cached = responseCache.lookup(key, userId);
+        return restClient.get()
+                .uri(path)
+                .headers(headers -> {
+                    headers.addAll(defaultHeaders(userId));
+                    if (cached != null) {
+                        headers.setIfNoneMatch(cached.etag());
+                    }
+                })
+                .exchange((clientRequest, response) -> {
+                    if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        GatewayResponseCache.Entry entry = responseCache.notModified(cached);
+                        return ResponseEntity.ok().headers(entry.headers()).body(entry.body());
+                    }
+                    byte[] body = response.getBody().readAllBytes();
+                    HttpHeaders headers = relayedHeaders(response.getHeaders());
+                    responseCache.update(key, userId, cached, response.getStatusCode(), headers, body);
+                    if (!response.getStatusCode().is2xxSuccessful()) {
+                        return prepareGatewayResponse(new ResponseEntity<Object>(body, response.getStatusCode()));
+                    }
+                    return ResponseEntity.status(response.getStatusCode()).headers(headers).body(body);
+                });
+    }
+
+    /**
+     * Удаляет из кэша ответы на чтение ресурса {@code path}, если изменивший его запрос прошёл успешно.
+     */
+    protected ResponseEntity<Object> invalidateOnSuccess(String path, ResponseEntity<Object> response) {
+        if (responseCache != null && response.getStatusCode().is2xxSuccessful()) {
+            responseCache.invalidate(resource + path);
+        }
+        return response;
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -74,6 +166,9 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
+        if (passThrough) {
+            return relayRequest(method, path, userId, parameters, body);
+        }
         HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
 
         ResponseEntity<Object> shareitServerResponse;
@@ -89,6 +184,58 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
+    private <T> ResponseEntity<Object> relayRequest(HttpMethod method, String path, Long userId,
+                                                    @Nullable Map<String, Object> parameters, @Nullable T body) {
+        RestClient.RequestBodySpec request = restClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders(userId)));
+        if (body != null) {
+            request.body(body);
+        }
+        return request.exchange((clientRequest, response) -> relayResponse(response), false);
+    }
+
+    /**
+     * Переносит ответ сервера в ответ gateway. Успешный ответ с телом отдаётся как поток: соединение
+     * с сервером закрывается, когда Spring MVC допишет тело. Остальные ответы невелики, читаются целиком
+     * и проходят через {@link #prepareGatewayResponse}, как при разборе через {@link RestTemplate}.
+     */
+    private static ResponseEntity<Object> relayResponse(ClientHttpResponse response) throws IOException {
+        HttpStatusCode status = response.getStatusCode();
+        if (!status.is2xxSuccessful()) {
+            try (response) {
+                return prepareGatewayResponse(new ResponseEntity<Object>(response.getBody().readAllBytes(), status));
+            }
+        }
+
+        HttpHeaders headers = relayedHeaders(response.getHeaders());
+        if (status.isSameCodeAs(HttpStatus.NO_CONTENT) || response.getHeaders().getContentLength() == 0) {
+            response.close();
+            return ResponseEntity.status(status).headers(headers).build();
+        }
+
+        InputStream body = new FilterInputStream(response.getBody()) {
+            @Override
+            public void close() {
+                response.close();
+            }
+        };
+        return ResponseEntity.status(status).headers(headers).body(new InputStreamResource(body));
+    }
+
+    /**
+     * Заголовки ответа сервера, которые передаются клиенту gateway.
+     */
+    static HttpHeaders relayedHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (NOT_RELAYED_HEADERS.stream().noneMatch(name::equalsIgnoreCase)) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+
     private HttpHeaders defaultHeaders(Long userId) {
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
@@ -0,0 +1,166 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Кэш ответов shareit-server на чтение отдельных ресурсов ({@code GET /items/{id}}, {@code /users/{id}},
+ * {@code /requests/{id}}) с повторной проверкой по ETag.
+ * <p>
+ * Ключ — путь на сервере, строка запроса и {@code X-Sharer-User-Id}: сервер по-разному отвечает владельцу
+ * и остальным пользователям. Запись не считается свежей сама по себе: каждый запрос уходит на сервер
+ * с {@code If-None-Match}, и при совпадении ETag сервер отвечает 304 без тела, а gateway отдаёт тело из кэша.
+ * Поэтому изменения, прошедшие мимо gateway, никогда не отдаются устаревшими, а удаление записей при
+ * PATCH/POST/DELETE через gateway лишь освобождает память от заведомо устаревших ответов. Чтобы удаление
+ * не обходило весь кэш, ключи записей дополнительно сгруппированы по пути.
+ * <p>
+ * Вытеснение — W-TinyLFU (Caffeine) по оценочному размеру записей в пределах
+ * {@link ResponseCacheProperties#getMaxSize()}. Метрики: {@code cache.*} с тегом
+ * {@code cache=gateway-responses} (размер, вес, вытеснения) и {@code shareit.gateway.cache.requests}
+ * с тегом {@code result}: {@code hit} — сервер ответил 304, {@code stale} — ответ изменился,
+ * {@code miss} — записи не было. Доля попаданий — {@code hit} к сумме всех трёх.
+ */
+@Component
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class GatewayResponseCache {
+
+    public static final String CACHE_NAME = "gateway-responses";
+
+    /**
+     * Накладные расходы на запись сверх тела и строк: объекты ключа, записи, заголовков и узла кэша.
+     */
+    private static final int ENTRY_OVERHEAD = 256;
+
+    private final boolean enabled;
+    private final Cache<Key, Entry> cache;
+    private final Map<String, Set<Key>> keysByPath = new ConcurrentHashMap<>();
+    private final Map<Outcome, Counter> requests;
+
+    public GatewayResponseCache(ResponseCacheProperties properties, MeterRegistry registry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxSize().toBytes())
+                .weigher(GatewayResponseCache::weigh)
+                .expireAfterAccess(properties.getExpireAfterAccess())
+                .recordStats()
+                // Вызывается атомарно с вытеснением ключа, поэтому не гонится с его повторной записью
+                .evictionListener((Key key, Entry entry, RemovalCause cause) -> unlink(key))
+                .build();
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        this.requests = Map.of(
+                Outcome.HIT, counter(registry, "hit"),
+                Outcome.STALE, counter(registry, "stale"),
+                Outcome.MISS, counter(registry, "miss"));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Сохранённый ответ, ETag которого нужно передать серверу в {@code If-None-Match}.
+     */
+    @Nullable
+    public Entry lookup(String path, @Nullable Long userId) {
+        return cache.getIfPresent(new Key(path, userId));
+    }
+
+    /**
+     * Сервер подтвердил, что сохранённый ответ не изменился (304).
+     */
+    public Entry notModified(Entry cached) {
+        requests.get(Outcome.HIT).increment();
+        return cached;
+    }
+
+    /**
+     * Учитывает полный ответ сервера: успешный ответ с ETag сохраняется, ошибка удаляет записи ресурса.
+     */
+    public void update(String path, @Nullable Long userId, @Nullable Entry cached, HttpStatusCode status,
+                       HttpHeaders headers, byte[] body) {
+        requests.get(cached != null ? Outcome.STALE : Outcome.MISS).increment();
+        String etag = headers.getETag();
+        if (status.isSameCodeAs(HttpStatus.OK) && etag != null) {
+            HttpHeaders stored = new HttpHeaders();
+            stored.addAll(headers);
+            stored.remove(HttpHeaders.DATE);
+            Entry entry = new Entry(etag, HttpHeaders.readOnlyHttpHeaders(stored), body);
+            cache.asMap().compute(new Key(path, userId), (key, previous) -> {
+                link(key);
+                return entry;
+            });
+        } else if (status.isError()) {
+            invalidate(path);
+        }
+    }
+
+    /**
+     * Удаляет сохранённые ответы ресурса для всех пользователей.
+     */
+    public void invalidate(String path) {
+        Set<Key> keys = keysByPath.remove(path);
+        if (keys != null) {
+            cache.invalidateAll(keys);
+        }
+    }
+
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    private void link(Key key) {
+        keysByPath.compute(key.path(), (path, keys) -> {
+            Set<Key> linked = keys != null ? keys : ConcurrentHashMap.newKeySet();
+            linked.add(key);
+            return linked;
+        });
+    }
+
+    private void unlink(Key key) {
+        keysByPath.computeIfPresent(key.path(), (path, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static int weigh(Key key, Entry entry) {
+        long headers = entry.headers().entrySet().stream()
+                .mapToLong(header -> header.getKey().length()
+                        + header.getValue().stream().mapToLong(String::length).sum())
+                .sum();
+        long weight = ENTRY_OVERHEAD + entry.body().length + 2L * (key.path().length() + headers);
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("shareit.gateway.cache.requests")
+                .description("Чтения через кэш ответов gateway")
+                .tag("cache", CACHE_NAME)
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private enum Outcome {
+        HIT, STALE, MISS
+    }
+
+    private record Key(String path, @Nullable Long userId) {
+    }
+
+    public record Entry(String etag, HttpHeaders headers, byte[] body) {
+    }
+}
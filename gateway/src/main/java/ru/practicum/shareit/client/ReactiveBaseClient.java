@@ -0,0 +1,173 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
+
+/**
+ * Базовый неблокирующий клиент shareit-server для профиля {@code reactive}, аналог {@link BaseClient}
+ * в режиме pass-through.
+ * <p>
+ * Ответ сервера не разбирается: статус и заголовки (кроме hop-by-hop) передаются клиенту gateway,
+ * а тело — потоком буферов по мере чтения из соединения. Ответы с ошибками возвращаются с тем же
+ * статусом и телом, что и у сервера. Ни один поток не ждёт ответа: запрос в ожидании сервера
+ * занимает только соединение и состояние в памяти. Чтение отдельных ресурсов через {@link #getCached}
+ * проверяется по ETag с тем же {@link GatewayResponseCache}, что и у {@link BaseClient}.
+ */
+public class ReactiveBaseClient {
+
+    protected final WebClient webClient;
+    @Nullable
+    private final GatewayResponseCache responseCache;
+    private final String resource;
+
+    public ReactiveBaseClient(WebClient webClient) {
+        this(webClient, null, "");
+    }
+
+    /**
+     * @param resource префикс пути ресурса на сервере, с которого начинаются ключи кэша ответов
+     */
+    public ReactiveBaseClient(WebClient webClient, @Nullable GatewayResponseCache responseCache, String resource) {
+        this.webClient = webClient;
+        this.responseCache = responseCache;
+        this.resource = resource;
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path) {
+        return get(path, null, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path, Long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> get(String path, Long userId,
+                                                          @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    }
+
+    /**
+     * Чтение через кэш ответов: при сохранённом ответе серверу передаётся его ETag, и ответ 304
+     * заменяется сохранённым телом.
+     */
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> getCached(String path, Long userId) {
+        if (responseCache == null || !responseCache.isEnabled()) {
+            return get(path, userId);
+        }
+        String key = resource + path;
+        GatewayResponseCache.Entry cached = responseCache.lookup(key, userId);
+        return webClient.get()
+                .uri(path)
+                .headers(headers -> {
+                    headers.addAll(defaultHeaders(userId));
+                    if (cached != null) {
+                        headers.setIfNoneMatch(cached.etag());
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (cached != null && response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        GatewayResponseCache.Entry entry = responseCache.notModified(cached);
+                        return response.releaseBody()
+                                .thenReturn(entity(HttpStatus.OK, entry.headers(), entry.body()));
+                    }
+                    HttpHeaders headers = BaseClient.relayedHeaders(response.headers().asHttpHeaders());
+                    return response.bodyToMono(byte[].class)
+                            .defaultIfEmpty(new byte[0])
+                            .map(body -> {
+                                responseCache.update(key, userId, cached, response.statusCode(), headers, body);
+                                return entity(response.statusCode(), headers, body);
+                            });
+                });
+    }
+
+    /**
+     * Удаляет из кэша ответы на чтение ресурса {@code path}, если изменивший его запрос прошёл успешно.
+     */
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> invalidateOnSuccess(
+            String path, Mono<ResponseEntity<Flux<DataBuffer>>> response) {
+        if (responseCache == null) {
+            return response;
+        }
+        return response.doOnNext(entity -> {
+            if (entity.getStatusCode().is2xxSuccessful()) {
+                responseCache.invalidate(resource + path);
+            }
+        });
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> post(String path, Long userId, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, null, body);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> patch(String path, Long userId) {
+        return patch(path, userId, null, null);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> patch(String path, Long userId, T body) {
+        return patch(path, userId, null, body);
+    }
+
+    protected <T> Mono<ResponseEntity<Flux<DataBuffer>>> patch(String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters,
+                                                                @Nullable T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    }
+
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> delete(String path, Long userId) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, null, null);
+    }
+
+    private <T> Mono<ResponseEntity<Flux<DataBuffer>>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                           @Nullable Map<String, Object> parameters,
+                                                                           @Nullable T body) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(defaultHeaders(userId)));
+        WebClient.RequestHeadersSpec<?> spec = body != null ? request.bodyValue(body) : request;
+        return relay(spec);
+    }
+
+    /**
+     * Отправляет подготовленный запрос и переносит ответ сервера в ответ gateway, не считая ошибочные
+     * статусы исключением.
+     */
+    protected static Mono<ResponseEntity<Flux<DataBuffer>>> relay(WebClient.RequestHeadersSpec<?> request) {
+        return request.retrieve()
+                .onStatus(HttpStatusCode::isError, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(response -> ResponseEntity.status(response.getStatusCode())
+                        .headers(BaseClient.relayedHeaders(response.getHeaders()))
+                        .body(response.getBody()));
+    }
+
+    private static ResponseEntity<Flux<DataBuffer>> entity(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+        return ResponseEntity.status(status)
+                .headers(headers)
+                .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)));
+    }
+
+    private HttpHeaders defaultHeaders(Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set(USER_ID_HEADER, String.valueOf(userId));
+        }
+        return headers;
+    }
+}
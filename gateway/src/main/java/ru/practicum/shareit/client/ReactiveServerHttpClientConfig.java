@@ -0,0 +1,48 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import static ru.practicum.shareit.util.ProfileConstants.REACTIVE;
+
+/**
+ * Общий для всех реактивных клиентов gateway пул соединений с shareit-server (профиль {@code reactive}).
+ * <p>
+ * Лимиты берутся из тех же {@link ServerHttpClientProperties}, что и у блокирующего пула. Пул Reactor Netty
+ * ведётся по каждому адресу отдельно, поэтому его размер задаёт {@code max-per-route}. Запросы сверх размера
+ * пула ждут соединения в очереди без ограничения длины, но не дольше {@code connection-request-timeout}.
+ * Соединения обслуживают те же event loop потоки, что и входящие запросы. Состояние пула публикуется
+ * в метриках {@code reactor.netty.connection.provider.*} с тегом {@code name=shareit-server}.
+ */
+@Configuration
+@Profile(REACTIVE)
+@EnableConfigurationProperties(ServerHttpClientProperties.class)
+public class ReactiveServerHttpClientConfig {
+
+    @Bean
+    public ConnectionProvider serverConnectionProvider(ServerHttpClientProperties properties) {
+        return ConnectionProvider.builder(ServerHttpClientConfig.POOL_NAME)
+                .maxConnections(properties.getMaxPerRoute())
+                .pendingAcquireMaxCount(-1)
+                .pendingAcquireTimeout(properties.getConnectionRequestTimeout())
+                .maxIdleTime(properties.getIdleTimeout())
+                .evictInBackground(properties.getIdleTimeout())
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    public ReactorClientHttpConnector serverHttpConnector(ConnectionProvider serverConnectionProvider,
+                                                          ServerHttpClientProperties properties) {
+        HttpClient httpClient = HttpClient.create(serverConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.getConnectTimeout().toMillis())
+                .responseTimeout(properties.getResponseTimeout());
+        return new ReactorClientHttpConnector(httpClient);
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Кэш ответов shareit-server в gateway ({@code shareit-server.cache.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties("shareit-server.cache")
+public class ResponseCacheProperties {
+
+    /**
+     * Кэшировать ли ответы на чтение отдельных вещей, пользователей и запросов.
+     */
+    private boolean enabled = true;
+    /**
+     * Бюджет памяти: суммарный оценочный размер записей (тела, ETag, ключи и заголовки).
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(32);
+    /**
+     * Запись, к которой не обращались дольше, удаляется.
+     */
+    private Duration expireAfterAccess = Duration.ofMinutes(10);
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Пул HTTP-соединений gateway с shareit-server ({@code shareit-server.http.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties("shareit-server.http")
+public class ServerHttpClientProperties {
+
+    /**
+     * Максимальное число соединений в пуле.
+     */
+    private int maxTotal = 200;
+    /**
+     * Максимальное число соединений с одним хостом (маршрутом).
+     */
+    private int maxPerRoute = 100;
+    /**
+     * Время установки TCP-соединения.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    /**
+     * Время ожидания ответа сервера после отправки запроса.
+     */
+    private Duration responseTimeout = Duration.ofSeconds(30);
+    /**
+     * Время ожидания свободного соединения, когда пул исчерпан.
+     */
+    private Duration connectionRequestTimeout = Duration.ofSeconds(5);
+    /**
+     * Соединения, простаивающие дольше, закрываются фоновым потоком.
+     */
+    private Duration idleTimeout = Duration.ofSeconds(30);
+    /**
+     * Соединение, простоявшее дольше, проверяется перед выдачей из пула.
+     */
+    private Duration validateAfterInactivity = Duration.ofSeconds(2);
+}
@@ -6,6 +6,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
 
 import java.util.Map;
 
@@ -18,4 +19,14 @@ public class ErrorHandler {
         log.error("Ошибка валидации: {}", ex.getMessage());
         return Map.of("error", ex.getMessage());
     }
+
+    /**
+     * Ошибка валидации тела запроса в профиле {@code reactive}.
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> handleWebExchangeBind(WebExchangeBindException ex) {
+        log.error("Ошибка валидации: {}", ex.getMessage());
+        return Map.of("error", ex.getMessage());
+    }
 }
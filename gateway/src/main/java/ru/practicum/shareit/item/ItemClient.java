@@ -2,29 +2,43 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestUpdateDto;
 import ru.practicum.shareit.item.dto.RequestCommentDto;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.Map;
 
+import static ru.practicum.shareit.util.ProfileConstants.NOT_REACTIVE;
+
 @Service
+@Profile(NOT_REACTIVE)
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
     public ItemClient(@Value("${shareit-server.url}") String serverUrl,
+                      @Value("${shareit-server.pass-through}") boolean passThrough,
+                      ClientHttpRequestFactory serverRequestFactory,
+                      GatewayResponseCache responseCache,
                       RestTemplateBuilder builder) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build());
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                passThrough,
+                responseCache,
+                API_PREFIX);
     }
 
     public ResponseEntity<Object> createItem(long userId, ItemRequestDto itemRequestDto) {
@@ -32,11 +46,11 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> updateItem(long itemId, long userId, ItemRequestUpdateDto itemDto) {
-        return patch("/" + itemId, userId, itemDto);
+        return invalidateOnSuccess("/" + itemId, patch("/" + itemId, userId, itemDto));
     }
 
     public ResponseEntity<Object> getItem(long itemId, long userId) {
-        return get("/" + itemId, userId);
+        return getCached("/" + itemId, userId);
     }
 
     public ResponseEntity<Object> getUserItems(long userId, int from, int size) {
@@ -50,6 +64,21 @@ public class ItemClient extends BaseClient {
     }
 
     public ResponseEntity<Object> createComment(long userId, long itemId, RequestCommentDto commentDto) {
-        return post("/" + itemId + "/comment", userId, commentDto);
+        return invalidateOnSuccess("/" + itemId, post("/" + itemId + "/comment", userId, commentDto));
+    }
+
+    public ResponseEntity<Object> getAvailability(long itemId, long userId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> params = Map.of("from", from.toString(), "to", to.toString());
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, params);
+    }
+
+    public ResponseEntity<Object> findNextFreeSlot(long itemId, long userId, LocalDateTime from, Duration duration) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("duration", duration.toString());
+        if (from == null) {
+            return get("/" + itemId + "/availability/next-free?duration={duration}", userId, params);
+        }
+        params.put("from", from.toString());
+        return get("/" + itemId + "/availability/next-free?duration={duration}&from={from}", userId, params);
     }
 }
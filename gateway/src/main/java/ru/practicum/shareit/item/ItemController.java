@@ -5,6 +5,8 @@ import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -12,11 +14,15 @@ import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemRequestUpdateDto;
 import ru.practicum.shareit.item.dto.RequestCommentDto;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Collections;
 
 import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
+import static ru.practicum.shareit.util.ProfileConstants.NOT_REACTIVE;
 
 @RestController
+@Profile(NOT_REACTIVE)
 @RequestMapping("/items")
 @RequiredArgsConstructor
 @Slf4j
@@ -74,4 +80,27 @@ public class ItemController {
         log.info("POST /items/{}/comment by userId={}", itemId, userId);
         return itemClient.createComment(userId, itemId, commentDto);
     }
+
+    @GetMapping("/{itemId}/availability")
+    public ResponseEntity<Object> getAvailability(@PathVariable Long itemId,
+                                                  @RequestHeader(USER_ID_HEADER) @Positive Long userId,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                  LocalDateTime to) {
+        log.info("GET /items/{}/availability by userId={}, from={}, to={}", itemId, userId, from, to);
+        return itemClient.getAvailability(itemId, userId, from, to);
+    }
+
+    @GetMapping("/{itemId}/availability/next-free")
+    public ResponseEntity<Object> findNextFreeSlot(@PathVariable Long itemId,
+                                                   @RequestHeader(USER_ID_HEADER) @Positive Long userId,
+                                                   @RequestParam Duration duration,
+                                                   @RequestParam(required = false)
+                                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                   LocalDateTime from) {
+        log.info("GET /items/{}/availability/next-free by userId={}, from={}, duration={}",
+                itemId, userId, from, duration);
+        return itemClient.findNextFreeSlot(itemId, userId, from, duration);
+    }
 }
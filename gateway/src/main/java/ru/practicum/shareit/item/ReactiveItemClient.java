@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.dto.ItemRequestUpdateDto;
+import ru.practicum.shareit.item.dto.RequestCommentDto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static ru.practicum.shareit.util.ProfileConstants.REACTIVE;
+
+@Service
+@Profile(REACTIVE)
+public class ReactiveItemClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/items";
+
+    public ReactiveItemClient(@Value("${shareit-server.url}") String serverUrl,
+                              ClientHttpConnector serverHttpConnector,
+                              GatewayResponseCache responseCache,
+                              WebClient.Builder builder) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverHttpConnector)
+                        .build(),
+                responseCache,
+                API_PREFIX);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItem(long userId, ItemRequestDto itemRequestDto) {
+        return post("", userId, itemRequestDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(long itemId, long userId, ItemRequestUpdateDto itemDto) {
+        return invalidateOnSuccess("/" + itemId, patch("/" + itemId, userId, itemDto));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItem(long itemId, long userId) {
+        return getCached("/" + itemId, userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserItems(long userId, int from, int size) {
+        Map<String, Object> params = Map.of("from", from, "size", size);
+        return get("?from={from}&size={size}", userId, params);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> search(String text, long userId, int from, int size) {
+        Map<String, Object> params = Map.of("text", text, "from", from, "size", size);
+        return get("/search?text={text}&from={from}&size={size}", userId, params);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createComment(long userId, long itemId,
+                                                                RequestCommentDto commentDto) {
+        return invalidateOnSuccess("/" + itemId, post("/" + itemId + "/comment", userId, commentDto));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAvailability(long itemId, long userId, LocalDateTime from,
+                                                                  LocalDateTime to) {
+        Map<String, Object> params = Map.of("from", from.toString(), "to", to.toString());
+        return get("/" + itemId + "/availability?from={from}&to={to}", userId, params);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findNextFreeSlot(long itemId, long userId, LocalDateTime from,
+                                                                   Duration duration) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("duration", duration.toString());
+        if (from == null) {
+            return get("/" + itemId + "/availability/next-free?duration={duration}", userId, params);
+        }
+        params.put("from", from.toString());
+        return get("/" + itemId + "/availability/next-free?duration={duration}&from={from}", userId, params);
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.dto.ItemRequestUpdateDto;
+import ru.practicum.shareit.item.dto.RequestCommentDto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
+import static ru.practicum.shareit.util.ProfileConstants.REACTIVE;
+
+@RestController
+@RequestMapping("/items")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@Profile(REACTIVE)
+public class ReactiveItemController {
+
+    private static final byte[] EMPTY_LIST = "[]".getBytes(StandardCharsets.UTF_8);
+
+    private final ReactiveItemClient itemClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createItem(@RequestHeader(USER_ID_HEADER) @Positive Long userId,
+                                                             @Valid @RequestBody ItemRequestDto itemRequestDto) {
+        log.info("POST /items by userId={}", userId);
+        return itemClient.createItem(userId, itemRequestDto);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateItem(@PathVariable Long itemId,
+                                                             @RequestHeader(USER_ID_HEADER) @Positive Long userId,
+                                                             @RequestBody ItemRequestUpdateDto itemDto) {
+        log.info("PATCH /items/{} by userId={}", itemId, userId);
+        return itemClient.updateItem(itemId, userId, itemDto);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getItem(@PathVariable Long itemId,
+                                                          @RequestHeader(USER_ID_HEADER) @Positive Long userId) {
+        log.info("GET /items/{} by userId={}", itemId, userId);
+        return itemClient.getItem(itemId, userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserItems(@RequestHeader(USER_ID_HEADER) @Positive Long userId,
+                                                               @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                               @RequestParam(defaultValue = "10") @Positive int size) {
+        log.info("GET /items by userId={} from={}, size={}", userId, from, size);
+        return itemClient.getUserItems(userId, from, size);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> searchItems(@RequestHeader(USER_ID_HEADER) @Positive Long userId,
+                                                              @RequestParam String text,
+                                                              @RequestParam(defaultValue = "0") @PositiveOrZero int from,
+                                                              @RequestParam(defaultValue = "10") @Positive int size) {
+        log.info("GET /items/search by userId={}, text='{}'", userId, text);
+        if (text.isBlank()) {
+            return Mono.just(ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(EMPTY_LIST))));
+        }
+        return itemClient.search(text, userId, from, size);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createComment(@PathVariable Long itemId,
+                                                                @RequestHeader(USER_ID_HEADER) @Positive Long userId,
+                                                                @Valid @RequestBody RequestCommentDto commentDto) {
+        log.info("POST /items/{}/comment by userId={}", itemId, userId);
+        return itemClient.createComment(userId, itemId, commentDto);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAvailability(
+            @PathVariable Long itemId,
+            @RequestHeader(USER_ID_HEADER) @Positive Long userId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("GET /items/{}/availability by userId={}, from={}, to={}", itemId, userId, from, to);
+        return itemClient.getAvailability(itemId, userId, from, to);
+    }
+
+    @GetMapping("/{itemId}/availability/next-free")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> findNextFreeSlot(
+            @PathVariable Long itemId,
+            @RequestHeader(USER_ID_HEADER) @Positive Long userId,
+            @RequestParam Duration duration,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from) {
+        log.info("GET /items/{}/availability/next-free by userId={}, from={}, duration={}",
+                itemId, userId, from, duration);
+        return itemClient.findNextFreeSlot(itemId, userId, from, duration);
+    }
+}
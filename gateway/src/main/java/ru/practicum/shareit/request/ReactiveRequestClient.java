@@ -0,0 +1,54 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+
+import java.util.Map;
+
+import static ru.practicum.shareit.util.ProfileConstants.REACTIVE;
+
+@Service
+@Profile(REACTIVE)
+public class ReactiveRequestClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/requests";
+
+    public ReactiveRequestClient(@Value("${shareit-server.url}") String serverUrl,
+                                 ClientHttpConnector serverHttpConnector,
+                                 GatewayResponseCache responseCache,
+                                 WebClient.Builder builder) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverHttpConnector)
+                        .build(),
+                responseCache,
+                API_PREFIX);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createRequest(long userId, ItemRequestDto requestDto) {
+        return post("", userId, requestDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserRequests(long userId) {
+        return get("", userId);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllRequests(long userId, int from, int size) {
+        Map<String, Object> params = Map.of("from", from, "size", size);
+        return get("/all?from={from}&size={size}", userId, params);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getRequestById(long userId, long requestId) {
+        return getCached("/" + requestId, userId);
+    }
+}
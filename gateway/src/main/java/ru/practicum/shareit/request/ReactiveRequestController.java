@@ -0,0 +1,58 @@
+package ru.practicum.shareit.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
+import static ru.practicum.shareit.util.ProfileConstants.REACTIVE;
+
+@RestController
+@RequestMapping("/requests")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@Profile(REACTIVE)
+public class ReactiveRequestController {
+
+    private final ReactiveRequestClient requestClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createRequest(@RequestHeader(USER_ID_HEADER) @Positive long userId,
+                                                                @Valid @RequestBody ItemRequestDto requestDto) {
+        log.info("POST /requests from userId={}", userId);
+        return requestClient.createRequest(userId, requestDto);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserRequests(
+            @RequestHeader(USER_ID_HEADER) @Positive long userId) {
+        log.info("GET /requests for userId={}", userId);
+        return requestClient.getUserRequests(userId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllRequests(
+            @RequestHeader(USER_ID_HEADER) @Positive long userId,
+            @PositiveOrZero @RequestParam(defaultValue = "0") int from,
+            @Positive @RequestParam(defaultValue = "10") int size) {
+        log.info("GET /requests/all for userId={}, from={}, size={}", userId, from, size);
+        return requestClient.getAllRequests(userId, from, size);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getRequestById(@RequestHeader(USER_ID_HEADER) @Positive long userId,
+                                                                 @PathVariable long requestId) {
+        log.info("GET /requests/{} for userId={}", requestId, userId);
+        return requestClient.getRequestById(userId, requestId);
+    }
+}
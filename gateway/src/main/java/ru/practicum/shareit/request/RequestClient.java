@@ -2,26 +2,37 @@ package ru.practicum.shareit.request;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
 
 import java.util.Map;
 
+import static ru.practicum.shareit.util.ProfileConstants.NOT_REACTIVE;
+
 @Service
+@Profile(NOT_REACTIVE)
 public class RequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
 
     public RequestClient(@Value("${shareit-server.url}") String serverUrl,
+                         @Value("${shareit-server.pass-through}") boolean passThrough,
+                         ClientHttpRequestFactory serverRequestFactory,
+                         GatewayResponseCache responseCache,
                          RestTemplateBuilder builder) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build());
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                passThrough,
+                responseCache,
+                API_PREFIX);
     }
 
     public ResponseEntity<Object> createRequest(long userId, ItemRequestDto requestDto) {
@@ -38,6 +49,6 @@ public class RequestClient extends BaseClient {
     }
 
     public ResponseEntity<Object> getRequestById(long userId, long requestId) {
-        return get("/" + requestId, userId);
+        return getCached("/" + requestId, userId);
     }
 }
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.user;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.reactive.ClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.GatewayResponseCache;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.user.dto.NewUserRequestDto;
+import ru.practicum.shareit.user.dto.UserRequestUpdateDto;
+
+import static ru.practicum.shareit.util.ProfileConstants.REACTIVE;
+
+@Service
+@Profile(REACTIVE)
+public class ReactiveUserClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/users";
+
+    public ReactiveUserClient(@Value("${shareit-server.url}") String serverUrl,
+                              ClientHttpConnector serverHttpConnector,
+                              GatewayResponseCache responseCache,
+                              WebClient.Builder builder) {
+        super(
+                builder
+                        .baseUrl(serverUrl + API_PREFIX)
+                        .clientConnector(serverHttpConnector)
+                        .build(),
+                responseCache,
+                API_PREFIX
+        );
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createUser(NewUserRequestDto newUserRequestDto) {
+        return post("", null, newUserRequestDto);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(Long userId, UserRequestUpdateDto userRequestUpdateDto) {
+        return invalidateOnSuccess("/" + userId, patch("/" + userId, null, userRequestUpdateDto));
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserById(Long userId) {
+        return getCached("/" + userId, null);
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllUsers() {
+        return get("");
+    }
+
+    public Mono<ResponseEntity<Flux<DataBuffer>>> deleteUser(Long userId) {
+        return invalidateOnSuccess("/" + userId, delete("/" + userId, null));
+    }
+}
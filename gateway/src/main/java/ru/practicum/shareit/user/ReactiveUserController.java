@@ -0,0 +1,60 @@
+package ru.practicum.shareit.user;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.user.dto.NewUserRequestDto;
+import ru.practicum.shareit.user.dto.UserRequestUpdateDto;
+
+import static ru.practicum.shareit.util.ProfileConstants.REACTIVE;
+
+@RestController
+@RequestMapping("/users")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@Profile(REACTIVE)
+public class ReactiveUserController {
+
+    private final ReactiveUserClient userClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> createUser(@Valid @RequestBody NewUserRequestDto newUserRequestDto) {
+        log.info("POST /users - создание пользователя с email '{}'", newUserRequestDto.getEmail());
+        return userClient.createUser(newUserRequestDto);
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> updateUser(
+            @PathVariable @Positive Long userId,
+            @Valid @RequestBody UserRequestUpdateDto userRequestUpdateDto) {
+        log.info("PATCH /users/{} - обновление пользователя", userId);
+        return userClient.updateUser(userId, userRequestUpdateDto);
+    }
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getUserById(@PathVariable @Positive Long userId) {
+        log.info("GET /users/{} - получение пользователя", userId);
+        return userClient.getUserById(userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Flux<DataBuffer>>> getAllUsers() {
+        log.info("GET /users - получение всех пользователей");
+        return userClient.getAllUsers();
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> deleteUser(@PathVariable @Positive Long userId) {
+        log.info("DELETE /users/{} - удаление пользователя", userId);
+        return userClient.deleteUser(userId);
+    }
+}
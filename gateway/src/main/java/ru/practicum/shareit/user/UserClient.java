@@ -2,26 +2,37 @@ package ru.practicum.shareit.user;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.GatewayResponseCache;
 import ru.practicum.shareit.user.dto.NewUserRequestDto;
 import ru.practicum.shareit.user.dto.UserRequestUpdateDto;
 
+import static ru.practicum.shareit.util.ProfileConstants.NOT_REACTIVE;
+
 @Service
+@Profile(NOT_REACTIVE)
 public class UserClient extends BaseClient {
 
     private static final String API_PREFIX = "/users";
 
     public UserClient(@Value("${shareit-server.url}") String serverUrl,
+                      @Value("${shareit-server.pass-through}") boolean passThrough,
+                      ClientHttpRequestFactory serverRequestFactory,
+                      GatewayResponseCache responseCache,
                       RestTemplateBuilder builder) {
         super(
                 builder
                         .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                passThrough,
+                responseCache,
+                API_PREFIX
         );
     }
 
@@ -30,11 +41,11 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> updateUser(Long userId, UserRequestUpdateDto userRequestUpdateDto) {
-        return patch("/" + userId, null, userRequestUpdateDto);
+        return invalidateOnSuccess("/" + userId, patch("/" + userId, null, userRequestUpdateDto));
     }
 
     public ResponseEntity<Object> getUserById(Long userId) {
-        return get("/" + userId, null);
+        return getCached("/" + userId, null);
     }
 
     public ResponseEntity<Object> getAllUsers() {
@@ -42,6 +53,6 @@ public class UserClient extends BaseClient {
     }
 
     public ResponseEntity<Object> deleteUser(Long userId) {
-        return delete("/" + userId, null);
+        return invalidateOnSuccess("/" + userId, delete("/" + userId, null));
     }
 }
@@ -4,13 +4,17 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.NewUserRequestDto;
 import ru.practicum.shareit.user.dto.UserRequestUpdateDto;
 
+import static ru.practicum.shareit.util.ProfileConstants.NOT_REACTIVE;
+
 @RestController
+@Profile(NOT_REACTIVE)
 @RequestMapping("/users")
 @RequiredArgsConstructor
 @Slf4j
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.util;
+
+public class ProfileConstants {
+    /**
+     * Неблокирующий вариант gateway: WebFlux на Reactor Netty и реактивные клиенты shareit-server.
+     */
+    public static final String REACTIVE = "reactive";
+    public static final String NOT_REACTIVE = "!" + REACTIVE;
+
+    private ProfileConstants() {
+    }
+}
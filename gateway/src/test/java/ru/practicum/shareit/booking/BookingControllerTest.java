@@ -0,0 +1,135 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionsRequestDto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
+
+/**
+ * Проверки тела {@code PATCH /bookings/bulk} в gateway: некорректный запрос отклоняется с 400
+ * и не доходит до shareit-server.
+ */
+@WebMvcTest(controllers = BookingController.class)
+class BookingControllerTest {
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private BookingClient bookingClient;
+
+    @Test
+    void decideBookingsWithEmptyListIsBadRequest() {
+        assertRejected(BookingDecisionsRequestDto.builder().decisions(List.of()).build());
+    }
+
+    @Test
+    void decideBookingsWithoutListIsBadRequest() {
+        assertRejected(BookingDecisionsRequestDto.builder().build());
+    }
+
+    @Test
+    void decideBookingsOverLimitIsBadRequest() {
+        List<BookingDecisionDto> decisions = LongStream.rangeClosed(1, 101)
+                .mapToObj(id -> decision(id, true))
+                .toList();
+
+        assertRejected(BookingDecisionsRequestDto.builder().decisions(decisions).build());
+    }
+
+    @Test
+    @SneakyThrows
+    void decideBookingsWithNullElementIsBadRequest() {
+        mvc.perform(patch("/bookings/bulk")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"decisions\":[{\"bookingId\":1,\"approved\":true},null]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingClient);
+    }
+
+    @Test
+    void decideBookingsWithNullBookingIdIsBadRequest() {
+        assertRejected(BookingDecisionsRequestDto.builder()
+                .decisions(List.of(decision(1L, true), decision(null, false)))
+                .build());
+    }
+
+    @Test
+    void decideBookingsWithNegativeBookingIdIsBadRequest() {
+        assertRejected(BookingDecisionsRequestDto.builder().decisions(List.of(decision(-1L, true))).build());
+    }
+
+    @Test
+    void decideBookingsWithoutApprovedIsBadRequest() {
+        assertRejected(BookingDecisionsRequestDto.builder()
+                .decisions(List.of(BookingDecisionDto.builder().bookingId(1L).build()))
+                .build());
+    }
+
+    @Test
+    @SneakyThrows
+    void decideBookingsPassesValidRequestToClient() {
+        List<BookingDecisionDto> decisions = LongStream.rangeClosed(1, 100)
+                .mapToObj(id -> decision(id, id % 2 == 0))
+                .toList();
+        when(bookingClient.decideBookings(any(), anyLong()))
+                .thenReturn(ResponseEntity.ok(List.of(Map.of("bookingId", 1, "status", "REJECTED"))));
+
+        mvc.perform(patch("/bookings/bulk")
+                        .header(USER_ID_HEADER, 7L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .content(objectMapper.writeValueAsString(
+                                BookingDecisionsRequestDto.builder().decisions(decisions).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId").value(1))
+                .andExpect(jsonPath("$[0].status").value("REJECTED"));
+
+        ArgumentCaptor<BookingDecisionsRequestDto> request = ArgumentCaptor.forClass(BookingDecisionsRequestDto.class);
+        verify(bookingClient).decideBookings(request.capture(), eq(7L));
+        assertThat(request.getValue().getDecisions()).isEqualTo(decisions);
+    }
+
+    @SneakyThrows
+    private void assertRejected(BookingDecisionsRequestDto request) {
+        mvc.perform(patch("/bookings/bulk")
+                        .header(USER_ID_HEADER, 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(bookingClient);
+    }
+
+    private static BookingDecisionDto decision(Long bookingId, Boolean approved) {
+        return BookingDecisionDto.builder().bookingId(bookingId).approved(approved).build();
+    }
+}
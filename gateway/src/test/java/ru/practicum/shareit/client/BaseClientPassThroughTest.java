@@ -0,0 +1,138 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.PackagePrivate;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.client.ServerStub.get;
+import static ru.practicum.shareit.client.ServerStub.respond;
+
+/**
+ * Ответы сервера в режиме pass-through передаются без разбора: тело совпадает побайтно, заголовки сохраняются,
+ * а ошибки возвращаются с теми же статусом и телом, что и при разборе в {@code Object}.
+ * Gateway запускается целиком на случайном порту перед заглушкой shareit-server.
+ * Сравнение пропускной способности режимов на больших списках бронирований
+ * включается флагом {@code -Dshareit.benchmark=true}.
+ */
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class BaseClientPassThroughTest {
+
+    static final int BOOKINGS = 20;
+    static final int BENCHMARK_BOOKINGS = 1_000;
+    static final int BENCHMARK_REQUESTS = 2_000;
+    static final String ERROR_BODY = "{\"error\":\"Бронирование не найдено\"}";
+
+    @RegisterExtension
+    @PackagePrivate
+    final ServerStub server = new ServerStub(this::handle);
+    final HttpClient httpClient = HttpClient.newHttpClient();
+    byte[] bookings;
+
+    @BeforeEach
+    void setUp() {
+        bookings = bookingsJson(BOOKINGS);
+    }
+
+    @Test
+    void passThroughRelaysBodyBytesAndHeaders() throws Exception {
+        try (ConfigurableApplicationContext gateway = startGateway(true)) {
+            HttpResponse<byte[]> response = send(gateway, "/bookings");
+
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.headers().firstValue("Content-Type")).hasValue(MediaType.APPLICATION_JSON_VALUE);
+            assertThat(response.headers().firstValue("ETag")).hasValue("\"bookings-v1\"");
+            assertThat(response.body()).isEqualTo(bookings);
+        }
+    }
+
+    @Test
+    void errorsKeepServerStatusAndBodyInBothModes() throws Exception {
+        for (boolean passThrough : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext gateway = startGateway(passThrough)) {
+                HttpResponse<byte[]> response = send(gateway, "/bookings/404");
+
+                assertThat(response.statusCode()).isEqualTo(404);
+                assertThat(response.body()).isEqualTo(ERROR_BODY.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+    void throughputWithAndWithoutParsing() throws Exception {
+        bookings = bookingsJson(BENCHMARK_BOOKINGS);
+        double parsed;
+        try (ConfigurableApplicationContext gateway = startGateway(false)) {
+            parsed = throughput(gateway);
+        }
+        double relayed;
+        try (ConfigurableApplicationContext gateway = startGateway(true)) {
+            relayed = throughput(gateway);
+        }
+
+        log.info("Gateway GET /bookings ({} KB): {} req/s with parsing, {} req/s pass-through",
+                bookings.length / 1024, Math.round(parsed), Math.round(relayed));
+        assertThat(relayed).isGreaterThan(parsed);
+    }
+
+    private double throughput(ConfigurableApplicationContext gateway) throws Exception {
+        for (int i = 0; i < BENCHMARK_REQUESTS; i++) {
+            assertThat(send(gateway, "/bookings").statusCode()).isEqualTo(200);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_REQUESTS; i++) {
+            send(gateway, "/bookings");
+        }
+        return BENCHMARK_REQUESTS / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        if (exchange.getRequestURI().getPath().equals("/bookings/404")) {
+            respond(exchange, 404, ERROR_BODY.getBytes(StandardCharsets.UTF_8));
+        } else {
+            exchange.getResponseHeaders().add("ETag", "\"bookings-v1\"");
+            respond(exchange, 200, bookings);
+        }
+    }
+
+    private ConfigurableApplicationContext startGateway(boolean passThrough) {
+        return server.startGateway(
+                "--shareit-server.pass-through=" + passThrough,
+                "--logging.level.org.springframework.web.client.RestTemplate=INFO");
+    }
+
+    private HttpResponse<byte[]> send(ConfigurableApplicationContext gateway, String path) throws Exception {
+        return httpClient.send(get(gateway, path, "1"), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static byte[] bookingsJson(int count) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 1; i <= count; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i)
+                    .append(",\"start\":\"2030-01-01T10:00:00\",\"end\":\"2030-01-02T10:00:00\",\"status\":\"APPROVED\"")
+                    .append(",\"item\":{\"id\":").append(i).append(",\"name\":\"item ").append(i)
+                    .append("\",\"description\":\"cordless drill ").append(i)
+                    .append("\",\"available\":true,\"ownerId\":1,\"requestId\":null,\"comments\":[]}")
+                    .append(",\"booker\":{\"id\":2,\"name\":\"booker\",\"email\":\"booker@mail.com\"}}");
+        }
+        return json.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+}
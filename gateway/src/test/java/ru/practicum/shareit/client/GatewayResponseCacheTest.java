@@ -0,0 +1,253 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.PackagePrivate;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.client.ServerStub.get;
+import static ru.practicum.shareit.client.ServerStub.request;
+import static ru.practicum.shareit.client.ServerStub.respond;
+import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
+import static ru.practicum.shareit.util.ProfileConstants.REACTIVE;
+
+/**
+ * Повторное чтение вещи через gateway стоит серверу ответа 304 вместо полного тела, ответы разных
+ * пользователей хранятся отдельно, а изменения — через gateway или в обход него — сразу видны клиенту.
+ * Сценарии проверяются в обоих режимах gateway перед заглушкой shareit-server, которая вычисляет ETag
+ * и отвечает 304 на совпадающий {@code If-None-Match}. Сравнение объёма, переданного сервером, и пропускной
+ * способности с кэшем и без него включается флагом {@code -Dshareit.benchmark=true}.
+ */
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class GatewayResponseCacheTest {
+
+    static final int COMMENTS = 5;
+    static final int BENCHMARK_COMMENTS = 500;
+    static final int BENCHMARK_REQUESTS = 2_000;
+
+    @RegisterExtension
+    @PackagePrivate
+    final ServerStub server = new ServerStub(this::handle);
+    final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+    final AtomicInteger fullResponses = new AtomicInteger();
+    final AtomicInteger notModifiedResponses = new AtomicInteger();
+    final AtomicLong serverBodyBytes = new AtomicLong();
+    int comments = COMMENTS;
+
+    @Test
+    void repeatedReadIsRevalidatedWithNotModified() throws Exception {
+        for (boolean reactive : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext gateway = startGateway(reactive, "32MB", true)) {
+                resetCounters();
+                HttpResponse<String> first = send(get(gateway, "/items/1", "1"));
+                HttpResponse<String> second = send(get(gateway, "/items/1", "1"));
+
+                assertThat(second.statusCode()).isEqualTo(200);
+                assertThat(second.body()).isEqualTo(first.body()).isEqualTo(itemJson(1, 0, "1"));
+                assertThat(second.headers().firstValue("ETag")).isEqualTo(first.headers().firstValue("ETag"));
+                assertThat(second.headers().firstValue("Content-Type")).hasValue(MediaType.APPLICATION_JSON_VALUE);
+                assertThat(fullResponses).hasValue(1);
+                assertThat(notModifiedResponses).hasValue(1);
+                assertThat(cacheRequests(gateway, "miss")).isEqualTo(1);
+                assertThat(cacheRequests(gateway, "hit")).isEqualTo(1);
+            }
+        }
+    }
+
+    @Test
+    void usersHaveSeparateEntries() throws Exception {
+        try (ConfigurableApplicationContext gateway = startGateway(false, "32MB", true)) {
+            String owner = send(get(gateway, "/items/1", "1")).body();
+            String other = send(get(gateway, "/items/1", "2")).body();
+
+            assertThat(send(get(gateway, "/items/1", "1")).body()).isEqualTo(owner);
+            assertThat(send(get(gateway, "/items/1", "2")).body()).isEqualTo(other).isNotEqualTo(owner);
+            assertThat(fullResponses).hasValue(2);
+            assertThat(gateway.getBean(GatewayResponseCache.class).estimatedSize()).isEqualTo(2);
+        }
+    }
+
+    @Test
+    void updateThroughGatewayInvalidatesEntriesOfAllUsers() throws Exception {
+        for (boolean reactive : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext gateway = startGateway(reactive, "32MB", true)) {
+                GatewayResponseCache cache = gateway.getBean(GatewayResponseCache.class);
+                send(get(gateway, "/items/1", "1"));
+                send(get(gateway, "/items/1", "2"));
+                send(get(gateway, "/items/2", "1"));
+                assertThat(cache.estimatedSize()).isEqualTo(3);
+
+                HttpRequest patch = request(gateway, "/items/1", "1")
+                        .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString("{\"name\":\"new\"}"))
+                        .build();
+                assertThat(send(patch).statusCode()).isEqualTo(200);
+
+                assertThat(cache.estimatedSize()).isEqualTo(1);
+                assertThat(send(get(gateway, "/items/1", "2")).body()).isEqualTo(itemJson(1, versions.get(1L), "2"));
+            }
+        }
+    }
+
+    @Test
+    void changeBehindGatewayIsNeverServedStale() throws Exception {
+        try (ConfigurableApplicationContext gateway = startGateway(false, "32MB", true)) {
+            send(get(gateway, "/items/1", "1"));
+            versions.put(1L, 7);
+
+            assertThat(send(get(gateway, "/items/1", "1")).body()).isEqualTo(itemJson(1, 7, "1"));
+            assertThat(send(get(gateway, "/items/1", "1")).body()).isEqualTo(itemJson(1, 7, "1"));
+            assertThat(cacheRequests(gateway, "stale")).isEqualTo(1);
+            assertThat(cacheRequests(gateway, "hit")).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void memoryBudgetBoundsEntries() throws Exception {
+        try (ConfigurableApplicationContext gateway = startGateway(false, "8KB", true)) {
+            GatewayResponseCache cache = gateway.getBean(GatewayResponseCache.class);
+            for (long itemId = 1; itemId <= 50; itemId++) {
+                assertThat(send(get(gateway, "/items/" + itemId, "1")).statusCode()).isEqualTo(200);
+            }
+
+            // Вытеснение Caffeine выполняется асинхронно после записи
+            long deadline = System.nanoTime() + 5_000_000_000L;
+            while (cache.estimatedSize() > 10 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(cache.estimatedSize()).isBetween(1L, 10L);
+            assertThat(gateway.getBean(MeterRegistry.class).get("cache.evictions")
+                    .tag("cache", GatewayResponseCache.CACHE_NAME).functionCounter().count()).isPositive();
+        }
+    }
+
+    @Test
+    void disabledCacheAlwaysFetchesFullResponse() throws Exception {
+        try (ConfigurableApplicationContext gateway = startGateway(false, "32MB", false)) {
+            send(get(gateway, "/items/1", "1"));
+            send(get(gateway, "/items/1", "1"));
+
+            assertThat(fullResponses).hasValue(2);
+            assertThat(notModifiedResponses).hasValue(0);
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+    void serverTrafficAndThroughputWithAndWithoutCache() throws Exception {
+        comments = BENCHMARK_COMMENTS;
+        String uncached;
+        try (ConfigurableApplicationContext gateway = startGateway(false, "32MB", false)) {
+            uncached = throughput(gateway);
+        }
+        String cached;
+        try (ConfigurableApplicationContext gateway = startGateway(false, "32MB", true)) {
+            cached = throughput(gateway);
+        }
+
+        log.info("Gateway GET /items/{id} ({} KB): without cache {}; with cache {}",
+                itemJson(1, 0, "1").length() / 1024, uncached, cached);
+    }
+
+    private String throughput(ConfigurableApplicationContext gateway) throws Exception {
+        for (int i = 0; i < BENCHMARK_REQUESTS; i++) {
+            assertThat(send(get(gateway, "/items/" + (i % 20 + 1), "1")).statusCode()).isEqualTo(200);
+        }
+        resetCounters();
+        long start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_REQUESTS; i++) {
+            send(get(gateway, "/items/" + (i % 20 + 1), "1"));
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return String.format("%.0f req/s, %d KB from server (%d full, %d not modified)",
+                BENCHMARK_REQUESTS / seconds, serverBodyBytes.get() / 1024, fullResponses.get(),
+                notModifiedResponses.get());
+    }
+
+    private void resetCounters() {
+        fullResponses.set(0);
+        notModifiedResponses.set(0);
+        serverBodyBytes.set(0);
+    }
+
+    /**
+     * Заглушка {@code /items/{id}}: ETag зависит от версии вещи и пользователя, PATCH увеличивает версию.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        long itemId = Long.parseLong(exchange.getRequestURI().getPath().substring("/items/".length()));
+        if (exchange.getRequestMethod().equals("PATCH")) {
+            exchange.getRequestBody().readAllBytes();
+            versions.merge(itemId, 1, Integer::sum);
+        }
+        String userId = exchange.getRequestHeaders().getFirst(USER_ID_HEADER);
+        int version = versions.getOrDefault(itemId, 0);
+        String etag = "\"" + itemId + "-" + version + "-" + userId + "\"";
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            notModifiedResponses.incrementAndGet();
+            exchange.getResponseHeaders().add("ETag", etag);
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+            return;
+        }
+        fullResponses.incrementAndGet();
+        exchange.getResponseHeaders().add("ETag", etag);
+        byte[] body = itemJson(itemId, version, userId).getBytes(StandardCharsets.UTF_8);
+        serverBodyBytes.addAndGet(body.length);
+        respond(exchange, 200, body);
+    }
+
+    private ConfigurableApplicationContext startGateway(boolean reactive, String maxSize, boolean enabled) {
+        resetCounters();
+        return server.startGateway(
+                "--spring.profiles.active=" + (reactive ? REACTIVE : "default"),
+                "--shareit-server.cache.enabled=" + enabled,
+                "--shareit-server.cache.max-size=" + maxSize,
+                "--logging.level.org.springframework.web.client.RestTemplate=INFO",
+                "--logging.level.ru.practicum.shareit=WARN");
+    }
+
+    private static double cacheRequests(ConfigurableApplicationContext gateway, String result) {
+        return gateway.getBean(MeterRegistry.class).get("shareit.gateway.cache.requests")
+                .tag("result", result).counter().count();
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private String itemJson(long itemId, int version, String userId) {
+        StringBuilder json = new StringBuilder("{\"id\":").append(itemId)
+                .append(",\"name\":\"item ").append(itemId).append(" v").append(version)
+                .append("\",\"description\":\"cordless drill\",\"available\":true,\"ownerId\":1")
+                .append(",\"lastBooking\":").append("1".equals(userId) ? "{\"id\":1,\"bookerId\":2}" : "null")
+                .append(",\"comments\":[");
+        for (int i = 1; i <= comments; i++) {
+            if (i > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(i).append(",\"text\":\"works fine, comment ").append(i)
+                    .append("\",\"authorName\":\"booker\",\"created\":\"2030-01-02T10:00:00\"}");
+        }
+        return json.append("]}").toString();
+    }
+}
@@ -0,0 +1,268 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.PackagePrivate;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.boot.web.embedded.netty.NettyWebServer;
+import org.springframework.boot.web.reactive.context.ReactiveWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.client.ServerStub.get;
+import static ru.practicum.shareit.client.ServerStub.request;
+import static ru.practicum.shareit.client.ServerStub.respond;
+import static ru.practicum.shareit.client.ServerStub.uri;
+import static ru.practicum.shareit.util.ProfileConstants.REACTIVE;
+
+/**
+ * Профиль {@code reactive} запускает gateway на Reactor Netty с реактивными клиентами: ответы сервера
+ * передаются без изменений, а ограничения Bean Validation отклоняют те же запросы, что и в основном варианте.
+ * Сравнение с блокирующим вариантом при 4 000 одновременных запросов к медленному серверу
+ * включается флагом {@code -Dshareit.benchmark=true}; число клиентов задаётся в
+ * {@code -Dshareit.benchmark.reactive-clients}. Каждый запрос занимает по два сокета в gateway и по одному
+ * у клиента и заглушки, поэтому десятки тысяч клиентов требуют соответствующего {@code ulimit -n}.
+ */
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class ReactiveGatewayTest {
+
+    static final String BOOKINGS_BODY = "[{\"id\":1,\"status\":\"APPROVED\"}]";
+    static final String ERROR_BODY = "{\"error\":\"Бронирование не найдено\"}";
+    static final Duration BENCHMARK_LATENCY = Duration.ofMillis(500);
+    static final Duration BENCHMARK_DURATION = Duration.ofSeconds(10);
+    static final int BENCHMARK_POOL_SIZE = 5_000;
+
+    @RegisterExtension
+    @PackagePrivate
+    final ServerStub server = new ServerStub(this::handle);
+    final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    final AtomicInteger serverRequests = new AtomicInteger();
+    Duration latency = Duration.ZERO;
+
+    @Test
+    void reactiveProfileRunsOnNetty() {
+        try (ConfigurableApplicationContext gateway = startGateway(true, 0)) {
+            assertThat(gateway).isInstanceOf(ReactiveWebServerApplicationContext.class);
+            assertThat(((ReactiveWebServerApplicationContext) gateway).getWebServer())
+                    .isInstanceOf(NettyWebServer.class);
+        }
+    }
+
+    @Test
+    void responsesAreRelayedUnchanged() throws Exception {
+        try (ConfigurableApplicationContext gateway = startGateway(true, 0)) {
+            HttpResponse<String> response = send(get(gateway, "/bookings?state=ALL", "1"));
+
+            assertThat(response.statusCode()).isEqualTo(200);
+            assertThat(response.headers().firstValue("Content-Type")).hasValue(MediaType.APPLICATION_JSON_VALUE);
+            assertThat(response.headers().firstValue("ETag")).hasValue("\"bookings-v1\"");
+            assertThat(response.body()).isEqualTo(BOOKINGS_BODY);
+
+            HttpResponse<String> error = send(get(gateway, "/bookings/404", "1"));
+            assertThat(error.statusCode()).isEqualTo(404);
+            assertThat(error.body()).isEqualTo(ERROR_BODY);
+
+            String user = "{\"name\":\"user\",\"email\":\"user@mail.com\"}";
+            HttpResponse<String> created = send(post(gateway, "/users", null, user));
+            assertThat(created.statusCode()).isEqualTo(201);
+            assertThat(created.body()).isEqualTo(user);
+        }
+    }
+
+    @Test
+    void bulkImportStreamsBodyToServer() throws Exception {
+        String users = "{\"name\":\"a\",\"email\":\"a@mail.com\"}\n{\"name\":\"b\",\"email\":\"b@mail.com\"}\n";
+        try (ConfigurableApplicationContext gateway = startGateway(true, 0)) {
+            HttpRequest request = HttpRequest.newBuilder(uri(gateway, "/import/users"))
+                    .header("Content-Type", MediaType.APPLICATION_NDJSON_VALUE)
+                    .POST(HttpRequest.BodyPublishers.ofString(users))
+                    .build();
+            HttpResponse<String> response = send(request);
+
+            assertThat(response.statusCode()).isEqualTo(201);
+            assertThat(response.body()).isEqualTo(users);
+        }
+    }
+
+    @Test
+    void validationRejectsSameRequestsInBothVariants() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(2);
+        String reversedDates = "{\"itemId\":1,\"start\":\"" + start + "\",\"end\":\"" + start.minusDays(1) + "\"}";
+        String validDates = "{\"itemId\":1,\"start\":\"" + start + "\",\"end\":\"" + start.plusDays(1) + "\"}";
+
+        Map<Boolean, List<Integer>> statuses = new HashMap<>();
+        for (boolean reactive : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext gateway = startGateway(reactive, 0)) {
+                serverRequests.set(0);
+
+                List<Integer> rejected = new ArrayList<>();
+                for (HttpRequest invalid : List.of(
+                        post(gateway, "/bookings", "1", reversedDates),
+                        get(gateway, "/bookings?from=-1", "1"),
+                        get(gateway, "/bookings", "-1"),
+                        get(gateway, "/items?size=0", "1"),
+                        get(gateway, "/requests/all?from=-5", "1"),
+                        get(gateway, "/users/0", null))) {
+                    rejected.add(send(invalid).statusCode());
+                }
+                statuses.put(reactive, rejected);
+                assertThat(serverRequests.get()).isZero();
+
+                assertThat(send(post(gateway, "/bookings", "1", validDates)).statusCode()).isEqualTo(201);
+                assertThat(serverRequests.get()).isEqualTo(1);
+            }
+        }
+
+        assertThat(statuses.get(false).getFirst()).isEqualTo(400);
+        assertThat(statuses.get(false)).allMatch(status -> status >= 400);
+        assertThat(statuses.get(true)).isEqualTo(statuses.get(false));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+    void throughputAndThreadsUnderConcurrentClients() throws Exception {
+        latency = BENCHMARK_LATENCY;
+        int clients = Integer.getInteger("shareit.benchmark.reactive-clients", 4_000);
+
+        String blocking;
+        try (ConfigurableApplicationContext gateway = startGateway(false, clients)) {
+            blocking = throughput(gateway, clients);
+        }
+        String reactive;
+        try (ConfigurableApplicationContext gateway = startGateway(true, clients)) {
+            reactive = throughput(gateway, clients);
+        }
+
+        log.info("Gateway, {} clients, server latency {} ms: blocking {}; reactive {}",
+                clients, BENCHMARK_LATENCY.toMillis(), blocking, reactive);
+    }
+
+    /**
+     * Замкнутая нагрузка: каждый клиент отправляет следующий запрос сразу после ответа на предыдущий.
+     * Замер начинается, когда все клиенты получили первый ответ.
+     */
+    private String throughput(ConfigurableApplicationContext gateway, int clients) throws Exception {
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch warmedUp = new CountDownLatch(clients);
+        long measured;
+        double seconds;
+        int threads;
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            HttpRequest request = request(gateway, "/bookings", "1")
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    boolean first = true;
+                    while (running.get()) {
+                        try {
+                            if (client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                                completed.incrementAndGet();
+                            } else {
+                                failed.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            failed.incrementAndGet();
+                        }
+                        if (first) {
+                            warmedUp.countDown();
+                            first = false;
+                        }
+                    }
+                    return null;
+                });
+            }
+            assertThat(warmedUp.await(2, TimeUnit.MINUTES)).isTrue();
+
+            long completedBefore = completed.get();
+            long start = System.nanoTime();
+            Thread.sleep(BENCHMARK_DURATION);
+            measured = completed.get() - completedBefore;
+            seconds = (System.nanoTime() - start) / 1e9;
+            threads = ManagementFactory.getThreadMXBean().getThreadCount();
+            running.set(false);
+        }
+        return String.format("%.0f req/s, %d failed, %d platform threads in JVM",
+                measured / seconds, failed.get(), threads);
+    }
+
+    /**
+     * Заглушка отвечает на GET списком бронирований, на POST — телом запроса, а на {@code /bookings/404} — ошибкой.
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        serverRequests.incrementAndGet();
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        String path = exchange.getRequestURI().getPath();
+        if (path.equals("/bookings/404")) {
+            respond(exchange, 404, ERROR_BODY.getBytes(StandardCharsets.UTF_8));
+        } else if (exchange.getRequestMethod().equals("GET")) {
+            exchange.getResponseHeaders().add("ETag", "\"bookings-v1\"");
+            respond(exchange, 200, BOOKINGS_BODY.getBytes(StandardCharsets.UTF_8));
+        } else {
+            try (InputStream in = exchange.getRequestBody()) {
+                respond(exchange, 201, in.readAllBytes());
+            }
+        }
+    }
+
+    private ConfigurableApplicationContext startGateway(boolean reactive, int clients) {
+        int poolSize = clients > 0 ? BENCHMARK_POOL_SIZE : 100;
+        return server.startGateway(
+                "--spring.profiles.active=" + (reactive ? REACTIVE : "default"),
+                "--server.tomcat.max-connections=" + Math.max(clients * 2, 8192),
+                "--server.tomcat.accept-count=" + Math.max(clients, 100),
+                "--shareit-server.http.max-total=" + poolSize,
+                "--shareit-server.http.max-per-route=" + poolSize,
+                "--shareit-server.http.connection-request-timeout=60s",
+                "--logging.level.org.springframework.web.client.RestTemplate=INFO",
+                "--logging.level.ru.practicum.shareit=" + (clients > 0 ? "WARN" : "INFO"));
+    }
+
+    private HttpResponse<String> send(HttpRequest request) throws Exception {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpRequest post(ConfigurableApplicationContext gateway, String path, String userId, String json) {
+        return request(gateway, path, userId)
+                .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Все клиенты gateway работают через один пул соединений с лимитами из {@code shareit-server.http.*},
+ * а состояние пула доступно в метриках.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@SpringBootTest(properties = {
+        "shareit-server.http.max-total=50",
+        "shareit-server.http.max-per-route=20"
+})
+class ServerHttpClientConfigTest {
+
+    @Autowired
+    PoolingHttpClientConnectionManager serverConnectionManager;
+    @Autowired
+    ClientHttpRequestFactory serverRequestFactory;
+    @Autowired
+    List<BaseClient> clients;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void poolLimitsComeFromProperties() {
+        assertThat(serverConnectionManager.getMaxTotal()).isEqualTo(50);
+        assertThat(serverConnectionManager.getDefaultMaxPerRoute()).isEqualTo(20);
+    }
+
+    @Test
+    void allClientsShareOneRequestFactory() {
+        assertThat(clients).hasSize(5);
+        assertThat(clients).allSatisfy(client ->
+                assertThat(client.rest.getRequestFactory()).isSameAs(serverRequestFactory));
+    }
+
+    @Test
+    void poolStateIsPublishedAsMetrics() {
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", ServerHttpClientConfig.POOL_NAME).gauge().value()).isEqualTo(50);
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", ServerHttpClientConfig.POOL_NAME).tag("state", "leased").gauge().value()).isZero();
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tag("httpclient", ServerHttpClientConfig.POOL_NAME).tag("state", "available").gauge()).isNotNull();
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.pending")
+                .tag("httpclient", ServerHttpClientConfig.POOL_NAME).gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,105 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.ShareItGateway;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.concurrent.Executors;
+
+import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
+
+/**
+ * Заглушка shareit-server для тестов, запускающих gateway целиком: перед каждым тестом поднимает
+ * {@link HttpServer} на случайном порту с переданным обработчиком и останавливает его после теста.
+ * Подключается через {@code @RegisterExtension}; статические методы строят запросы к запущенному gateway.
+ */
+class ServerStub implements BeforeEachCallback, AfterEachCallback {
+
+    /**
+     * Пул соединений gateway в нагрузочных тестах; по умолчанию заглушка держит 200 простаивающих
+     * соединений и закрывает остальные.
+     */
+    static final int MAX_IDLE_CONNECTIONS = 5_000;
+
+    static {
+        // Без TCP_NODELAY заглушка отдаёт заголовки и тело отдельными пакетами, и каждый ответ ждёт delayed ACK.
+        // Настройки читаются один раз при первом создании HttpServer, поэтому задаются здесь, а не в тестах
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        System.setProperty("sun.net.httpserver.maxIdleConnections", String.valueOf(MAX_IDLE_CONNECTIONS));
+    }
+
+    private final HttpHandler handler;
+    private HttpServer server;
+
+    ServerStub(HttpHandler handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 10_000);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/", handler);
+        server.start();
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        server.stop(0);
+    }
+
+    /**
+     * Запускает gateway на случайном порту перед заглушкой.
+     *
+     * @param args дополнительные аргументы командной строки
+     */
+    ConfigurableApplicationContext startGateway(String... args) {
+        String[] arguments = new String[args.length + 2];
+        arguments[0] = "--server.port=0";
+        arguments[1] = "--shareit-server.url=http://localhost:" + server.getAddress().getPort();
+        System.arraycopy(args, 0, arguments, 2, args.length);
+        return new SpringApplicationBuilder(ShareItGateway.class).run(arguments);
+    }
+
+    /**
+     * Отправляет JSON-ответ заглушки.
+     */
+    static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    static URI uri(ConfigurableApplicationContext gateway, String path) {
+        return URI.create("http://localhost:" + gateway.getEnvironment().getProperty("local.server.port") + path);
+    }
+
+    /**
+     * @param userId значение заголовка пользователя; {@code null} — запрос без заголовка
+     */
+    static HttpRequest.Builder request(ConfigurableApplicationContext gateway, String path, String userId) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(gateway, path));
+        if (userId != null) {
+            builder.header(USER_ID_HEADER, userId);
+        }
+        return builder;
+    }
+
+    static HttpRequest get(ConfigurableApplicationContext gateway, String path, String userId) {
+        return request(gateway, path, userId).GET().build();
+    }
+}
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import lombok.experimental.PackagePrivate;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tomcat.util.threads.VirtualThreadExecutor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.boot.web.embedded.tomcat.TomcatWebServer;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.client.ServerStub.request;
+import static ru.practicum.shareit.client.ServerStub.respond;
+
+/**
+ * С {@code spring.threads.virtual.enabled=true} Tomcat обрабатывает запросы на виртуальных потоках,
+ * а закрепление потоков публикуется метрикой {@code jvm.threads.virtual.pinned}.
+ * <p>
+ * Сравнение пропускной способности с пулом платформенных потоков при 1 000 и 10 000 одновременных клиентов
+ * и медленном сервере включается флагом {@code -Dshareit.benchmark=true}; число клиентов можно задать
+ * в {@code -Dshareit.benchmark.clients=1000,10000}. Клиенты, gateway и заглушка работают в одном процессе,
+ * поэтому для 10 000 клиентов нужен {@code ulimit -n} не меньше 25 000.
+ */
+@Slf4j
+@FieldDefaults(level = AccessLevel.PRIVATE)
+class VirtualThreadsGatewayTest {
+
+    static final Duration SERVER_LATENCY = Duration.ofMillis(500);
+    static final Duration WARMUP_TIMEOUT = Duration.ofMinutes(2);
+    static final Duration WARMUP_DURATION = Duration.ofSeconds(5);
+    static final Duration BENCHMARK_DURATION = Duration.ofSeconds(10);
+    static final int BENCHMARK_POOL_SIZE = 500;
+    static final byte[] BODY = "[]".getBytes(StandardCharsets.UTF_8);
+
+    @RegisterExtension
+    @PackagePrivate
+    final ServerStub server = new ServerStub(this::handle);
+    Duration latency = Duration.ZERO;
+
+    @Test
+    void requestsAreHandledOnVirtualThreadsWhenEnabled() throws Exception {
+        try (ConfigurableApplicationContext gateway = startGateway(true, 0)) {
+            assertThat(tomcat(gateway).getTomcat().getConnector().getProtocolHandler().getExecutor())
+                    .isInstanceOf(VirtualThreadExecutor.class);
+            assertThat(gateway.getBean(MeterRegistry.class).find("jvm.threads.virtual.pinned").timer()).isNotNull();
+
+            try (HttpClient client = HttpClient.newHttpClient()) {
+                assertThat(send(client, gateway).statusCode()).isEqualTo(200);
+            }
+        }
+    }
+
+    @Test
+    void platformThreadsStayDefault() {
+        try (ConfigurableApplicationContext gateway = startGateway(false, 0)) {
+            assertThat(tomcat(gateway).getTomcat().getConnector().getProtocolHandler().getExecutor())
+                    .isNotInstanceOf(VirtualThreadExecutor.class);
+        }
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+    void throughputUnderConcurrentClients() throws Exception {
+        latency = SERVER_LATENCY;
+        int[] clientCounts = Arrays.stream(System.getProperty("shareit.benchmark.clients", "1000,10000").split(","))
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        for (int clients : clientCounts) {
+            double platform;
+            try (ConfigurableApplicationContext gateway = startGateway(false, clients)) {
+                platform = throughput(gateway, clients);
+            }
+            double virtual;
+            try (ConfigurableApplicationContext gateway = startGateway(true, clients)) {
+                virtual = throughput(gateway, clients);
+            }
+
+            log.info("Gateway, {} clients, server latency {} ms: {} req/s platform threads, {} req/s virtual threads",
+                    clients, SERVER_LATENCY.toMillis(), Math.round(platform), Math.round(virtual));
+            assertThat(virtual).isGreaterThan(platform);
+        }
+    }
+
+    /**
+     * Замкнутая нагрузка: каждый клиент отправляет следующий запрос сразу после ответа на предыдущий.
+     * Замер начинается, когда все клиенты получили первый ответ, то есть после установки соединений и прогрева.
+     */
+    private double throughput(ConfigurableApplicationContext gateway, int clients) throws Exception {
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch warmedUp = new CountDownLatch(clients);
+        long measured;
+        double seconds;
+        try (HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    boolean first = true;
+                    while (running.get()) {
+                        try {
+                            if (send(client, gateway).statusCode() == 200) {
+                                completed.incrementAndGet();
+                            } else {
+                                failed.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            failed.incrementAndGet();
+                        }
+                        if (first) {
+                            warmedUp.countDown();
+                            first = false;
+                        }
+                    }
+                    return null;
+                });
+            }
+            assertThat(warmedUp.await(WARMUP_TIMEOUT.toSeconds(), TimeUnit.SECONDS)).isTrue();
+            Thread.sleep(WARMUP_DURATION);
+
+            long completedBefore = completed.get();
+            long start = System.nanoTime();
+            Thread.sleep(BENCHMARK_DURATION);
+            measured = completed.get() - completedBefore;
+            seconds = (System.nanoTime() - start) / 1e9;
+            running.set(false);
+        }
+        log.info("{} completed in {} ms, {} failed in total", measured, Math.round(seconds * 1000), failed.get());
+        return measured / seconds;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        respond(exchange, 200, BODY);
+    }
+
+    private ConfigurableApplicationContext startGateway(boolean virtualThreads, int clients) {
+        int poolSize = clients > 0 ? BENCHMARK_POOL_SIZE : 100;
+        return server.startGateway(
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.max-connections=" + Math.max(clients * 2, 8192),
+                "--server.tomcat.accept-count=" + Math.max(clients, 100),
+                "--shareit-server.http.max-total=" + poolSize,
+                "--shareit-server.http.max-per-route=" + poolSize,
+                "--shareit-server.http.connection-request-timeout=60s",
+                "--logging.level.org.springframework.web.client.RestTemplate=INFO",
+                "--logging.level.ru.practicum.shareit=WARN");
+    }
+
+    private static HttpResponse<byte[]> send(HttpClient client, ConfigurableApplicationContext gateway)
+            throws IOException, InterruptedException {
+        HttpRequest request = request(gateway, "/bookings", "1")
+                .timeout(Duration.ofSeconds(60))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private static TomcatWebServer tomcat(ConfigurableApplicationContext gateway) {
+        return (TomcatWebServer) ((ServletWebServerApplicationContext) gateway).getWebServer();
+    }
+}
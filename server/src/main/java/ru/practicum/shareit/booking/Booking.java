@@ -2,13 +2,24 @@ package ru.practicum.shareit.booking;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_booker_start", columnList = "booker_id, start_date DESC, id DESC"),
+        @Index(name = "idx_bookings_owner_start", columnList = "owner_id, start_date DESC, id DESC"),
+        @Index(name = "idx_bookings_item_start", columnList = "item_id, start_date"),
+        @Index(name = "idx_bookings_item_end", columnList = "item_id, end_date"),
+        @Index(name = "idx_bookings_item_booker_end", columnList = "item_id, booker_id, end_date")
+})
 @Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
@@ -16,7 +27,8 @@ import java.time.LocalDateTime;
 @Setter
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_id_seq")
+    @SequenceGenerator(name = "bookings_id_seq", sequenceName = "bookings_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "start_date", nullable = false)
@@ -33,10 +45,26 @@ public class Booking {
     @JoinColumn(name = "booker_id", nullable = false)
     private User booker;
 
+    /**
+     * Владелец вещи, скопированный из {@code item.owner}: списки бронирований владельца фильтруются
+     * по индексу {@code (owner_id, start_date)} без соединения с таблицей вещей.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "owner_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User owner;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, length = 20)
     private BookingStatus status;
 
+    @PrePersist
+    void fillOwner() {
+        if (owner == null && item != null) {
+            owner = item.getOwner();
+        }
+    }
+
     public enum BookingStatus {
         ALL,
         CURRENT,
@@ -44,6 +72,11 @@ public class Booking {
         WAITING,
         APPROVED,
         REJECTED,
-        CANCELED,
+        CANCELED;
+
+        /**
+         * Статусы, в которых бронирование занимает вещь на свой период.
+         */
+        public static final Set<BookingStatus> BLOCKING = Collections.unmodifiableSet(EnumSet.of(WAITING, APPROVED));
     }
 }
\ No newline at end of file
@@ -2,13 +2,19 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionsRequestDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.util.OffsetPageRequest;
 
 import java.util.List;
 
+import static ru.practicum.shareit.util.HeaderConstants.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
 
 /**
@@ -52,6 +58,20 @@ public class BookingController {
         return bookingService.approveBooking(bookingId, ownerId, approved);
     }
 
+    /**
+     * Массовое подтверждение или отклонение бронирований владельцем вещей.
+     *
+     * @param request Решения по бронированиям.
+     * @param ownerId Идентификатор владельца вещей.
+     * @return Результат по каждому бронированию в порядке запроса.
+     */
+    @PatchMapping("/bulk")
+    public List<BookingDecisionResultDto> decideBookings(@RequestBody BookingDecisionsRequestDto request,
+                                                         @RequestHeader(USER_ID_HEADER) Long ownerId) {
+        log.info("PATCH /bookings/bulk by ownerId {}", ownerId);
+        return bookingService.decideBookings(ownerId, request.getDecisions());
+    }
+
     /**
      * Получение информации о конкретном бронировании.
      * Доступно бронирующему или владельцу вещи.
@@ -80,16 +100,24 @@ public class BookingController {
      *                 <li>{@code CANCELED} — бронирование отменено создателем</li>
      *               </ul>
      * @param from   Индекс первого элемента для постраничного вывода (неотрицательное число).
+     *               Игнорируется, если передан {@code cursor}.
      * @param size   Количество элементов на странице (положительное число).
-     * @return Список бронирований, соответствующих фильтру.
+     * @param cursor Курсор из заголовка {@code X-Next-Cursor} предыдущей страницы.
+     * @return Список бронирований, соответствующих фильтру, и курсор следующей страницы в заголовке {@code X-Next-Cursor}.
      */
     @GetMapping
-    public List<BookingResponseDto> getBookingsByBooker(@RequestHeader(USER_ID_HEADER) Long userId,
-                                                        @RequestParam(name = "state", defaultValue = "ALL") String state,
-                                                        @RequestParam(defaultValue = "0") int from,
-                                                        @RequestParam(defaultValue = "10") int size) {
-        log.info("GET /bookings by bookerId {}, state={}, from={}, size={}", userId, state, from, size);
-        return bookingService.getBookingsByBooker(userId, state, from, size);
+    public ResponseEntity<List<BookingResponseDto>> getBookingsByBooker(
+            @RequestHeader(USER_ID_HEADER) Long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        log.info("GET /bookings by bookerId {}, state={}, from={}, size={}, cursor={}",
+                userId, state, from, size, cursor);
+        List<BookingResponseDto> bookings = cursor == null
+                ? bookingService.getBookingsByBooker(userId, state, from, size)
+                : bookingService.getBookingsByBooker(userId, state, cursor, size);
+        return withNextCursor(bookings, size);
     }
 
     /**
@@ -97,16 +125,36 @@ public class BookingController {
      *
      * @param ownerId Идентификатор владельца.
      * @param state   Фильтр по статусу бронирования.
-     * @param from    Индекс первого элемента (для пагинации).
+     * @param from    Индекс первого элемента (для пагинации). Игнорируется, если передан {@code cursor}.
      * @param size    Количество элементов на странице.
-     * @return Список бронирований для вещей владельца.
+     * @param cursor  Курсор из заголовка {@code X-Next-Cursor} предыдущей страницы.
+     * @return Список бронирований для вещей владельца и курсор следующей страницы в заголовке {@code X-Next-Cursor}.
      */
     @GetMapping("/owner")
-    public List<BookingResponseDto> getBookingsByOwner(@RequestHeader(USER_ID_HEADER) Long ownerId,
-                                                       @RequestParam(name = "state", defaultValue = "ALL") String state,
-                                                       @RequestParam(defaultValue = "0") int from,
-                                                       @RequestParam(defaultValue = "10") int size) {
-        log.info("GET /bookings/ownerId by ownerId {}, state={}, from={}, size={}", ownerId, state, from, size);
-        return bookingService.getBookingsByOwner(ownerId, state, from, size);
+    public ResponseEntity<List<BookingResponseDto>> getBookingsByOwner(
+            @RequestHeader(USER_ID_HEADER) Long ownerId,
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(defaultValue = "0") int from,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor) {
+        log.info("GET /bookings/owner by ownerId {}, state={}, from={}, size={}, cursor={}",
+                ownerId, state, from, size, cursor);
+        List<BookingResponseDto> bookings = cursor == null
+                ? bookingService.getBookingsByOwner(ownerId, state, from, size)
+                : bookingService.getBookingsByOwner(ownerId, state, cursor, size);
+        return withNextCursor(bookings, size);
+    }
+
+    /**
+     * Курсор следующей страницы отдаётся только для полной страницы: неполная означает, что список исчерпан.
+     */
+    private static ResponseEntity<List<BookingResponseDto>> withNextCursor(List<BookingResponseDto> bookings, int size) {
+        if (bookings.isEmpty() || bookings.size() < Math.min(size, OffsetPageRequest.MAX_PAGE_SIZE)) {
+            return ResponseEntity.ok(bookings);
+        }
+        String nextCursor = BookingCursor.after(bookings.getLast()).encode();
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, nextCursor)
+                .body(bookings);
     }
-}
\ No newline at end of file
+}
@@ -1,66 +1,266 @@
 package ru.practicum.shareit.booking;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.booking.Booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingListView;
+import ru.practicum.shareit.booking.dto.BookingOwnerView;
+import ru.practicum.shareit.booking.dto.BookingShortView;
+import ru.practicum.shareit.booking.dto.TimeSlot;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+/**
+ * Списки бронирований отсортированы по {@code (start, id)} по убыванию и поддерживают два режима пагинации:
+ * по смещению ({@link Pageable} со смещением и курсором {@link ru.practicum.shareit.booking.dto.BookingCursor#FIRST})
+ * и по ключу (курсор последней полученной записи и {@link Pageable} без смещения).
+ * Списки возвращают проекцию {@link BookingListView}, собранную одним соединением с вещью и бронирующим.
+ * Списки владельца фильтруются по денормализованному {@code b.owner}, а не по {@code b.item.owner}:
+ * страница выбирается по индексу {@code (owner_id, start_date DESC, id DESC)}, а вещи присоединяются только к ней.
+ * Текущие бронирования отбираются функцией {@code period_contains}
+ * ({@link ru.practicum.shareit.util.PeriodFunctionContributor}): на PostgreSQL это проверка вхождения в
+ * {@code tsrange} по GiST-индексу, и время запроса не зависит от длины истории бронирований пользователя.
+ */
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerIdOrderByStartDesc(Long bookerId, Pageable pageable);
 
-    List<Booking> findByBookerIdAndStatusOrderByStartDesc(Long bookerId, BookingStatus status, Pageable pageable);
+    String SEEK_AFTER_CURSOR = "AND (b.start < :cursorStart OR (b.start = :cursorStart AND b.id < :cursorId)) ";
 
-    List<Booking> findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-            Long bookerId, LocalDateTime start, LocalDateTime end, Pageable pageable);
+    String ORDER_BY_START_DESC = "ORDER BY b.start DESC, b.id DESC";
 
-    List<Booking> findByBookerIdAndEndBeforeOrderByStartDesc(Long bookerId, LocalDateTime end, Pageable pageable);
+    @Query(BookingListView.SELECT_FROM +
+           "WHERE b.booker.id = :bookerId " +
+           SEEK_AFTER_CURSOR +
+           ORDER_BY_START_DESC)
+    List<BookingListView> findByBookerId(@Param("bookerId") Long bookerId,
+                                 @Param("cursorStart") LocalDateTime cursorStart,
+                                 @Param("cursorId") Long cursorId,
+                                 Pageable pageable);
 
-    List<Booking> findByBookerIdAndStartAfterOrderByStartDesc(Long bookerId, LocalDateTime start, Pageable pageable);
+    @Query(BookingListView.SELECT_FROM +
+           "WHERE b.booker.id = :bookerId " +
+           "AND b.status = :status " +
+           SEEK_AFTER_CURSOR +
+           ORDER_BY_START_DESC)
+    List<BookingListView> findByBookerIdAndStatus(@Param("bookerId") Long bookerId,
+                                          @Param("status") BookingStatus status,
+                                          @Param("cursorStart") LocalDateTime cursorStart,
+                                          @Param("cursorId") Long cursorId,
+                                          Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
-           "WHERE b.item.owner.id = :ownerId " +
-           "ORDER BY b.start DESC")
-    List<Booking> findByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
+    @Query(BookingListView.SELECT_FROM +
+           "WHERE b.booker.id = :bookerId " +
+           "AND period_contains(b.start, b.end, :now) " +
+           SEEK_AFTER_CURSOR +
+           ORDER_BY_START_DESC)
+    List<BookingListView> findCurrentByBookerId(@Param("bookerId") Long bookerId,
+                                        @Param("now") LocalDateTime now,
+                                        @Param("cursorStart") LocalDateTime cursorStart,
+                                        @Param("cursorId") Long cursorId,
+                                        Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
-           "WHERE b.item.owner.id = :ownerId " +
+    @Query(BookingListView.SELECT_FROM +
+           "WHERE b.booker.id = :bookerId " +
+           "AND b.end < :now " +
+           SEEK_AFTER_CURSOR +
+           ORDER_BY_START_DESC)
+    List<BookingListView> findPastByBookerId(@Param("bookerId") Long bookerId,
+                                     @Param("now") LocalDateTime now,
+                                     @Param("cursorStart") LocalDateTime cursorStart,
+                                     @Param("cursorId") Long cursorId,
+                                     Pageable pageable);
+
+    @Query(BookingListView.SELECT_FROM +
+           "WHERE b.booker.id = :bookerId " +
+           "AND b.start > :now " +
+           SEEK_AFTER_CURSOR +
+           ORDER_BY_START_DESC)
+    List<BookingListView> findFutureByBookerId(@Param("bookerId") Long bookerId,
+                                       @Param("now") LocalDateTime now,
+                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable pageable);
+
+    @Query(BookingListView.SELECT_FROM +
+           "WHERE b.owner.id = :ownerId " +
+           SEEK_AFTER_CURSOR +
+           ORDER_BY_START_DESC)
+    List<BookingListView> findByOwnerId(@Param("ownerId") Long ownerId,
+                                @Param("cursorStart") LocalDateTime cursorStart,
+                                @Param("cursorId") Long cursorId,
+                                Pageable pageable);
+
+    @Query(BookingListView.SELECT_FROM +
+           "WHERE b.owner.id = :ownerId " +
            "AND b.status = :status " +
-           "ORDER BY b.start DESC")
-    List<Booking> findByOwnerIdAndStatus(
-            @Param("ownerId") Long ownerId,
-            @Param("status") BookingStatus status,
-            Pageable pageable);
+           SEEK_AFTER_CURSOR +
+           ORDER_BY_START_DESC)
+    List<BookingListView> findByOwnerIdAndStatus(@Param("ownerId") Long ownerId,
+                                         @Param("status") BookingStatus status,
+                                         @Param("cursorStart") LocalDateTime cursorStart,
+                                         @Param("cursorId") Long cursorId,
+                                         Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
-           "WHERE b.item.owner.id = :ownerId " +
-           "AND b.start < :now AND b.end > :now " +
-           "ORDER BY b.start DESC")
-    List<Booking> findCurrentByOwnerId(
-            @Param("ownerId") Long ownerId,
-            @Param("now") LocalDateTime now,
-            Pageable pageable);
+    @Query(BookingListView.SELECT_FROM +
+           "WHERE b.owner.id = :ownerId " +
+           "AND period_contains(b.start, b.end, :now) " +
+           SEEK_AFTER_CURSOR +
+           ORDER_BY_START_DESC)
+    List<BookingListView> findCurrentByOwnerId(@Param("ownerId") Long ownerId,
+                                       @Param("now") LocalDateTime now,
+                                       @Param("cursorStart") LocalDateTime cursorStart,
+                                       @Param("cursorId") Long cursorId,
+                                       Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
-           "WHERE b.item.owner.id = :ownerId " +
+    @Query(BookingListView.SELECT_FROM +
+           "WHERE b.owner.id = :ownerId " +
            "AND b.end < :now " +
-           "ORDER BY b.start DESC")
-    List<Booking> findPastByOwnerId(
-            @Param("ownerId") Long ownerId,
-            @Param("now") LocalDateTime now,
-            Pageable pageable);
+           SEEK_AFTER_CURSOR +
+           ORDER_BY_START_DESC)
+    List<BookingListView> findPastByOwnerId(@Param("ownerId") Long ownerId,
+                                    @Param("now") LocalDateTime now,
+                                    @Param("cursorStart") LocalDateTime cursorStart,
+                                    @Param("cursorId") Long cursorId,
+                                    Pageable pageable);
 
-    @Query("SELECT b FROM Booking b " +
-           "WHERE b.item.owner.id = :ownerId " +
+    @Query(BookingListView.SELECT_FROM +
+           "WHERE b.owner.id = :ownerId " +
            "AND b.start > :now " +
-           "ORDER BY b.start DESC")
-    List<Booking> findFutureByOwnerId(
-            @Param("ownerId") Long ownerId,
-            @Param("now") LocalDateTime now,
-            Pageable pageable);
+           SEEK_AFTER_CURSOR +
+           ORDER_BY_START_DESC)
+    List<BookingListView> findFutureByOwnerId(@Param("ownerId") Long ownerId,
+                                      @Param("now") LocalDateTime now,
+                                      @Param("cursorStart") LocalDateTime cursorStart,
+                                      @Param("cursorId") Long cursorId,
+                                      Pageable pageable);
+
+    /**
+     * Проверяет, пересекается ли период {@code [start, end)} с бронированиями вещи в указанных статусах.
+     * Условие {@code end > :start} ограничивает поиск по индексу {@code (item_id, end_date)}
+     * бронированиями, которые ещё не закончились к началу периода, поэтому прошедшие бронирования не читаются.
+     */
+    @Query("SELECT COUNT(b) > 0 FROM Booking b " +
+           "WHERE b.item.id = :itemId " +
+           "AND b.end > :start " +
+           "AND b.start < :end " +
+           "AND b.status IN :statuses")
+    boolean existsOverlapping(@Param("itemId") Long itemId,
+                              @Param("start") LocalDateTime start,
+                              @Param("end") LocalDateTime end,
+                              @Param("statuses") Collection<BookingStatus> statuses);
+
+    /**
+     * Периоды бронирований вещи в указанных статусах, пересекающиеся с окном {@code [from, to)}, по возрастанию начала.
+     */
+    @Query("SELECT new ru.practicum.shareit.booking.dto.TimeSlot(b.start, b.end) FROM Booking b " +
+           "WHERE b.item.id = :itemId " +
+           "AND b.end > :from " +
+           "AND b.start < :to " +
+           "AND b.status IN :statuses " +
+           "ORDER BY b.start")
+    List<TimeSlot> findPeriodsByItemId(@Param("itemId") Long itemId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       @Param("statuses") Collection<BookingStatus> statuses);
+
+    /**
+     * Проверяет, что пользователь завершил хотя бы одно бронирование вещи в указанном статусе.
+     * Выполняется как {@code EXISTS} по индексу {@code (item_id, booker_id, end_date)}:
+     * база останавливается на первой подходящей строке, а история бронирований вещи не загружается.
+     */
+    @Query("SELECT CASE WHEN EXISTS (" +
+           "SELECT 1 FROM Booking b " +
+           "WHERE b.item.id = :itemId " +
+           "AND b.booker.id = :bookerId " +
+           "AND b.end < :now " +
+           "AND b.status = :status" +
+           ") THEN TRUE ELSE FALSE END")
+    boolean existsFinishedBooking(@Param("itemId") Long itemId,
+                                  @Param("bookerId") Long bookerId,
+                                  @Param("status") BookingStatus status,
+                                  @Param("now") LocalDateTime now);
+
+    /**
+     * Переводит бронирование из статуса {@code expected} в {@code status}, если вещь принадлежит {@code ownerId}.
+     * Проверка и запись выполняются одним UPDATE, поэтому из параллельных подтверждений проходит только одно.
+     *
+     * @return 1 — статус изменён, 0 — бронирование не найдено, вещь чужая или статус уже другой
+     */
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status " +
+           "WHERE b.id = :bookingId AND b.status = :expected " +
+           "AND b.owner.id = :ownerId")
+    int compareAndSetStatus(@Param("bookingId") Long bookingId,
+                            @Param("ownerId") Long ownerId,
+                            @Param("expected") BookingStatus expected,
+                            @Param("status") BookingStatus status);
+
+    /**
+     * Массовый вариант {@link #compareAndSetStatus}: одним UPDATE переводит все подходящие бронирования из списка.
+     * Контекст сохранения очищается, чтобы заблокированные перед этим сущности не остались со старым статусом.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :status " +
+           "WHERE b.id IN :bookingIds AND b.status = :expected " +
+           "AND b.owner.id = :ownerId")
+    int compareAndSetStatuses(@Param("bookingIds") Collection<Long> bookingIds,
+                              @Param("ownerId") Long ownerId,
+                              @Param("expected") BookingStatus expected,
+                              @Param("status") BookingStatus status);
+
+    /**
+     * Блокирует бронирования из списка до конца транзакции: решения по ним не пересекутся с параллельными.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :bookingIds")
+    List<Booking> findAllByIdForUpdate(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingOwnerView(b.id, b.owner.id) " +
+           "FROM Booking b WHERE b.id IN :bookingIds")
+    List<BookingOwnerView> findOwners(@Param("bookingIds") Collection<Long> bookingIds);
+
+    @Query(BookingListView.SELECT_FROM + "WHERE b.id = :bookingId")
+    Optional<BookingListView> findViewById(@Param("bookingId") Long bookingId);
+
+    @Query("SELECT b FROM Booking b " +
+           "WHERE b.item.id = :itemId " +
+           "ORDER BY b.start")
+    List<Booking> findByItemIdOrderByStartAsc(@Param("itemId") Long itemId);
+
+    /**
+     * Для каждой вещи из списка возвращает последнее завершившееся бронирование
+     * (с максимальной датой окончания до момента {@code now}).
+     */
+    @Query(value = "SELECT t.id AS id, t.item_id AS itemId, t.booker_id AS bookerId, " +
+                   "t.start_date AS startDate, t.end_date AS endDate " +
+                   "FROM (SELECT b.id, b.item_id, b.booker_id, b.start_date, b.end_date, " +
+                   "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.end_date DESC, b.id DESC) AS rn " +
+                   "FROM bookings b " +
+                   "WHERE b.item_id IN (:itemIds) AND b.end_date < :now) t " +
+                   "WHERE t.rn = 1",
+            nativeQuery = true)
+    List<BookingShortView> findLastBookingsByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                                     @Param("now") LocalDateTime now);
 
-    List<Booking> findByItemIdOrderByStartAsc(Long itemId);
+    /**
+     * Для каждой вещи из списка возвращает ближайшее будущее бронирование
+     * (с минимальной датой начала после момента {@code now}).
+     */
+    @Query(value = "SELECT t.id AS id, t.item_id AS itemId, t.booker_id AS bookerId, " +
+                   "t.start_date AS startDate, t.end_date AS endDate " +
+                   "FROM (SELECT b.id, b.item_id, b.booker_id, b.start_date, b.end_date, " +
+                   "ROW_NUMBER() OVER (PARTITION BY b.item_id ORDER BY b.start_date ASC, b.id ASC) AS rn " +
+                   "FROM bookings b " +
+                   "WHERE b.item_id IN (:itemIds) AND b.start_date > :now) t " +
+                   "WHERE t.rn = 1",
+            nativeQuery = true)
+    List<BookingShortView> findNextBookingsByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                                     @Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Курсор для постраничного вывода бронирований по ключу {@code (start, id)}.
+ * Клиент получает его в виде непрозрачной строки и передаёт обратно, чтобы получить следующую страницу:
+ * выборка начинается строго после бронирования, на котором закончилась предыдущая.
+ *
+ * @param start дата начала последнего полученного бронирования
+ * @param id    ID последнего полученного бронирования
+ */
+public record BookingCursor(LocalDateTime start, Long id) {
+
+    /**
+     * Курсор первой страницы: раньше него по сортировке {@code start DESC, id DESC} нет ни одного бронирования.
+     */
+    public static final BookingCursor FIRST = new BookingCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final String SEPARATOR = "|";
+
+    public static BookingCursor after(BookingResponseDto booking) {
+        return new BookingCursor(booking.getStart(), booking.getId());
+    }
+
+    /**
+     * Восстанавливает курсор из строки, ранее полученной через {@link #encode()}.
+     *
+     * @param value закодированный курсор
+     * @return курсор
+     * @throws ValidationException если строка не является корректным курсором
+     */
+    public static BookingCursor decode(String value) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException("Некорректный курсор: " + value);
+            }
+            return new BookingCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Некорректный курсор: " + value);
+        }
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((start + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,31 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Результат решения по одному бронированию в массовом подтверждении.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingDecisionResultDto {
+    private Long bookingId;
+    private Outcome outcome;
+
+    public enum Outcome {
+        /** Бронирование подтверждено. */
+        APPROVED,
+        /** Бронирование отклонено. */
+        REJECTED,
+        /** Бронирование не найдено. */
+        NOT_FOUND,
+        /** Вещь принадлежит другому пользователю. */
+        FORBIDDEN,
+        /** Бронирование уже обработано. */
+        CONFLICT
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Тело {@code PATCH /bookings/bulk}: решения владельца по нескольким бронированиям.
+ */
+@Data
+@Builder
+public class BookingDecisionsRequestDto {
+    private List<BookingDecisionDto> decisions;
+}
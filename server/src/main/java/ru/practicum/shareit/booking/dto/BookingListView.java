@@ -0,0 +1,37 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.Booking.BookingStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Строка списка бронирований: ровно те поля бронирования, вещи и бронирующего,
+ * которые попадают в {@link BookingResponseDto}. Заполняется конструктором прямо в JPQL-запросе
+ * с соединением {@code bookings → items → users}, поэтому сущности не загружаются
+ * в контекст персистентности и не требуют ни ленивых догрузок, ни снимков для dirty checking.
+ */
+public record BookingListView(Long id,
+                              LocalDateTime start,
+                              LocalDateTime end,
+                              BookingStatus status,
+                              Long itemId,
+                              String itemName,
+                              String itemDescription,
+                              Boolean itemAvailable,
+                              Long itemOwnerId,
+                              Long itemRequestId,
+                              Long bookerId,
+                              String bookerName,
+                              String bookerEmail) {
+
+    /**
+     * Конструктор-выражение для {@code SELECT new ...}; условия и сортировка используют псевдонимы
+     * {@code b} (бронирование), {@code i} (вещь) и {@code u} (бронирующий).
+     */
+    public static final String SELECT_FROM =
+            "SELECT new ru.practicum.shareit.booking.dto.BookingListView(" +
+            "b.id, b.start, b.end, b.status, " +
+            "i.id, i.name, i.description, i.available, i.owner.id, i.request.id, " +
+            "u.id, u.name, u.email) " +
+            "FROM Booking b JOIN b.item i JOIN b.booker u ";
+}
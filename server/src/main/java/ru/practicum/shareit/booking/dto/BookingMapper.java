@@ -17,6 +17,7 @@ public interface BookingMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(source = "booker", target = "booker")
     @Mapping(source = "item", target = "item")
+    @Mapping(source = "item.owner", target = "owner")
     @Mapping(source = "dto.start", target = "start")
     @Mapping(source = "dto.end", target = "end")
     Booking toEntity(BookingRequestDto dto, Item item, User booker);
@@ -24,6 +25,21 @@ public interface BookingMapper {
     @Mapping(source = "status", target = "status", qualifiedByName = "statusToString")
     BookingResponseDto toDto(Booking booking);
 
+    @Mapping(source = "status", target = "status", qualifiedByName = "statusToString")
+    @Mapping(source = "itemId", target = "item.id")
+    @Mapping(source = "itemName", target = "item.name")
+    @Mapping(source = "itemDescription", target = "item.description")
+    @Mapping(source = "itemAvailable", target = "item.available")
+    @Mapping(source = "itemOwnerId", target = "item.ownerId")
+    @Mapping(source = "itemRequestId", target = "item.requestId")
+    @Mapping(target = "item.comments", expression = "java(java.util.Collections.emptyList())")
+    @Mapping(target = "item.lastBooking", ignore = true)
+    @Mapping(target = "item.nextBooking", ignore = true)
+    @Mapping(source = "bookerId", target = "booker.id")
+    @Mapping(source = "bookerName", target = "booker.name")
+    @Mapping(source = "bookerEmail", target = "booker.email")
+    BookingResponseDto toResponseDto(BookingListView view);
+
     @Named("statusToString")
     static String statusToString(Enum<?> status) {
         return status != null ? status.name() : null;
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.booking.dto;
+
+/**
+ * Пара «бронирование — владелец вещи» для проверки прав без загрузки вещи.
+ */
+public record BookingOwnerView(Long bookingId, Long ownerId) {
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция бронирования для блоков lastBooking/nextBooking в списке вещей владельца.
+ * Содержит только поля, необходимые для {@link ru.practicum.shareit.item.dto.ItemResponseDto.BookingShortDto}.
+ */
+public interface BookingShortView {
+    Long getId();
+
+    Long getItemId();
+
+    Long getBookerId();
+
+    LocalDateTime getStartDate();
+
+    LocalDateTime getEndDate();
+}
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Полуинтервал времени {@code [start, end)}: период бронирования либо свободное окно вещи.
+ */
+public record TimeSlot(LocalDateTime start, LocalDateTime end) {
+}
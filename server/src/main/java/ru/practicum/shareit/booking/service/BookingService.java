@@ -1,5 +1,7 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 
@@ -10,9 +12,15 @@ public interface BookingService {
 
     BookingResponseDto approveBooking(Long bookingId, Long ownerId, boolean approved);
 
+    List<BookingDecisionResultDto> decideBookings(Long ownerId, List<BookingDecisionDto> decisions);
+
     BookingResponseDto getBookingById(Long bookingId, Long userId);
 
     List<BookingResponseDto> getBookingsByBooker(Long bookerId, String state, int from, int size);
 
+    List<BookingResponseDto> getBookingsByBooker(Long bookerId, String state, String cursor, int size);
+
     List<BookingResponseDto> getBookingsByOwner(Long ownerId, String state, int from, int size);
+
+    List<BookingResponseDto> getBookingsByOwner(Long ownerId, String state, String cursor, int size);
 }
\ No newline at end of file
@@ -2,13 +2,17 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingListView;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingOwnerView;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.exception.ConflictException;
@@ -17,10 +21,16 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceFilter;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.OffsetPageRequest;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.Booking.BookingStatus.*;
 
@@ -30,9 +40,12 @@ import static ru.practicum.shareit.booking.Booking.BookingStatus.*;
 @Transactional(readOnly = true)
 public class BookingServiceImpl implements BookingService {
 
+    static final int MAX_BULK_DECISIONS = 100;
+
     private final BookingRepository bookingRepository;
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final UserExistenceFilter userExistenceFilter;
     private final BookingMapper bookingMapper;
 
     /**
@@ -43,12 +56,13 @@ public class BookingServiceImpl implements BookingService {
      * @return объект BookingResponseDto с данными созданного бронирования
      * @throws ValidationException если вещь недоступна, даты некорректны или пользователь — владелец вещи
      * @throws NotFoundException   если пользователь или вещь не найдены
+     * @throws ConflictException   если вещь уже забронирована на пересекающийся период
      */
     @Override
     @Transactional
     public BookingResponseDto createBooking(BookingRequestDto bookingDto, Long bookerId) {
         User booker = getUserOrThrow(bookerId);
-        Item item = getItemOrThrow(bookingDto.getItemId());
+        Item item = getItemForUpdateOrThrow(bookingDto.getItemId());
 
         if (Boolean.FALSE.equals(item.getAvailable())) {
             log.warn("Попытка бронирования недоступной вещи: itemId={}", item.getId());
@@ -66,6 +80,13 @@ public class BookingServiceImpl implements BookingService {
             throw new ValidationException("Некорректные даты бронирования");
         }
 
+        if (bookingRepository.existsOverlapping(item.getId(), bookingDto.getStart(), bookingDto.getEnd(),
+                Booking.BookingStatus.BLOCKING)) {
+            log.warn("Пересечение с существующим бронированием: itemId={}, start={}, end={}",
+                    item.getId(), bookingDto.getStart(), bookingDto.getEnd());
+            throw new ConflictException("Вещь уже забронирована на эти даты");
+        }
+
         log.info("Создание бронирования: userId={}, itemId={}, start={}, end={}",
                 bookerId, bookingDto.getItemId(), bookingDto.getStart(), bookingDto.getEnd());
         Booking booking = bookingMapper.toEntity(bookingDto, item, booker);
@@ -78,36 +99,115 @@ public class BookingServiceImpl implements BookingService {
 
     /**
      * Подтверждает или отклоняет бронирование владельцем вещи.
+     * Статус меняется условным UPDATE ({@link BookingRepository#compareAndSetStatus}); если ни одна строка
+     * не изменена, причина определяется по текущему состоянию бронирования.
      *
      * @param bookingId ID бронирования
      * @param ownerId   ID владельца вещи
      * @param approved  true — подтвердить, false — отклонить
      * @return обновлённый BookingResponseDto
-     * @throws ValidationException если пользователь не владелец вещи или бронирование уже обработано
+     * @throws ValidationException если пользователь не владелец вещи
+     * @throws ConflictException   если бронирование уже обработано
      * @throws NotFoundException   если бронирование не найдено
      */
     @Override
     @Transactional
     public BookingResponseDto approveBooking(Long bookingId, Long ownerId, boolean approved) {
-        Booking booking = getBookingOrThrow(bookingId);
-
-        if (!booking.getItem().getOwner().getId().equals(ownerId)) {
-            log.warn("Пользователь с id={} не является владельцем вещи, связанной с бронированием id={}", ownerId, bookingId);
-            throw new ValidationException("Подтвердить бронирование может только владелец вещи");
-        }
+        log.info("Подтверждение бронирования: bookingId={}, ownerId={}, approved={}",
+                bookingId, ownerId, approved);
+        Booking.BookingStatus status = approved ? APPROVED : REJECTED;
+        int updated = bookingRepository.compareAndSetStatus(bookingId, ownerId, WAITING, status);
 
-        if (booking.getStatus() != WAITING) {
+        BookingListView booking = bookingRepository.findViewById(bookingId)
+                .orElseThrow(() -> {
+                    log.warn("Бронирование не найдено: id={}", bookingId);
+                    return new NotFoundException("Бронирование не найдено");
+                });
+        if (updated == 0) {
+            if (!booking.itemOwnerId().equals(ownerId)) {
+                log.warn("Пользователь с id={} не является владельцем вещи, связанной с бронированием id={}", ownerId, bookingId);
+                throw new ValidationException("Подтвердить бронирование может только владелец вещи");
+            }
             log.warn("Попытка повторной обработки бронирования: bookingId={}, текущий статус={}",
-                    bookingId, booking.getStatus());
+                    bookingId, booking.status());
             throw new ConflictException("Бронирование уже обработано");
         }
+        log.info("Статус бронирования обновлён: bookingId={}, новый статус={}", bookingId, status);
+        return bookingMapper.toResponseDto(booking);
+    }
 
-        log.info("Подтверждение бронирования: bookingId={}, ownerId={}, approved={}",
-                bookingId, ownerId, approved);
-        booking.setStatus(approved ? APPROVED : REJECTED);
-        bookingRepository.save(booking);
-        log.info("Статус бронирования обновлён: bookingId={}, новый статус={}", booking.getId(), booking.getStatus());
-        return bookingMapper.toDto(booking);
+    /**
+     * Подтверждает или отклоняет сразу несколько бронирований владельца в одной транзакции.
+     * Бронирования блокируются одним запросом, права проверяются по одной проекции, а статусы меняются
+     * не более чем двумя UPDATE — для подтверждаемых и отклоняемых. Число запросов не зависит от размера списка.
+     *
+     * @param ownerId   ID владельца вещей
+     * @param decisions решения по бронированиям, не больше {@link #MAX_BULK_DECISIONS}
+     * @return результат по каждому бронированию в порядке запроса
+     * @throws ValidationException если список пуст, слишком длинный, содержит пустые или повторяющиеся решения
+     */
+    @Override
+    @Transactional
+    public List<BookingDecisionResultDto> decideBookings(Long ownerId, List<BookingDecisionDto> decisions) {
+        Map<Long, Boolean> decisionById = validateDecisions(decisions);
+        log.info("Массовое решение по бронированиям: ownerId={}, бронирований={}", ownerId, decisionById.size());
+
+        Map<Long, Booking.BookingStatus> statuses = bookingRepository.findAllByIdForUpdate(decisionById.keySet())
+                .stream()
+                .collect(Collectors.toMap(Booking::getId, Booking::getStatus));
+        Map<Long, Long> owners = bookingRepository.findOwners(decisionById.keySet()).stream()
+                .collect(Collectors.toMap(BookingOwnerView::bookingId, BookingOwnerView::ownerId));
+
+        List<Long> toApprove = new ArrayList<>();
+        List<Long> toReject = new ArrayList<>();
+        List<BookingDecisionResultDto> results = new ArrayList<>(decisionById.size());
+        decisionById.forEach((bookingId, approved) -> {
+            BookingDecisionResultDto.Outcome outcome;
+            if (!statuses.containsKey(bookingId)) {
+                outcome = BookingDecisionResultDto.Outcome.NOT_FOUND;
+            } else if (!ownerId.equals(owners.get(bookingId))) {
+                outcome = BookingDecisionResultDto.Outcome.FORBIDDEN;
+            } else if (statuses.get(bookingId) != WAITING) {
+                outcome = BookingDecisionResultDto.Outcome.CONFLICT;
+            } else if (approved) {
+                toApprove.add(bookingId);
+                outcome = BookingDecisionResultDto.Outcome.APPROVED;
+            } else {
+                toReject.add(bookingId);
+                outcome = BookingDecisionResultDto.Outcome.REJECTED;
+            }
+            results.add(new BookingDecisionResultDto(bookingId, outcome));
+        });
+
+        if (!toApprove.isEmpty()) {
+            bookingRepository.compareAndSetStatuses(toApprove, ownerId, WAITING, APPROVED);
+        }
+        if (!toReject.isEmpty()) {
+            bookingRepository.compareAndSetStatuses(toReject, ownerId, WAITING, REJECTED);
+        }
+        log.info("Массовое решение выполнено: подтверждено={}, отклонено={}, не обработано={}",
+                toApprove.size(), toReject.size(), results.size() - toApprove.size() - toReject.size());
+        return results;
+    }
+
+    private static Map<Long, Boolean> validateDecisions(List<BookingDecisionDto> decisions) {
+        if (decisions == null || decisions.isEmpty()) {
+            throw new ValidationException("Список решений не должен быть пустым");
+        }
+        if (decisions.size() > MAX_BULK_DECISIONS) {
+            throw new ValidationException("За один запрос можно обработать не больше " +
+                                          MAX_BULK_DECISIONS + " бронирований");
+        }
+        Map<Long, Boolean> decisionById = new LinkedHashMap<>();
+        for (BookingDecisionDto decision : decisions) {
+            if (decision == null || decision.getBookingId() == null || decision.getApproved() == null) {
+                throw new ValidationException("Для каждого решения нужно указать bookingId и approved");
+            }
+            if (decisionById.putIfAbsent(decision.getBookingId(), decision.getApproved()) != null) {
+                throw new ValidationException("Бронирование ID=" + decision.getBookingId() + " указано несколько раз");
+            }
+        }
+        return decisionById;
     }
 
     /**
@@ -141,31 +241,31 @@ public class BookingServiceImpl implements BookingService {
      * @param from     индекс первого элемента для пагинации
      * @param size     количество элементов на страницу
      * @return список BookingResponseDto, соответствующих фильтру
-     * @throws ValidationException при неизвестном значении состояния
+     * @throws ValidationException при неизвестном значении состояния или некорректных параметрах пагинации
      */
     @Override
     public List<BookingResponseDto> getBookingsByBooker(Long bookerId, String state, int from, int size) {
-        getUserOrThrow(bookerId);
-        Pageable pageable = PageRequest.of(from / size, size);
-        LocalDateTime now = LocalDateTime.now();
-
-
-        List<Booking> bookings = switch (state.toUpperCase()) {
-            case "ALL" -> bookingRepository.findByBookerIdOrderByStartDesc(bookerId, pageable);
-            case "CURRENT" -> bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                    bookerId, now, now, pageable);
-            case "PAST" -> bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(bookerId, now, pageable);
-            case "FUTURE" -> bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(bookerId, now, pageable);
-            case "WAITING", "REJECTED" -> bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                    bookerId, valueOf(state.toUpperCase()), pageable);
-            default -> throw new ValidationException("Unknown state: " + state);
-        };
-
         log.info("Получение бронирований пользователя: bookerId={}, state={}, from={}, size={}",
                 bookerId, state, from, size);
-        return bookings.stream()
-                .map(bookingMapper::toDto)
-                .toList();
+        return findByBooker(bookerId, state, BookingCursor.FIRST, OffsetPageRequest.of(from, size));
+    }
+
+    /**
+     * Получает страницу бронирований пользователя-бронирующего, следующую за курсором.
+     * Стоимость запроса не зависит от того, насколько далеко от начала списка находится страница.
+     *
+     * @param bookerId ID пользователя-бронирующего
+     * @param state    состояние бронирований ("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED")
+     * @param cursor   курсор последнего полученного бронирования
+     * @param size     количество элементов на страницу
+     * @return список BookingResponseDto, соответствующих фильтру
+     * @throws ValidationException при неизвестном значении состояния, некорректном курсоре или размере страницы
+     */
+    @Override
+    public List<BookingResponseDto> getBookingsByBooker(Long bookerId, String state, String cursor, int size) {
+        log.info("Получение бронирований пользователя: bookerId={}, state={}, cursor={}, size={}",
+                bookerId, state, cursor, size);
+        return findByBooker(bookerId, state, BookingCursor.decode(cursor), OffsetPageRequest.of(0, size));
     }
 
     /**
@@ -176,41 +276,93 @@ public class BookingServiceImpl implements BookingService {
      * @param from    индекс первого элемента для пагинации
      * @param size    количество элементов на страницу
      * @return список BookingResponseDto, соответствующих фильтру
-     * @throws ValidationException при неизвестном значении состояния
+     * @throws ValidationException при неизвестном значении состояния или некорректных параметрах пагинации
      */
     @Override
     public List<BookingResponseDto> getBookingsByOwner(Long ownerId, String state, int from, int size) {
+        log.info("Получение бронирований владельца: ownerId={}, state={}, from={}, size={}",
+                ownerId, state, from, size);
+        return findByOwner(ownerId, state, BookingCursor.FIRST, OffsetPageRequest.of(from, size));
+    }
+
+    /**
+     * Получает страницу бронирований вещей владельца, следующую за курсором.
+     *
+     * @param ownerId ID владельца вещи
+     * @param state   состояние бронирований ("ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED")
+     * @param cursor  курсор последнего полученного бронирования
+     * @param size    количество элементов на страницу
+     * @return список BookingResponseDto, соответствующих фильтру
+     * @throws ValidationException при неизвестном значении состояния, некорректном курсоре или размере страницы
+     */
+    @Override
+    public List<BookingResponseDto> getBookingsByOwner(Long ownerId, String state, String cursor, int size) {
+        log.info("Получение бронирований владельца: ownerId={}, state={}, cursor={}, size={}",
+                ownerId, state, cursor, size);
+        return findByOwner(ownerId, state, BookingCursor.decode(cursor), OffsetPageRequest.of(0, size));
+    }
+
+    private List<BookingResponseDto> findByBooker(Long bookerId, String state, BookingCursor cursor, Pageable pageable) {
+        getUserOrThrow(bookerId);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cursorStart = cursor.start();
+        Long cursorId = cursor.id();
+
+        List<BookingListView> bookings = switch (state.toUpperCase()) {
+            case "ALL" -> bookingRepository.findByBookerId(bookerId, cursorStart, cursorId, pageable);
+            case "CURRENT" -> bookingRepository.findCurrentByBookerId(bookerId, now, cursorStart, cursorId, pageable);
+            case "PAST" -> bookingRepository.findPastByBookerId(bookerId, now, cursorStart, cursorId, pageable);
+            case "FUTURE" -> bookingRepository.findFutureByBookerId(bookerId, now, cursorStart, cursorId, pageable);
+            case "WAITING", "REJECTED" -> bookingRepository.findByBookerIdAndStatus(
+                    bookerId, valueOf(state.toUpperCase()), cursorStart, cursorId, pageable);
+            default -> throw new ValidationException("Unknown state: " + state);
+        };
+
+        return bookings.stream()
+                .map(bookingMapper::toResponseDto)
+                .toList();
+    }
+
+    private List<BookingResponseDto> findByOwner(Long ownerId, String state, BookingCursor cursor, Pageable pageable) {
         getUserOrThrow(ownerId);
-        Pageable pageable = PageRequest.of(from / size, size);
         LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cursorStart = cursor.start();
+        Long cursorId = cursor.id();
 
-        List<Booking> bookings = switch (state.toUpperCase()) {
-            case "ALL" -> bookingRepository.findByOwnerId(ownerId, pageable);
-            case "CURRENT" -> bookingRepository.findCurrentByOwnerId(ownerId, now, pageable);
-            case "PAST" -> bookingRepository.findPastByOwnerId(ownerId, now, pageable);
-            case "FUTURE" -> bookingRepository.findFutureByOwnerId(ownerId, now, pageable);
+        List<BookingListView> bookings = switch (state.toUpperCase()) {
+            case "ALL" -> bookingRepository.findByOwnerId(ownerId, cursorStart, cursorId, pageable);
+            case "CURRENT" -> bookingRepository.findCurrentByOwnerId(ownerId, now, cursorStart, cursorId, pageable);
+            case "PAST" -> bookingRepository.findPastByOwnerId(ownerId, now, cursorStart, cursorId, pageable);
+            case "FUTURE" -> bookingRepository.findFutureByOwnerId(ownerId, now, cursorStart, cursorId, pageable);
             case "WAITING", "REJECTED" -> bookingRepository.findByOwnerIdAndStatus(
-                    ownerId, valueOf(state.toUpperCase()), pageable);
+                    ownerId, valueOf(state.toUpperCase()), cursorStart, cursorId, pageable);
             default -> throw new ValidationException("Unknown state: " + state);
         };
 
-        log.info("Получение бронирований владельца: ownerId={}, state={}, from={}, size={}",
-                ownerId, state, from, size);
         return bookings.stream()
-                .map(bookingMapper::toDto)
+                .map(bookingMapper::toResponseDto)
                 .toList();
     }
 
     private User getUserOrThrow(Long userId) {
+        if (userExistenceFilter.isKnownMissing(userId)) {
+            log.warn("Пользователь не найден: id={}", userId);
+            throw new NotFoundException("Пользователь не найден");
+        }
         return userRepository.findById(userId)
                 .orElseThrow(() -> {
+                    userExistenceFilter.markMissing(userId);
                     log.warn("Пользователь не найден: id={}", userId);
                     return new NotFoundException("Пользователь не найден");
                 });
     }
 
-    private Item getItemOrThrow(Long itemId) {
-        return itemRepository.findById(itemId)
+    /**
+     * Загружает вещь с блокировкой строки: конкурирующие бронирования одной вещи выполняют
+     * проверку пересечений и вставку по очереди.
+     */
+    private Item getItemForUpdateOrThrow(Long itemId) {
+        return itemRepository.findByIdForUpdate(itemId)
                 .orElseThrow(() -> {
                     log.warn("Вещь не найдена: id={}", itemId);
                     return new NotFoundException("Вещь не найдена");
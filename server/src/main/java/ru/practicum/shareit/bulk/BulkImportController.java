@@ -0,0 +1,51 @@
+package ru.practicum.shareit.bulk;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.bulk.dto.BulkImportResult;
+import ru.practicum.shareit.bulk.service.BulkImportService;
+
+import java.io.InputStream;
+
+import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
+
+/**
+ * REST-контроллер массового импорта.
+ * Принимает NDJSON (по одной записи на строку) и читает тело запроса потоком, не загружая его в память целиком.
+ */
+@Slf4j
+@RestController
+@RequestMapping("/import")
+@RequiredArgsConstructor
+public class BulkImportController {
+
+    private final BulkImportService bulkImportService;
+
+    /**
+     * Импортирует пользователей.
+     *
+     * @param body Поток записей в формате {@code {"name": ..., "email": ...}}.
+     * @return Итог импорта с ошибками по отдельным строкам.
+     */
+    @PostMapping(value = "/users", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public BulkImportResult importUsers(InputStream body) {
+        log.info("POST /import/users");
+        return bulkImportService.importUsers(body);
+    }
+
+    /**
+     * Импортирует вещи пользователя.
+     *
+     * @param ownerId Идентификатор владельца всех импортируемых вещей.
+     * @param body    Поток записей в формате {@code {"name": ..., "description": ..., "available": ..., "requestId": ...}}.
+     * @return Итог импорта с ошибками по отдельным строкам.
+     */
+    @PostMapping(value = "/items", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public BulkImportResult importItems(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                        InputStream body) {
+        log.info("POST /import/items - владелец ID={}", ownerId);
+        return bulkImportService.importItems(ownerId, body);
+    }
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.bulk.dto;
+
+/**
+ * Ошибка одной записи импорта.
+ *
+ * @param line    номер строки во входном NDJSON (с единицы)
+ * @param message причина, по которой запись не загружена
+ */
+public record BulkImportError(long line, String message) {
+}
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.bulk.dto;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Итог массового импорта: сколько записей прочитано, загружено и отклонено.
+ * Подробности сохраняются не более чем для {@link #MAX_REPORTED_ERRORS} ошибок,
+ * чтобы ответ на импорт с массово битыми данными не разрастался вместе с файлом.
+ */
+@Getter
+public class BulkImportResult {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long received;
+    private long imported;
+    private long rejected;
+    private final List<BulkImportError> errors = new ArrayList<>();
+
+    public void received() {
+        received++;
+    }
+
+    public void imported(int count) {
+        imported += count;
+    }
+
+    public void reject(long line, String message) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new BulkImportError(line, message));
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.bulk.service;
+
+import ru.practicum.shareit.bulk.dto.BulkImportResult;
+
+import java.io.InputStream;
+
+public interface BulkImportService {
+
+    BulkImportResult importUsers(InputStream ndjson);
+
+    BulkImportResult importItems(Long ownerId, InputStream ndjson);
+}
@@ -0,0 +1,222 @@
+package ru.practicum.shareit.bulk.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.bulk.dto.BulkImportResult;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemChangedEvent;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.storage.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.NewUserRequestDto;
+import ru.practicum.shareit.user.dto.UserMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Массовый импорт из NDJSON (одна JSON-запись на строку).
+ * <p>
+ * Поток читается построчно и обрабатывается порциями по {@link #CHUNK_SIZE} записей:
+ * каждая запись проверяется теми же ограничениями Bean Validation, что и тело {@code POST /users}
+ * и {@code POST /items} в gateway, порция проверяется целиком (уникальность email — одним запросом на порцию)
+ * и сохраняется в отдельной транзакции JDBC-батчами. Ошибка в записи не прерывает загрузку:
+ * запись попадает в {@link BulkImportResult#getErrors()}, остальные продолжают загружаться.
+ * Если порция упала на ограничении целостности (например, email занят параллельной регистрацией),
+ * она повторяется по одной записи, чтобы отклонить только виновную.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BulkImportServiceImpl implements BulkImportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository requestRepository;
+    private final ItemMapper itemMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+
+    @Override
+    public BulkImportResult importUsers(InputStream ndjson) {
+        log.info("Массовый импорт пользователей");
+        BulkImportResult result = new BulkImportResult();
+        read(ndjson, NewUserRequestDto.class, result, chunk -> importUserChunk(chunk, result));
+        log.info("Импорт пользователей завершён: прочитано {}, загружено {}, отклонено {}",
+                result.getReceived(), result.getImported(), result.getRejected());
+        return result;
+    }
+
+    /**
+     * @throws NotFoundException если владелец не найден; в этом случае поток не читается
+     */
+    @Override
+    public BulkImportResult importItems(Long ownerId, InputStream ndjson) {
+        log.info("Массовый импорт вещей владельца ID={}", ownerId);
+        User owner = userRepository.findById(ownerId)
+                .orElseThrow(() -> new NotFoundException("Пользователь не найден"));
+        BulkImportResult result = new BulkImportResult();
+        read(ndjson, ItemRequestDto.class, result, chunk -> importItemChunk(chunk, owner, result));
+        log.info("Импорт вещей завершён: прочитано {}, загружено {}, отклонено {}",
+                result.getReceived(), result.getImported(), result.getRejected());
+        return result;
+    }
+
+    private void importUserChunk(List<BulkRecord<NewUserRequestDto>> chunk, BulkImportResult result) {
+        List<BulkRecord<NewUserRequestDto>> valid = new ArrayList<>(chunk.size());
+        Set<String> emails = new HashSet<>();
+        for (BulkRecord<NewUserRequestDto> record : chunk) {
+            String error = validate(record.value());
+            if (error != null) {
+                result.reject(record.line(), error);
+            } else if (!emails.add(record.value().getEmail())) {
+                result.reject(record.line(), "Email " + record.value().getEmail() + " повторяется в файле");
+            } else {
+                valid.add(record);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Set<String> existing = userRepository.findExistingEmails(emails);
+        valid.removeIf(record -> {
+            boolean taken = existing.contains(record.value().getEmail());
+            if (taken) {
+                result.reject(record.line(), "Пользователь с email " + record.value().getEmail() + " уже существует");
+            }
+            return taken;
+        });
+        save(valid, userRepository, userMapper::toEntity, user -> {
+        }, result);
+    }
+
+    private void importItemChunk(List<BulkRecord<ItemRequestDto>> chunk, User owner, BulkImportResult result) {
+        List<BulkRecord<ItemRequestDto>> valid = new ArrayList<>(chunk.size());
+        for (BulkRecord<ItemRequestDto> record : chunk) {
+            String error = validate(record.value());
+            if (error != null) {
+                result.reject(record.line(), error);
+            } else {
+                valid.add(record);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        Set<Long> requestIds = valid.stream()
+                .map(record -> record.value().getRequestId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, ItemRequest> requests = requestIds.isEmpty() ? Map.of() :
+                requestRepository.findAllById(requestIds).stream()
+                        .collect(Collectors.toMap(ItemRequest::getId, Function.identity()));
+
+        save(valid, itemRepository,
+                dto -> itemMapper.toEntity(dto, owner, dto.getRequestId() == null ? null : requests.get(dto.getRequestId())),
+                item -> eventPublisher.publishEvent(ItemChangedEvent.of(item)),
+                result);
+    }
+
+    private <T, E> void save(List<BulkRecord<T>> records,
+                             JpaRepository<E, Long> repository,
+                             Function<T, E> toEntity,
+                             Consumer<E> afterSave,
+                             BulkImportResult result) {
+        if (records.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<E> saved = repository.saveAll(records.stream().map(record -> toEntity.apply(record.value())).toList());
+                repository.flush();
+                saved.forEach(afterSave);
+            });
+            result.imported(records.size());
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Порция из {} записей отклонена базой, повторяем по одной: {}", records.size(), e.getMessage());
+            for (BulkRecord<T> record : records) {
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            afterSave.accept(repository.saveAndFlush(toEntity.apply(record.value()))));
+                    result.imported(1);
+                } catch (DataIntegrityViolationException recordError) {
+                    result.reject(record.line(), "Запись нарушает ограничения целостности данных");
+                }
+            }
+        }
+    }
+
+    private <T> void read(InputStream ndjson, Class<T> type, BulkImportResult result,
+                          Consumer<List<BulkRecord<T>>> chunkHandler) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8))) {
+            List<BulkRecord<T>> chunk = new ArrayList<>(CHUNK_SIZE);
+            long lineNumber = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                result.received();
+                try {
+                    chunk.add(new BulkRecord<>(lineNumber, objectMapper.readValue(line, type)));
+                } catch (JsonProcessingException e) {
+                    result.reject(lineNumber, "Некорректный JSON: " + e.getOriginalMessage());
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    chunkHandler.accept(chunk);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                chunkHandler.accept(chunk);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Ошибка чтения тела запроса", e);
+        }
+    }
+
+    /**
+     * @return сообщения нарушенных ограничений через "; " или {@code null}, если запись корректна
+     */
+    private <T> String validate(T dto) {
+        Set<ConstraintViolation<T>> violations = validator.validate(dto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .sorted(Comparator.comparing((ConstraintViolation<T> violation) -> violation.getPropertyPath().toString())
+                        .thenComparing(ConstraintViolation::getMessage))
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.joining("; "));
+    }
+}
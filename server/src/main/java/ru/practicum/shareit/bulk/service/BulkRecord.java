@@ -0,0 +1,7 @@
+package ru.practicum.shareit.bulk.service;
+
+/**
+ * Разобранная запись импорта вместе с номером строки, из которой она прочитана.
+ */
+record BulkRecord<T>(long line, T value) {
+}
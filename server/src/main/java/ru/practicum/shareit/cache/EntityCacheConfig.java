@@ -0,0 +1,53 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Кэш второго уровня Hibernate для справочных сущностей: пользователей, вещей и запросов.
+ * <p>
+ * Регионы создаются здесь, с размером и TTL из {@link EntityCacheProperties}, и передаются Hibernate
+ * готовым {@link CacheManager}. У каждого контекста свой менеджер: иначе контексты с разными базами
+ * (например, в тестах) делили бы один кэш. Изменения через сущности Hibernate применяет к кэшу сам
+ * (стратегия {@code READ_WRITE}); записи, удалённые каскадом в базе, вытесняет {@link EntityCacheEvictor}.
+ */
+@Configuration
+@EnableConfigurationProperties(EntityCacheProperties.class)
+public class EntityCacheConfig {
+
+    public static final String USERS = "users";
+    public static final String ITEMS = "items";
+    public static final String REQUESTS = "requests";
+
+    @Bean
+    public CacheManager entityCacheManager(EntityCacheProperties properties) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("shareit-entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(USERS, region(properties.getUsers()));
+        cacheManager.createCache(ITEMS, region(properties.getItems()));
+        cacheManager.createCache(REQUESTS, region(properties.getRequests()));
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(EntityCacheProperties.Region region) {
+        return new CaffeineConfiguration<>()
+                .setMaximumSize(OptionalLong.of(region.getMaxSize()))
+                .setExpireAfterWrite(OptionalLong.of(region.getTtl().toNanos()));
+    }
+}
@@ -0,0 +1,29 @@
+package ru.practicum.shareit.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+/**
+ * Вытесняет из кэша второго уровня сущности, которые база удаляет каскадом ({@code ON DELETE CASCADE})
+ * в обход Hibernate. Срабатывает после коммита, чтобы параллельное чтение не вернуло удалённые строки в кэш.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EntityCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        log.debug("Пользователь ID={} удалён, сброс кэша вещей и запросов", event.id());
+        entityManagerFactory.getCache().evict(Item.class);
+        entityManagerFactory.getCache().evict(ItemRequest.class);
+    }
+}
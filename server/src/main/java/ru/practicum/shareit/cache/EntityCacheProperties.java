@@ -0,0 +1,33 @@
+package ru.practicum.shareit.cache;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Размер и время жизни регионов кэша второго уровня ({@code shareit.cache.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties("shareit.cache")
+public class EntityCacheProperties {
+
+    private Region users = new Region();
+    private Region items = new Region();
+    private Region requests = new Region();
+
+    @Getter
+    @Setter
+    public static class Region {
+        /**
+         * Максимальное число сущностей в регионе.
+         */
+        private long maxSize = 10_000;
+        /**
+         * Время жизни записи с момента загрузки или изменения.
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+    }
+}
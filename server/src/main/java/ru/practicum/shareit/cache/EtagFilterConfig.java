@@ -0,0 +1,45 @@
+package ru.practicum.shareit.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.util.regex.Pattern;
+
+/**
+ * ETag для чтения отдельных вещей, пользователей и запросов.
+ * <p>
+ * {@link ShallowEtagHeaderFilter} считает ETag по телу успешного ответа на GET и, если он совпадает
+ * с {@code If-None-Match}, отвечает 304 без тела. Ответ по-прежнему формируется целиком, зато кэш gateway
+ * при повторной проверке получает несколько байт вместо полного JSON. Тело вычисляется для каждого
+ * пользователя заново, поэтому ETag учитывает и поля, видимые только владельцу.
+ * <p>
+ * Фильтр буферизует ответ целиком и хэширует его, поэтому применяется только к {@code /{ресурс}/{id}}, которые
+ * проверяет gateway; списки ({@code /items}, {@code /items/search}, {@code /requests/all}, {@code /users})
+ * отдаются потоком без ETag.
+ */
+@Configuration
+public class EtagFilterConfig {
+
+    @Bean
+    public FilterRegistrationBean<ShallowEtagHeaderFilter> etagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+                new FilterRegistrationBean<>(new SingleResourceEtagFilter());
+        registration.addUrlPatterns("/items/*", "/users/*", "/requests/*");
+        return registration;
+    }
+
+    static class SingleResourceEtagFilter extends ShallowEtagHeaderFilter {
+
+        private static final Pattern SINGLE_RESOURCE = Pattern.compile("/(items|users|requests)/\\d+");
+
+        @Override
+        protected boolean shouldNotFilter(HttpServletRequest request) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            return !HttpMethod.GET.matches(request.getMethod()) || !SINGLE_RESOURCE.matcher(path).matches();
+        }
+    }
+}
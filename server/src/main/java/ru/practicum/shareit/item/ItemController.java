@@ -2,10 +2,15 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.TimeSlot;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.util.OffsetPageRequest;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static ru.practicum.shareit.util.HeaderConstants.USER_ID_HEADER;
@@ -71,27 +76,36 @@ public class ItemController {
     }
 
     /**
-     * Получает список всех вещей, принадлежащих указанному владельцу.
+     * Получает страницу вещей, принадлежащих указанному владельцу.
      *
      * @param ownerId ID владельца вещей (из заголовка X-Sharer-User-Id).
+     * @param from    Индекс первого элемента (для пагинации).
+     * @param size    Количество элементов на странице (не более {@link OffsetPageRequest#MAX_PAGE_SIZE}).
      * @return Список DTO вещей владельца.
      */
     @GetMapping
-    public List<ItemResponseDto> getItemsByOwner(@RequestHeader(USER_ID_HEADER) Long ownerId) {
-        log.info("GET /items - получение всех вещей пользователя ID={}", ownerId);
-        return itemService.getItemsByOwner(ownerId);
+    public List<ItemResponseDto> getItemsByOwner(@RequestHeader(USER_ID_HEADER) Long ownerId,
+                                                 @RequestParam(defaultValue = "0") int from,
+                                                 @RequestParam(defaultValue = "10") int size) {
+        log.info("GET /items - получение вещей пользователя ID={}, from={}, size={}", ownerId, from, size);
+        return itemService.getItemsByOwner(ownerId, from, size);
     }
 
     /**
-     * Ищет доступные вещи, содержащие в имени или описании указанный текст.
+     * Ищет доступные вещи, в имени или описании которых есть слова, начинающиеся со слов запроса.
+     * Более релевантные вещи идут первыми.
      *
      * @param text Текст для поиска.
+     * @param from Индекс первого элемента (для пагинации).
+     * @param size Количество элементов на странице (не более {@link OffsetPageRequest#MAX_PAGE_SIZE}).
      * @return Список DTO найденных вещей.
      */
     @GetMapping("/search")
-    public List<ItemResponseDto> searchAvailable(@RequestParam String text) {
-        log.info("GET /items/search - поиск вещей по тексту '{}'", text);
-        return itemService.searchAvailable(text);
+    public List<ItemResponseDto> searchAvailable(@RequestParam String text,
+                                                 @RequestParam(defaultValue = "0") int from,
+                                                 @RequestParam(defaultValue = "10") int size) {
+        log.info("GET /items/search - поиск вещей по тексту '{}', from={}, size={}", text, from, size);
+        return itemService.searchAvailable(text, from, size);
     }
 
     /**
@@ -109,4 +123,39 @@ public class ItemController {
         log.info("POST /items/{}/comment - пользователь ID={} оставляет комментарий", itemId, userId);
         return itemService.addComment(itemId, userId, commentDto);
     }
-}
\ No newline at end of file
+
+    /**
+     * Возвращает календарь занятости вещи: занятые и свободные интервалы в окне {@code [from, to)}.
+     *
+     * @param itemId Идентификатор вещи.
+     * @param from   Начало окна.
+     * @param to     Конец окна (не более года от начала).
+     * @return Занятые и свободные интервалы по возрастанию времени.
+     */
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable Long itemId,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime from,
+                                               @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                               LocalDateTime to) {
+        log.info("GET /items/{}/availability - from={}, to={}", itemId, from, to);
+        return itemService.getAvailability(itemId, from, to);
+    }
+
+    /**
+     * Находит ближайшее свободное окно заданной длительности.
+     *
+     * @param itemId   Идентификатор вещи.
+     * @param duration Длительность окна в формате ISO-8601, например {@code PT3H} или {@code P2D}.
+     * @param from     Момент, не раньше которого должно начинаться окно (по умолчанию — текущий).
+     * @return Свободное окно.
+     */
+    @GetMapping("/{itemId}/availability/next-free")
+    public TimeSlot findNextFreeSlot(@PathVariable Long itemId,
+                                     @RequestParam Duration duration,
+                                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                     LocalDateTime from) {
+        log.info("GET /items/{}/availability/next-free - from={}, duration={}", itemId, from, duration);
+        return itemService.findNextFreeSlot(itemId, from == null ? LocalDateTime.now() : from, duration);
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Builder;
+import lombok.Data;
+import ru.practicum.shareit.booking.dto.TimeSlot;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Календарь занятости вещи в окне {@code [from, to)}: занятые и свободные интервалы по возрастанию времени.
+ */
+@Data
+@Builder
+public class ItemAvailabilityDto {
+    private Long itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<TimeSlot> busy;
+    private List<TimeSlot> free;
+}
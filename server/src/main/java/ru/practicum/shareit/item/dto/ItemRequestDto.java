@@ -1,5 +1,7 @@
 package ru.practicum.shareit.item.dto;
 
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 import lombok.Data;
 
@@ -7,9 +9,16 @@ import lombok.Data;
 @Builder
 public class ItemRequestDto {
     private Long id;
+
+    @NotBlank(message = "Название не может быть пустым")
     private String name;
+
+    @NotBlank(message = "Описание не может быть пустым")
     private String description;
+    @NotNull(message = "Статус должен быть указан")
     private Boolean available;
+
     private Long ownerId;
+
     private Long requestId;
 }
\ No newline at end of file
@@ -0,0 +1,227 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Поиск по инвертированному индексу в памяти процесса, построенному по названиям и описаниям доступных вещей.
+ * Для каждого слова хранится отсортированный список ID вещей ({@link LongPostingList}); поиск по префиксу —
+ * это диапазон в упорядоченном словаре. Правила совпадения и ранжирования те же, что у {@link LikeItemSearchEngine}.
+ *
+ * <p>Индекс строится при старте приложения и обновляется после фиксации транзакций,
+ * в которых вещь создана или изменена ({@link ItemChangedEvent}), а вещи удалённого пользователя, которые база
+ * удаляет каскадом, убираются по {@link UserDeletedEvent}. Из БД загружается только найденная страница;
+ * если каких-то вещей страницы в БД уже нет, они убираются из индекса, и страница добирается следующими.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+@RequiredArgsConstructor
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    static final int BUILD_BATCH_SIZE = 1_000;
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, LongPostingList> nameIndex = new TreeMap<>();
+    private final NavigableMap<String, LongPostingList> descriptionIndex = new TreeMap<>();
+    private final Map<Long, IndexedItem> indexedItems = new HashMap<>();
+    private final Map<Long, Set<Long>> itemsByOwner = new HashMap<>();
+
+    /**
+     * Строит индекс заново по всем доступным вещам, читая их из БД пачками.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            nameIndex.clear();
+            descriptionIndex.clear();
+            indexedItems.clear();
+            itemsByOwner.clear();
+            long lastId = 0;
+            List<Item> batch;
+            do {
+                batch = itemRepository.findAvailableAfter(lastId, Limit.of(BUILD_BATCH_SIZE));
+                for (Item item : batch) {
+                    index(ItemChangedEvent.of(item));
+                    lastId = item.getId();
+                }
+            } while (batch.size() == BUILD_BATCH_SIZE);
+            log.info("Поисковый индекс построен: вещей={}, слов={}", indexedItems.size(),
+                    nameIndex.size() + descriptionIndex.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onItemChanged(ItemChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            unindex(event.id());
+            if (event.available()) {
+                index(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        lock.writeLock().lock();
+        try {
+            Set<Long> ownedItems = itemsByOwner.remove(event.id());
+            if (ownedItems != null) {
+                ownedItems.forEach(this::unindex);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Item> search(SearchQuery query, Pageable pageable) {
+        while (true) {
+            long[] page = searchIds(query, pageable);
+            if (page.length == 0) {
+                return List.of();
+            }
+            List<Long> ids = Arrays.stream(page).boxed().toList();
+            Map<Long, Item> items = itemRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+            if (items.size() == ids.size()) {
+                return ids.stream().map(items::get).toList();
+            }
+            // ID не переиспользуются, поэтому отсутствующая в БД вещь удалена навсегда
+            List<Long> deleted = ids.stream().filter(id -> !items.containsKey(id)).toList();
+            log.debug("Вещи ID={} удалены из БД, но остались в поисковом индексе", deleted);
+            lock.writeLock().lock();
+            try {
+                deleted.forEach(this::unindex);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * @return ID вещей страницы выдачи, упорядоченные по убыванию релевантности, затем по ID
+     */
+    long[] searchIds(SearchQuery query, Pageable pageable) {
+        int tokens = query.tokens().size();
+        long[][] nameMatches = new long[tokens][];
+        long[][] descriptionMatches = new long[tokens][];
+        long[] candidates = null;
+
+        lock.readLock().lock();
+        try {
+            for (int t = 0; t < tokens; t++) {
+                String token = query.tokens().get(t);
+                nameMatches[t] = LongPostingList.union(withPrefix(nameIndex, token));
+                descriptionMatches[t] = LongPostingList.union(withPrefix(descriptionIndex, token));
+                long[] matches = LongPostingList.union(nameMatches[t], descriptionMatches[t]);
+                candidates = candidates == null ? matches : LongPostingList.intersect(candidates, matches);
+                if (candidates.length == 0) {
+                    return candidates;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int maxRank = tokens * (LikeItemSearchEngine.NAME_WEIGHT + LikeItemSearchEngine.DESCRIPTION_WEIGHT);
+        int[] ranks = new int[candidates.length];
+        int[] rankCounts = new int[maxRank + 1];
+        for (int i = 0; i < candidates.length; i++) {
+            for (int t = 0; t < tokens; t++) {
+                if (Arrays.binarySearch(nameMatches[t], candidates[i]) >= 0) {
+                    ranks[i] += LikeItemSearchEngine.NAME_WEIGHT;
+                }
+                if (Arrays.binarySearch(descriptionMatches[t], candidates[i]) >= 0) {
+                    ranks[i] += LikeItemSearchEngine.DESCRIPTION_WEIGHT;
+                }
+            }
+            rankCounts[ranks[i]]++;
+        }
+
+        // Сортировка подсчётом по убыванию ранга; кандидаты уже упорядочены по ID, порядок внутри ранга сохраняется
+        int[] rankOffsets = new int[maxRank + 1];
+        for (int rank = maxRank - 1; rank >= 0; rank--) {
+            rankOffsets[rank] = rankOffsets[rank + 1] + rankCounts[rank + 1];
+        }
+        long[] ordered = new long[candidates.length];
+        for (int i = 0; i < candidates.length; i++) {
+            ordered[rankOffsets[ranks[i]]++] = candidates[i];
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), ordered.length);
+        int to = Math.min(from + pageable.getPageSize(), ordered.length);
+        return Arrays.copyOfRange(ordered, from, to);
+    }
+
+    private static Collection<LongPostingList> withPrefix(NavigableMap<String, LongPostingList> index, String prefix) {
+        return index.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+    }
+
+    private void index(ItemChangedEvent item) {
+        IndexedItem indexed = new IndexedItem(item.ownerId(), terms(item.name()), terms(item.description()));
+        indexed.nameTerms().forEach(term -> nameIndex.computeIfAbsent(term, t -> new LongPostingList()).add(item.id()));
+        indexed.descriptionTerms().forEach(term ->
+                descriptionIndex.computeIfAbsent(term, t -> new LongPostingList()).add(item.id()));
+        indexedItems.put(item.id(), indexed);
+        itemsByOwner.computeIfAbsent(item.ownerId(), owner -> new HashSet<>()).add(item.id());
+    }
+
+    private void unindex(Long itemId) {
+        IndexedItem indexed = indexedItems.remove(itemId);
+        if (indexed == null) {
+            return;
+        }
+        Set<Long> ownedItems = itemsByOwner.get(indexed.ownerId());
+        if (ownedItems != null) {
+            ownedItems.remove(itemId);
+            if (ownedItems.isEmpty()) {
+                itemsByOwner.remove(indexed.ownerId());
+            }
+        }
+        indexed.nameTerms().forEach(term -> removePosting(nameIndex, term, itemId));
+        indexed.descriptionTerms().forEach(term -> removePosting(descriptionIndex, term, itemId));
+    }
+
+    private static void removePosting(Map<String, LongPostingList> index, String term, long itemId) {
+        LongPostingList postings = index.get(term);
+        if (postings == null) {
+            return;
+        }
+        postings.remove(itemId);
+        if (postings.isEmpty()) {
+            index.remove(term);
+        }
+    }
+
+    private static Set<String> terms(String text) {
+        return new HashSet<>(SearchQuery.tokenize(text));
+    }
+
+    private record IndexedItem(Long ownerId, Set<String> nameTerms, Set<String> descriptionTerms) {
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+/**
+ * Событие о создании или изменении вещи: содержит поля, по которым строится поисковый индекс,
+ * и владельца, при удалении которого вещь удаляется из индекса.
+ */
+public record ItemChangedEvent(Long id, Long ownerId, String name, String description, boolean available) {
+
+    public static ItemChangedEvent of(Item item) {
+        return new ItemChangedEvent(item.getId(), item.getOwner().getId(), item.getName(), item.getDescription(),
+                Boolean.TRUE.equals(item.getAvailable()));
+    }
+}
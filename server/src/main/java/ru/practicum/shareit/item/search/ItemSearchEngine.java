@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.search;
+
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Полнотекстовый поиск доступных для бронирования вещей.
+ * Реализация выбирается свойством {@code shareit.search.engine}.
+ */
+public interface ItemSearchEngine {
+
+    /**
+     * Ищет доступные вещи, подходящие под запрос.
+     *
+     * @param query    непустой поисковый запрос
+     * @param pageable смещение и размер страницы
+     * @return вещи, упорядоченные по убыванию релевантности, при равной релевантности — по ID
+     */
+    List<Item> search(SearchQuery query, Pageable pageable);
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item.search;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.*;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Переносимая реализация поиска на {@code LIKE} для баз без полнотекстового поиска (H2 в тестах).
+ * Перед сравнением все {@link SearchQuery#SEPARATORS} заменяются пробелами ({@code translate}), поэтому началом
+ * слова считается начало строки или позиция после любого разделителя, как и в {@link InMemoryItemSearchEngine}.
+ * Индексы при таком поиске не используются.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "like", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LikeItemSearchEngine implements ItemSearchEngine {
+
+    static final int NAME_WEIGHT = 2;
+    static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final String SPACES = " ".repeat(SearchQuery.SEPARATORS.length());
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<Item> search(SearchQuery query, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Item> criteria = cb.createQuery(Item.class);
+        Root<Item> item = criteria.from(Item.class);
+        Expression<String> name = words(cb, item.get("name"));
+        Expression<String> description = words(cb, item.get("description"));
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(cb.isTrue(item.get("available")));
+        Expression<Integer> rank = cb.literal(0);
+        for (String token : query.tokens()) {
+            Predicate inName = hasWordStartingWith(cb, name, token);
+            Predicate inDescription = hasWordStartingWith(cb, description, token);
+            predicates.add(cb.or(inName, inDescription));
+            rank = cb.sum(rank, cb.<Integer>selectCase().when(inName, NAME_WEIGHT).otherwise(0));
+            rank = cb.sum(rank, cb.<Integer>selectCase().when(inDescription, DESCRIPTION_WEIGHT).otherwise(0));
+        }
+        criteria.where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(rank), cb.asc(item.get("id")));
+
+        return entityManager.createQuery(criteria)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+
+    private static Expression<String> words(CriteriaBuilder cb, Expression<String> field) {
+        return cb.function("translate", String.class, cb.lower(field),
+                cb.literal(SearchQuery.SEPARATORS), cb.literal(SPACES));
+    }
+
+    private static Predicate hasWordStartingWith(CriteriaBuilder cb, Expression<String> field, String token) {
+        return cb.or(cb.like(field, token + "%"), cb.like(field, "% " + token + "%"));
+    }
+}
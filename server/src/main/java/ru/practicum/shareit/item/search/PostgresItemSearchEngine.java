@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+
+import java.util.List;
+
+/**
+ * Поиск по генерируемой колонке {@code items.search_vector} (tsvector с GIN-индексом).
+ * Название имеет больший вес, чем описание, поэтому совпадения в названии выше в выдаче.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "postgres")
+@RequiredArgsConstructor
+public class PostgresItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+
+    @Override
+    public List<Item> search(SearchQuery query, Pageable pageable) {
+        return itemRepository.searchAvailableByTsQuery(query.toTsQuery(), pageable);
+    }
+}
@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Поисковый запрос, разбитый на слова. Вещь подходит под запрос, если каждое слово запроса
+ * является началом какого-либо слова в её названии или описании.
+ *
+ * @param tokens слова запроса в нижнем регистре, без повторов
+ */
+public record SearchQuery(List<String> tokens) {
+
+    public static final int MAX_TOKENS = 8;
+
+    /**
+     * Символы, разделяющие слова: пробельные и знаки препинания, включая символы шаблонов {@code LIKE}
+     * и операторы {@code tsquery}. Один и тот же список используют индекс в памяти и {@link LikeItemSearchEngine},
+     * поэтому граница слова у них совпадает.
+     */
+    public static final String SEPARATORS = " \t\n\r\u00A0!\"#$%&'()*+,-./:;<=>?@[\\]^_`{|}~«»‹›„“”‘’–—…№§°";
+
+    private static final Pattern SEPARATOR = Pattern.compile(SEPARATORS.chars()
+            .mapToObj(c -> "\\x{" + Integer.toHexString(c) + "}")
+            .collect(Collectors.joining("", "[", "]+")));
+
+    public static SearchQuery parse(String text) {
+        return new SearchQuery(tokenize(text).stream()
+                .distinct()
+                .limit(MAX_TOKENS)
+                .toList());
+    }
+
+    /**
+     * Разбивает текст на слова по символам {@link #SEPARATORS} и приводит их к нижнему регистру.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        return SEPARATOR.splitAsStream(text.toLowerCase(Locale.ROOT))
+                .filter(token -> !token.isEmpty())
+                .toList();
+    }
+
+    public boolean isEmpty() {
+        return tokens.isEmpty();
+    }
+
+    /**
+     * @return запрос для {@code to_tsquery}: все слова обязательны и ищутся по префиксу
+     */
+    public String toTsQuery() {
+        return tokens.stream()
+                .map(token -> token + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+}
@@ -0,0 +1,94 @@
+package ru.practicum.shareit.item.service;
+
+import ru.practicum.shareit.booking.dto.TimeSlot;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Занятые интервалы вещи, отсортированные по началу и объединённые там, где они пересекаются или соприкасаются.
+ * Свободные окна — промежутки между ними.
+ */
+public final class AvailabilityCalendar {
+
+    private final List<TimeSlot> busy;
+
+    private AvailabilityCalendar(List<TimeSlot> busy) {
+        this.busy = busy;
+    }
+
+    /**
+     * @param periods периоды бронирований, отсортированные по началу
+     */
+    public static AvailabilityCalendar of(List<TimeSlot> periods) {
+        List<TimeSlot> merged = new ArrayList<>();
+        for (TimeSlot period : periods) {
+            if (!merged.isEmpty() && !period.start().isAfter(merged.getLast().end())) {
+                TimeSlot last = merged.removeLast();
+                merged.add(new TimeSlot(last.start(), later(last.end(), period.end())));
+            } else {
+                merged.add(period);
+            }
+        }
+        return new AvailabilityCalendar(Collections.unmodifiableList(merged));
+    }
+
+    /**
+     * @return занятые интервалы, обрезанные по окну {@code [from, to)}
+     */
+    public List<TimeSlot> busy(LocalDateTime from, LocalDateTime to) {
+        List<TimeSlot> result = new ArrayList<>();
+        for (TimeSlot slot : busy) {
+            if (slot.end().isAfter(from) && slot.start().isBefore(to)) {
+                result.add(new TimeSlot(later(slot.start(), from), earlier(slot.end(), to)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return свободные интервалы внутри окна {@code [from, to)}
+     */
+    public List<TimeSlot> free(LocalDateTime from, LocalDateTime to) {
+        List<TimeSlot> result = new ArrayList<>();
+        LocalDateTime cursor = from;
+        for (TimeSlot slot : busy(from, to)) {
+            if (slot.start().isAfter(cursor)) {
+                result.add(new TimeSlot(cursor, slot.start()));
+            }
+            cursor = later(cursor, slot.end());
+        }
+        if (cursor.isBefore(to)) {
+            result.add(new TimeSlot(cursor, to));
+        }
+        return result;
+    }
+
+    /**
+     * Ищет самое раннее свободное окно длиной {@code duration}, начинающееся не раньше {@code from}.
+     */
+    public TimeSlot nextFree(LocalDateTime from, Duration duration) {
+        LocalDateTime cursor = from;
+        for (TimeSlot slot : busy) {
+            if (!slot.end().isAfter(cursor)) {
+                continue;
+            }
+            if (!cursor.plus(duration).isAfter(slot.start())) {
+                break;
+            }
+            cursor = slot.end();
+        }
+        return new TimeSlot(cursor, cursor.plus(duration));
+    }
+
+    private static LocalDateTime later(LocalDateTime first, LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+
+    private static LocalDateTime earlier(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+}
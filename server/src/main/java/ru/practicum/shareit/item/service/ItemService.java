@@ -1,7 +1,10 @@
 package ru.practicum.shareit.item.service;
 
+import ru.practicum.shareit.booking.dto.TimeSlot;
 import ru.practicum.shareit.item.dto.*;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemService {
@@ -11,9 +14,13 @@ public interface ItemService {
 
     ItemResponseDto getById(Long itemId, Long userId);
 
-    List<ItemResponseDto> getItemsByOwner(Long ownerId);
+    List<ItemResponseDto> getItemsByOwner(Long ownerId, int from, int size);
 
-    List<ItemResponseDto> searchAvailable(String text);
+    List<ItemResponseDto> searchAvailable(String text, int from, int size);
 
     CommentResponseDto addComment(Long itemId, Long userId, CommentRequestDto dto);
+
+    ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
+    TimeSlot findNextFreeSlot(Long itemId, LocalDateTime from, Duration duration);
 }
\ No newline at end of file
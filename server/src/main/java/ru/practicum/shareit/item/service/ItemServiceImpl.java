@@ -2,27 +2,41 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingShortView;
+import ru.practicum.shareit.booking.dto.TimeSlot;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemChangedEvent;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.SearchQuery;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceFilter;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.OffsetPageRequest;
 
+import java.time.DateTimeException;
+import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -34,8 +48,13 @@ public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
     private final CommentRepository commentRepository;
     private final UserRepository userRepository;
+    private final UserExistenceFilter userExistenceFilter;
     private final ItemRequestRepository requestRepository;
     private final BookingRepository bookingRepository;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ApplicationEventPublisher eventPublisher;
+
+    static final Duration MAX_AVAILABILITY_WINDOW = Duration.ofDays(366);
 
     @Override
     @Transactional
@@ -47,6 +66,7 @@ public class ItemServiceImpl implements ItemService {
 
         Item item = itemMapper.toEntity(itemRequestDto, owner, request);
         Item savedItem = itemRepository.save(item);
+        eventPublisher.publishEvent(ItemChangedEvent.of(savedItem));
         log.debug("Вещь успешно создана: {}", savedItem);
         return itemMapper.toDto(savedItem);
     }
@@ -64,6 +84,7 @@ public class ItemServiceImpl implements ItemService {
         }
 
         itemMapper.updateItemFromDto(itemDto, item);
+        eventPublisher.publishEvent(ItemChangedEvent.of(item));
 
         log.debug("Вещь успешно обновлена: {}", item);
         return itemMapper.toDto(item);
@@ -86,48 +107,52 @@ public class ItemServiceImpl implements ItemService {
         return dto;
     }
 
+    /**
+     * Возвращает страницу вещей владельца вместе с последним/ближайшим бронированием и комментариями.
+     * Данные загружаются пакетно: число запросов к БД не зависит от количества вещей на странице.
+     */
     @Override
-    public List<ItemResponseDto> getItemsByOwner(Long ownerId) {
-        log.info("Получение всех вещей пользователя ID={}", ownerId);
+    public List<ItemResponseDto> getItemsByOwner(Long ownerId, int from, int size) {
+        log.info("Получение вещей пользователя ID={}, from={}, size={}", ownerId, from, size);
         getUserOrThrow(ownerId);
-        List<Item> items = itemRepository.findByOwnerId(ownerId);
+        List<Item> items = itemRepository.findByOwnerId(ownerId, OffsetPageRequest.of(from, size, Sort.by("id")));
+        if (items.isEmpty()) {
+            return List.of();
+        }
         LocalDateTime now = LocalDateTime.now();
+        List<Long> itemIds = items.stream().map(Item::getId).toList();
 
-        return items.stream().map(item -> {
-            List<Booking> bookings = bookingRepository.findByItemIdOrderByStartAsc(item.getId());
-            List<Comment> comments = commentRepository.findByItemId(item.getId());
+        Map<Long, BookingShortView> lastBookings = bookingRepository.findLastBookingsByItemIds(itemIds, now).stream()
+                .collect(Collectors.toMap(BookingShortView::getItemId, Function.identity()));
+        Map<Long, BookingShortView> nextBookings = bookingRepository.findNextBookingsByItemIds(itemIds, now).stream()
+                .collect(Collectors.toMap(BookingShortView::getItemId, Function.identity()));
+        Map<Long, List<CommentResponseDto>> comments = commentRepository.findByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(c -> c.getItem().getId(),
+                        Collectors.mapping(commentMapper::toDto, Collectors.toList())));
 
+        return items.stream().map(item -> {
             ItemResponseDto dto = itemMapper.toDto(item);
-
-            dto.setLastBooking(bookings.stream()
-                    .filter(b -> b.getEnd().isBefore(now))
-                    .max(Comparator.comparing(Booking::getEnd))
-                    .map(this::convertToShortDto)
-                    .orElse(null));
-
-            dto.setNextBooking(bookings.stream()
-                    .filter(b -> b.getStart().isAfter(now))
-                    .min(Comparator.comparing(Booking::getStart))
-                    .map(this::convertToShortDto)
-                    .orElse(null));
-
-            dto.setComments(comments.stream()
-                    .map(commentMapper::toDto)
-                    .toList());
-
+            dto.setLastBooking(convertToShortDto(lastBookings.get(item.getId())));
+            dto.setNextBooking(convertToShortDto(nextBookings.get(item.getId())));
+            dto.setComments(comments.getOrDefault(item.getId(), List.of()));
             return dto;
         }).toList();
     }
 
 
+    /**
+     * Ищет доступные вещи, в названии или описании которых есть слова, начинающиеся с каждого слова запроса.
+     * Результат упорядочен по релевантности.
+     */
     @Override
-    public List<ItemResponseDto> searchAvailable(String text) {
-        log.info("Поиск доступных вещей по тексту: '{}'", text);
-        if (text == null || text.isBlank()) {
+    public List<ItemResponseDto> searchAvailable(String text, int from, int size) {
+        log.info("Поиск доступных вещей по тексту: '{}', from={}, size={}", text, from, size);
+        SearchQuery query = SearchQuery.parse(text);
+        if (query.isEmpty()) {
             log.debug("Пустой текст поиска, возвращён пустой список");
             return List.of();
         }
-        List<Item> items = itemRepository.searchAvailableByText(text);
+        List<Item> items = itemSearchEngine.search(query, OffsetPageRequest.of(from, size));
         log.debug("Найдено {} вещей по запросу '{}'", items.size(), text);
         return items.stream()
                 .map(itemMapper::toDto)
@@ -140,8 +165,8 @@ public class ItemServiceImpl implements ItemService {
         Item item = getItemOrThrow(itemId);
         User author = getUserOrThrow(userId);
 
-        boolean hasPastBooking = bookingRepository.findByItemIdOrderByStartAsc(itemId).stream()
-                .anyMatch(b -> b.getBooker().getId().equals(userId) && b.getEnd().isBefore(LocalDateTime.now()));
+        boolean hasPastBooking = bookingRepository.existsFinishedBooking(
+                itemId, userId, Booking.BookingStatus.APPROVED, LocalDateTime.now());
         if (!hasPastBooking) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Оставить комментарий может только пользователь, бравший вещь в аренду.");
         }
@@ -156,9 +181,80 @@ public class ItemServiceImpl implements ItemService {
         return commentMapper.toDto(saved);
     }
 
+    /**
+     * Возвращает занятые и свободные интервалы вещи в окне {@code [from, to)}.
+     * Занятыми считаются периоды бронирований в статусах {@link Booking.BookingStatus#BLOCKING}.
+     *
+     * @throws ValidationException если окно пустое или длиннее {@link #MAX_AVAILABILITY_WINDOW}
+     * @throws NotFoundException   если вещь не найдена
+     */
+    @Override
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        log.info("Получение календаря занятости вещи ID={}: from={}, to={}", itemId, from, to);
+        if (!to.isAfter(from)) {
+            throw new ValidationException("Конец периода должен быть позже начала");
+        }
+        if (Duration.between(from, to).compareTo(MAX_AVAILABILITY_WINDOW) > 0) {
+            throw new ValidationException("Период не может быть длиннее " + MAX_AVAILABILITY_WINDOW.toDays() + " дней");
+        }
+        getItemOrThrow(itemId);
+
+        AvailabilityCalendar calendar = AvailabilityCalendar.of(
+                bookingRepository.findPeriodsByItemId(itemId, from, to, Booking.BookingStatus.BLOCKING));
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .busy(calendar.busy(from, to))
+                .free(calendar.free(from, to))
+                .build();
+    }
+
+    /**
+     * Находит самое раннее свободное окно длиной {@code duration}, начинающееся не раньше {@code from}
+     * и не позже чем через {@link #MAX_AVAILABILITY_WINDOW}. Из БД читаются только бронирования,
+     * пересекающиеся с {@code [from, from + MAX_AVAILABILITY_WINDOW + duration)}: окно, начавшееся в этих
+     * пределах, заканчивается до границы и с остальными бронированиями пересечься не может.
+     *
+     * @throws ValidationException если длительность не положительна или длиннее {@link #MAX_AVAILABILITY_WINDOW}
+     * @throws NotFoundException   если вещь не найдена или свободного окна в пределах поиска нет
+     */
+    @Override
+    public TimeSlot findNextFreeSlot(Long itemId, LocalDateTime from, Duration duration) {
+        log.info("Поиск свободного окна вещи ID={}: from={}, duration={}", itemId, from, duration);
+        if (duration.isNegative() || duration.isZero()) {
+            throw new ValidationException("Длительность должна быть положительной");
+        }
+        if (duration.compareTo(MAX_AVAILABILITY_WINDOW) > 0) {
+            throw new ValidationException("Длительность не может быть больше " + MAX_AVAILABILITY_WINDOW.toDays() + " дней");
+        }
+        LocalDateTime latestStart;
+        LocalDateTime horizon;
+        try {
+            latestStart = from.plus(MAX_AVAILABILITY_WINDOW);
+            horizon = latestStart.plus(duration);
+        } catch (DateTimeException e) {
+            throw new ValidationException("Некорректное начало периода");
+        }
+        getItemOrThrow(itemId);
+
+        TimeSlot slot = AvailabilityCalendar.of(
+                        bookingRepository.findPeriodsByItemId(itemId, from, horizon, Booking.BookingStatus.BLOCKING))
+                .nextFree(from, duration);
+        if (slot.start().isAfter(latestStart)) {
+            throw new NotFoundException("Свободного окна в ближайшие " + MAX_AVAILABILITY_WINDOW.toDays() + " дней нет");
+        }
+        return slot;
+    }
+
     private User getUserOrThrow(Long userId) {
+        if (userExistenceFilter.isKnownMissing(userId)) {
+            log.warn("Пользователь ID={} не найден", userId);
+            throw new NotFoundException("Пользователь не найден");
+        }
         return userRepository.findById(userId)
                 .orElseThrow(() -> {
+                    userExistenceFilter.markMissing(userId);
                     log.warn("Пользователь ID={} не найден", userId);
                     return new NotFoundException("Пользователь не найден");
                 });
@@ -172,12 +268,15 @@ public class ItemServiceImpl implements ItemService {
                 });
     }
 
-    private ItemResponseDto.BookingShortDto convertToShortDto(Booking booking) {
+    private ItemResponseDto.BookingShortDto convertToShortDto(BookingShortView booking) {
+        if (booking == null) {
+            return null;
+        }
         return ItemResponseDto.BookingShortDto.builder()
                 .id(booking.getId())
-                .bookerId(booking.getBooker().getId())
-                .start(booking.getStart())
-                .end(booking.getEnd())
+                .bookerId(booking.getBookerId())
+                .start(booking.getStartDate())
+                .end(booking.getEndDate())
                 .build();
     }
 }
\ No newline at end of file
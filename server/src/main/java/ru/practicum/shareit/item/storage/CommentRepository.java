@@ -1,10 +1,21 @@
 package ru.practicum.shareit.item.storage;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByItemId(Long itemId);
+    @Query("SELECT c FROM Comment c " +
+           "WHERE c.item.id = :itemId")
+    List<Comment> findByItemId(@Param("itemId") Long itemId);
+
+    @Query("SELECT c FROM Comment c " +
+           "JOIN FETCH c.author " +
+           "WHERE c.item.id IN :itemIds " +
+           "ORDER BY c.created")
+    List<Comment> findByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
 }
@@ -1,20 +1,50 @@
 package ru.practicum.shareit.item.storage;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
-    List<Item> findByOwnerId(Long ownerId);
+    List<Item> findByOwnerId(Long ownerId, Pageable pageable);
+
+    /**
+     * Загружает вещь с блокировкой строки до конца транзакции, чтобы сериализовать конкурирующие бронирования.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(@Param("id") Long id);
 
     @Query("SELECT i FROM Item i " +
-           "WHERE i.available = true " +
-           "AND (LOWER(i.name) LIKE LOWER(CONCAT('%', :text, '%')) " +
-           "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :text, '%')))")
-    List<Item> searchAvailableByText(@Param("text") String text);
+           "WHERE i.available = true AND i.id > :afterId " +
+           "ORDER BY i.id")
+    List<Item> findAvailableAfter(@Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Полнотекстовый поиск доступных вещей (только PostgreSQL).
+     *
+     * @param tsQuery запрос в синтаксисе {@code to_tsquery}
+     */
+    @Query(value = "SELECT i.* FROM items i " +
+                   "WHERE i.is_available " +
+                   "AND i.search_vector @@ to_tsquery('simple', :tsQuery) " +
+                   "ORDER BY ts_rank(i.search_vector, to_tsquery('simple', :tsQuery)) DESC, i.id",
+           nativeQuery = true)
+    List<Item> searchAvailableByTsQuery(@Param("tsQuery") String tsQuery, Pageable pageable);
 
-    List<Item> findByRequestId(Long id);
+    @Query("SELECT i FROM Item i " +
+           "WHERE i.request.id = :requestId")
+    List<Item> findByRequestId(@Param("requestId") Long requestId);
+
+    @Query("SELECT i FROM Item i " +
+           "WHERE i.request.id IN :requestIds")
+    List<Item> findByRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
 }
\ No newline at end of file
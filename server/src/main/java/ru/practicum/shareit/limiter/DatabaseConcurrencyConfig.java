@@ -0,0 +1,64 @@
+package ru.practicum.shareit.limiter;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Ограничитель конкурентности по пулу соединений, включается вместе с виртуальными потоками
+ * ({@code spring.threads.virtual.enabled=true}). Занятость видна в метриках {@code shareit.db.limiter.*}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+@EnableConfigurationProperties(DatabaseConcurrencyProperties.class)
+public class DatabaseConcurrencyConfig implements WebMvcConfigurer {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private final DatabaseConcurrencyLimiter limiter;
+
+    public DatabaseConcurrencyConfig(DatabaseConcurrencyProperties properties, DataSource dataSource) {
+        int maxConcurrentRequests = properties.getMaxConcurrentRequests() > 0
+                ? properties.getMaxConcurrentRequests()
+                : poolSize(dataSource);
+        log.info("Виртуальные потоки: одновременно обрабатывается не более {} запросов", maxConcurrentRequests);
+        this.limiter = new DatabaseConcurrencyLimiter(maxConcurrentRequests, properties.getAcquireTimeout());
+    }
+
+    @Bean
+    public DatabaseConcurrencyLimiter databaseConcurrencyLimiter() {
+        return limiter;
+    }
+
+    @Bean
+    public MeterBinder databaseConcurrencyLimiterMetrics() {
+        return registry -> {
+            Gauge.builder("shareit.db.limiter.available", limiter, DatabaseConcurrencyLimiter::getAvailablePermits)
+                    .description("Свободные места для обработки запросов")
+                    .register(registry);
+            Gauge.builder("shareit.db.limiter.waiting", limiter, DatabaseConcurrencyLimiter::getQueueLength)
+                    .description("Запросы, ожидающие свободного места")
+                    .register(registry);
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(limiter);
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        return dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+    }
+}
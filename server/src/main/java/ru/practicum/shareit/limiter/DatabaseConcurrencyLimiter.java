@@ -0,0 +1,63 @@
+package ru.practicum.shareit.limiter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import ru.practicum.shareit.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Пропускает к контроллерам не больше запросов, чем соединений в пуле базы данных.
+ * <p>
+ * На платформенных потоках эту роль играет пул Tomcat, а виртуальных потоков может быть сколько угодно:
+ * без ограничения тысячи запросов разом встают в очередь Hikari и получают таймаут соединения.
+ * Здесь лишние запросы ждут разрешения заданное время, после чего получают 503.
+ * Семафор справедливый, чтобы порядок ожидания совпадал с порядком прихода запросов. Разрешение
+ * возвращается в {@link #afterCompletion}, который Spring вызывает только после успешного {@link #preHandle}.
+ */
+public class DatabaseConcurrencyLimiter implements HandlerInterceptor {
+
+    private final Semaphore permits;
+    private final int maxConcurrentRequests;
+    private final long acquireTimeoutNanos;
+
+    public DatabaseConcurrencyLimiter(int maxConcurrentRequests, Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrentRequests, true);
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        try {
+            if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                throw new ServiceUnavailableException("Сервер перегружен, повторите запрос позже");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceUnavailableException("Ожидание обработки запроса прервано");
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        permits.release();
+    }
+
+    public int getMaxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    public int getAvailablePermits() {
+        return permits.availablePermits();
+    }
+
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+}
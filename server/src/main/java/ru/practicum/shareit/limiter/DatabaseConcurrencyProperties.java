@@ -0,0 +1,26 @@
+package ru.practicum.shareit.limiter;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Ограничение числа одновременно обрабатываемых запросов в режиме виртуальных потоков
+ * ({@code shareit.db-limiter.*}).
+ */
+@Getter
+@Setter
+@ConfigurationProperties("shareit.db-limiter")
+public class DatabaseConcurrencyProperties {
+
+    /**
+     * Сколько запросов обрабатывается одновременно; 0 — по размеру пула соединений Hikari.
+     */
+    private int maxConcurrentRequests = 0;
+    /**
+     * Сколько запрос ждёт свободного места, прежде чем получить 503.
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(5);
+}
@@ -2,20 +2,29 @@ package ru.practicum.shareit.request;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
 
 @Builder
 @Entity
-@Table(name = "requests")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "requests")
+@Table(name = "requests", indexes = {
+        @Index(name = "idx_requests_requestor_created", columnList = "requestor_id, created DESC")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_id_seq")
+    @SequenceGenerator(name = "requests_id_seq", sequenceName = "requests_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "description", nullable = false, length = 1000)
@@ -23,6 +32,7 @@ public class ItemRequest {
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requestor_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     private User requestor;
 
     @Column(name = "created", nullable = false)
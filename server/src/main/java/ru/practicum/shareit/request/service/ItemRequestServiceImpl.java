@@ -16,10 +16,14 @@ import ru.practicum.shareit.request.dto.ItemRequestMapper;
 import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceFilter;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.QueryCountInspector;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,6 +32,7 @@ import java.util.List;
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository requestRepository;
     private final UserRepository userRepository;
+    private final UserExistenceFilter userExistenceFilter;
     private final ItemRequestMapper itemRequestMapper;
     private final ItemRepository itemRepository;
     private final ItemMapper itemMapper;
@@ -65,13 +70,15 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestResponseDto> getOwnRequests(Long userId) {
         log.info("Получение собственных запросов пользователя ID={}", userId);
+        long queriesBefore = QueryCountInspector.count();
         getUserOrThrow(userId);
         List<ItemRequest> requests = requestRepository.findByRequestorIdOrderByCreatedDesc(userId);
         log.debug("Найдено {} собственных запросов для пользователя ID={}", requests.size(), userId);
 
-        return requests.stream()
-                .map(this::toResponseDtoWithItems)
-                .toList();
+        List<ItemRequestResponseDto> result = toResponseDtosWithItems(requests);
+        log.debug("Лента собственных запросов пользователя ID={} собрана за {} SQL-запросов",
+                userId, QueryCountInspector.count() - queriesBefore);
+        return result;
     }
 
     /**
@@ -86,14 +93,16 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public List<ItemRequestResponseDto> getAllRequests(Long userId, int from, int size) {
         log.info("Получение всех чужих запросов для пользователя ID={}", userId);
+        long queriesBefore = QueryCountInspector.count();
         getUserOrThrow(userId);
         Pageable pageable = PageRequest.of(from / size, size);
         List<ItemRequest> requests = requestRepository.findAllOtherUsersRequests(userId, pageable);
         log.debug("Найдено {} чужих запросов для пользователя ID={}", requests.size(), userId);
 
-        return requests.stream()
-                .map(this::toResponseDtoWithItems)
-                .toList();
+        List<ItemRequestResponseDto> result = toResponseDtosWithItems(requests);
+        log.debug("Лента чужих запросов для пользователя ID={} (from={}, size={}) собрана за {} SQL-запросов",
+                userId, from, size, QueryCountInspector.count() - queriesBefore);
+        return result;
     }
 
     /**
@@ -126,8 +135,13 @@ public class ItemRequestServiceImpl implements ItemRequestService {
      * @throws NotFoundException если пользователь не найден
      */
     private User getUserOrThrow(Long userId) {
+        if (userExistenceFilter.isKnownMissing(userId)) {
+            log.warn("Пользователь ID={} не найден", userId);
+            throw new NotFoundException("Пользователь не найден");
+        }
         return userRepository.findById(userId)
                 .orElseThrow(() -> {
+                    userExistenceFilter.markMissing(userId);
                     log.warn("Пользователь ID={} не найден", userId);
                     return new NotFoundException("Пользователь не найден");
                 });
@@ -147,4 +161,28 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         dto.setItems(items);
         return dto;
     }
-}
\ No newline at end of file
+
+    /**
+     * Конвертирует страницу запросов в DTO, загружая вещи-ответы для всех запросов одним SQL-запросом.
+     *
+     * @param requests страница запросов вещей
+     * @return список DTO запросов с вложенными вещами в том же порядке
+     */
+    private List<ItemRequestResponseDto> toResponseDtosWithItems(List<ItemRequest> requests) {
+        if (requests.isEmpty()) {
+            return List.of();
+        }
+        List<Long> requestIds = requests.stream().map(ItemRequest::getId).toList();
+        Map<Long, List<ItemResponseDto>> itemsByRequestId = itemRepository.findByRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId(),
+                        Collectors.mapping(itemMapper::toDto, Collectors.toList())));
+
+        return requests.stream()
+                .map(request -> {
+                    ItemRequestResponseDto dto = itemRequestMapper.toDto(request);
+                    dto.setItems(itemsByRequestId.getOrDefault(request.getId(), List.of()));
+                    return dto;
+                })
+                .toList();
+    }
+}
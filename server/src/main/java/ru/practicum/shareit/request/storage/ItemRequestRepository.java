@@ -10,7 +10,10 @@ import java.util.List;
 
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
-    List<ItemRequest> findByRequestorIdOrderByCreatedDesc(Long itemId);
+    @Query("SELECT r FROM ItemRequest r " +
+           "WHERE r.requestor.id = :requestorId " +
+           "ORDER BY r.created DESC")
+    List<ItemRequest> findByRequestorIdOrderByCreatedDesc(@Param("requestorId") Long requestorId);
 
     @Query("SELECT r FROM ItemRequest r " +
            "WHERE r.requestor.id <> :userId " +
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.user;
+
+/**
+ * Событие об удалении пользователя: вместе с ним база каскадно удаляет его вещи, запросы и бронирования.
+ */
+public record UserDeletedEvent(Long id) {
+}
@@ -0,0 +1,147 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Отсекает запросы с несуществующим {@code X-Sharer-User-Id} без обращения к БД.
+ * <p>
+ * Все существующие ID хранятся в фильтре Блума ({@link LongBloomFilter}): если фильтр отвечает «точно нет»,
+ * пользователя нет. Удалённые пользователи и ID, которые фильтр пропустил, но не нашла БД, запоминаются
+ * в ограниченном по размеру и времени жизни негативном кэше.
+ * <p>
+ * Фильтр строится при старте приложения; новые ID добавляет {@link UserExistenceListener} при вставке
+ * пользователя, удаление отмечается после коммита ({@link UserDeletedEvent}). До построения фильтр ничего
+ * не отсекает, а ID пользователей, созданных до начала первого построения (сервер принимает запросы раньше
+ * {@link ApplicationReadyEvent}), накапливаются и переносятся в строящийся фильтр: иначе коммит, пришедший
+ * после того, как чтение ID прошло его позицию, навсегда оставил бы пользователя вне фильтра.
+ * <p>
+ * ID добавляется до коммита, и параллельный запрос ещё может не найти такого пользователя в БД. Чтобы его
+ * промах не попал в негативный кэш уже после регистрации ID, недавно вставленные ID
+ * ({@link #PENDING_INSERT_WINDOW}) в негативный кэш не записываются.
+ * <p>
+ * Как и поисковый индекс в памяти, фильтр рассчитан на один экземпляр сервера: пользователей,
+ * созданных другим экземпляром, он не увидит до перезапуска.
+ */
+@Slf4j
+@Component
+public class UserExistenceFilter {
+
+    static final int BUILD_BATCH_SIZE = 1_000;
+    /**
+     * Сколько вставленный ID защищён от негативного кэша: с запасом дольше транзакции создания пользователя.
+     */
+    static final Duration PENDING_INSERT_WINDOW = Duration.ofMinutes(1);
+
+    private final UserRepository userRepository;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+    private final Cache<Long, Boolean> missing;
+    private final Cache<Long, Boolean> recentlyAdded;
+
+    private volatile LongBloomFilter known;
+    private LongBloomFilter building;
+    private List<Long> addedBeforeBuild = new ArrayList<>();
+
+    public UserExistenceFilter(UserRepository userRepository,
+                               @Value("${shareit.user-filter.expected-users:100000}") long expectedUsers,
+                               @Value("${shareit.user-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${shareit.user-filter.negative-cache-size:10000}") long negativeCacheSize,
+                               @Value("${shareit.user-filter.negative-cache-ttl:10m}") Duration negativeCacheTtl) {
+        this.userRepository = userRepository;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+        this.missing = Caffeine.newBuilder()
+                .maximumSize(negativeCacheSize)
+                .expireAfterWrite(negativeCacheTtl)
+                .build();
+        this.recentlyAdded = Caffeine.newBuilder()
+                .expireAfterWrite(PENDING_INSERT_WINDOW)
+                .build();
+    }
+
+    /**
+     * @return {@code true}, если пользователя с таким ID точно нет и обращаться к БД не нужно
+     */
+    public boolean isKnownMissing(Long userId) {
+        LongBloomFilter filter = known;
+        if (filter != null && !filter.mightContain(userId)) {
+            return true;
+        }
+        return missing.getIfPresent(userId) != null;
+    }
+
+    /**
+     * Запоминает ID, которого не оказалось в БД. Недавно вставленный ID не запоминается: промах мог
+     * прочитать БД до коммита его транзакции.
+     */
+    public void markMissing(Long userId) {
+        if (recentlyAdded.getIfPresent(userId) == null) {
+            missing.put(userId, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Регистрирует ID нового пользователя. Вызывается до коммита: если транзакция откатится,
+     * лишний ID в фильтре только приведёт к запросу в БД.
+     */
+    public synchronized void added(Long userId) {
+        recentlyAdded.put(userId, Boolean.TRUE);
+        missing.invalidate(userId);
+        if (known != null) {
+            known.put(userId);
+        }
+        if (building != null) {
+            building.put(userId);
+        }
+        if (known == null && building == null) {
+            addedBeforeBuild.add(userId);
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        recentlyAdded.invalidate(event.id());
+        markMissing(event.id());
+    }
+
+    /**
+     * Строит фильтр заново по всем ID пользователей, читая их из БД пачками.
+     * Пользователи, созданные во время построения, попадают в оба фильтра — старый и новый.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long users = userRepository.count();
+        LongBloomFilter filter = new LongBloomFilter(Math.max(expectedUsers, users * 2), falsePositiveRate);
+        synchronized (this) {
+            building = filter;
+            addedBeforeBuild.forEach(filter::put);
+            addedBeforeBuild = new ArrayList<>();
+        }
+        long lastId = 0;
+        List<Long> batch;
+        do {
+            batch = userRepository.findIdsAfter(lastId, Limit.of(BUILD_BATCH_SIZE));
+            for (Long id : batch) {
+                filter.put(id);
+                lastId = id;
+            }
+        } while (batch.size() == BUILD_BATCH_SIZE);
+        synchronized (this) {
+            known = filter;
+            building = null;
+        }
+        log.info("Фильтр существования пользователей построен: пользователей={}", users);
+    }
+}
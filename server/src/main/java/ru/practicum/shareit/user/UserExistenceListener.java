@@ -0,0 +1,21 @@
+package ru.practicum.shareit.user;
+
+import jakarta.persistence.PostPersist;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Сообщает {@link UserExistenceFilter} о каждом вставленном пользователе — независимо от того,
+ * создан он через сервис, массовый импорт или напрямую через репозиторий.
+ * Экземпляр создаёт Hibernate через контейнер бинов Spring; в срезах контекста без фильтра ничего не делает.
+ */
+@RequiredArgsConstructor
+public class UserExistenceListener {
+
+    private final ObjectProvider<UserExistenceFilter> filter;
+
+    @PostPersist
+    void onPersist(User user) {
+        filter.ifAvailable(existenceFilter -> existenceFilter.added(user.getId()));
+    }
+}
@@ -1,11 +1,17 @@
 package ru.practicum.shareit.user.dto;
 
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
 import lombok.Builder;
 import lombok.Data;
 
 @Data
 @Builder
 public class NewUserRequestDto {
+    @NotBlank(message = "Имя не должно быть пустым")
     private String name;
+
+    @NotBlank(message = "Email не должен быть пустым")
+    @Email(message = "Некорректный email")
     private String email;
 }
\ No newline at end of file
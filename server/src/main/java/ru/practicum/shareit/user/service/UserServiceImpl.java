@@ -1,11 +1,16 @@
 package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserDeletedEvent;
+import ru.practicum.shareit.user.UserExistenceFilter;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.dto.NewUserRequestDto;
 import ru.practicum.shareit.user.dto.UserMapper;
@@ -13,6 +18,7 @@ import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.dto.UserUpdateRequestDto;
 
 import java.util.List;
+import java.util.Locale;
 
 @Service
 @RequiredArgsConstructor
@@ -21,37 +27,35 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserExistenceFilter userExistenceFilter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
     public UserResponseDto create(NewUserRequestDto newUserRequestDto) {
-        if (userRepository.findByEmail(newUserRequestDto.getEmail()).isPresent()) {
-            throw new ConflictException("Пользователь с email " + newUserRequestDto.getEmail() + " уже существует");
-        }
         User user = userMapper.toEntity(newUserRequestDto);
-        return userMapper.toDto(userRepository.save(user));
+        try {
+            return userMapper.toDto(userRepository.saveAndFlush(user));
+        } catch (DataIntegrityViolationException e) {
+            throw emailConflictOr(e, "Пользователь с email " + newUserRequestDto.getEmail() + " уже существует");
+        }
     }
 
     @Override
     @Transactional
     public UserResponseDto update(Long id, UserUpdateRequestDto userDto) {
-        User existingUser = userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Пользователь не найден"));
-
-        if (userDto.getEmail() != null && !userDto.getEmail().equals(existingUser.getEmail())) {
-            userRepository.findByEmail(userDto.getEmail())
-                    .ifPresent(u -> {
-                        throw new ConflictException("Email уже используется другим пользователем");
-                    });
-        }
-
+        User existingUser = getUserOrThrow(id);
         userMapper.updateUserFromDto(userDto, existingUser);
-        return userMapper.toDto(userRepository.save(existingUser));
+        try {
+            return userMapper.toDto(userRepository.saveAndFlush(existingUser));
+        } catch (DataIntegrityViolationException e) {
+            throw emailConflictOr(e, "Email уже используется другим пользователем");
+        }
     }
 
     @Override
     public UserResponseDto getById(Long id) {
-        return userMapper.toDto(userRepository.findById(id).orElseThrow(() -> new NotFoundException("Пользователь не найден")));
+        return userMapper.toDto(getUserOrThrow(id));
     }
 
     @Override
@@ -63,5 +67,30 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void delete(Long id) {
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
+    }
+
+    private User getUserOrThrow(Long id) {
+        if (userExistenceFilter.isKnownMissing(id)) {
+            throw new NotFoundException("Пользователь не найден");
+        }
+        return userRepository.findById(id)
+                .orElseThrow(() -> {
+                    userExistenceFilter.markMissing(id);
+                    return new NotFoundException("Пользователь не найден");
+                });
+    }
+
+    /**
+     * Переводит нарушение {@link User#EMAIL_CONSTRAINT} в {@link ConflictException}; прочие нарушения
+     * целостности возвращает как есть.
+     */
+    private static RuntimeException emailConflictOr(DataIntegrityViolationException e, String message) {
+        if (e.getCause() instanceof ConstraintViolationException violation
+            && violation.getConstraintName() != null
+            && violation.getConstraintName().toUpperCase(Locale.ROOT).contains(User.EMAIL_CONSTRAINT)) {
+            return new ConflictException(message);
+        }
+        return e;
     }
-}
\ No newline at end of file
+}
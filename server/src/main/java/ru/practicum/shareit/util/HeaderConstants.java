@@ -2,6 +2,7 @@ package ru.practicum.shareit.util;
 
 public class HeaderConstants {
     public static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
     private HeaderConstants() {
     }
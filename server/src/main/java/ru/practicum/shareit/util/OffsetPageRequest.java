@@ -0,0 +1,96 @@
+package ru.practicum.shareit.util;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exception.ValidationException;
+
+/**
+ * Постраничный запрос по смещению {@code from} и размеру {@code size}, как их передаёт gateway.
+ * В отличие от {@code PageRequest.of(from / size, size)} не требует, чтобы {@code from} был кратен {@code size},
+ * и ограничивает размер страницы значением {@link #MAX_PAGE_SIZE}.
+ */
+@ToString
+@EqualsAndHashCode
+public final class OffsetPageRequest implements Pageable {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private final long offset;
+    private final int size;
+    private final Sort sort;
+
+    private OffsetPageRequest(long offset, int size, Sort sort) {
+        this.offset = offset;
+        this.size = size;
+        this.sort = sort;
+    }
+
+    public static OffsetPageRequest of(int from, int size) {
+        return of(from, size, Sort.unsorted());
+    }
+
+    /**
+     * Создаёт запрос страницы.
+     *
+     * @param from индекс первого элемента (неотрицательный)
+     * @param size размер страницы (положительный, урезается до {@link #MAX_PAGE_SIZE})
+     * @param sort сортировка
+     * @throws ValidationException если параметры пагинации некорректны
+     */
+    public static OffsetPageRequest of(int from, int size, Sort sort) {
+        if (from < 0) {
+            throw new ValidationException("Параметр from не может быть отрицательным");
+        }
+        if (size <= 0) {
+            throw new ValidationException("Параметр size должен быть положительным");
+        }
+        return new OffsetPageRequest(from, Math.min(size, MAX_PAGE_SIZE), sort);
+    }
+
+    @Override
+    public int getPageNumber() {
+        return (int) (offset / size);
+    }
+
+    @Override
+    public int getPageSize() {
+        return size;
+    }
+
+    @Override
+    public long getOffset() {
+        return offset;
+    }
+
+    @Override
+    public Sort getSort() {
+        return sort;
+    }
+
+    @Override
+    public Pageable next() {
+        return new OffsetPageRequest(offset + size, size, sort);
+    }
+
+    @Override
+    public Pageable previousOrFirst() {
+        return hasPrevious() ? new OffsetPageRequest(Math.max(0, offset - size), size, sort) : first();
+    }
+
+    @Override
+    public Pageable first() {
+        return new OffsetPageRequest(0, size, sort);
+    }
+
+    @Override
+    public Pageable withPage(int pageNumber) {
+        return new OffsetPageRequest((long) pageNumber * size, size, sort);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return offset > 0;
+    }
+}
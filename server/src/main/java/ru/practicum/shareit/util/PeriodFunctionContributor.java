@@ -0,0 +1,35 @@
+package ru.practicum.shareit.util;
+
+import org.hibernate.boot.model.FunctionContributions;
+import org.hibernate.boot.model.FunctionContributor;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.type.StandardBasicTypes;
+
+/**
+ * Регистрирует HQL-функцию {@code period_contains(start, end, moment)}: период {@code (start, end)}
+ * без границ содержит момент {@code moment}.
+ * На PostgreSQL функция превращается в {@code tsrange(start, end, '()') @> moment} и выбирается
+ * по GiST-индексам из schema.sql; на остальных СУБД (H2 в тестах) — в сравнения с колонками периода.
+ * Подключается через {@code META-INF/services/org.hibernate.boot.model.FunctionContributor}.
+ */
+public class PeriodFunctionContributor implements FunctionContributor {
+
+    public static final String PERIOD_CONTAINS = "period_contains";
+
+    static final String RANGE_PATTERN = "(tsrange(?1, ?2, '()') @> ?3)";
+    static final String COLUMNS_PATTERN = "(?1 < ?3 and ?2 > ?3)";
+
+    @Override
+    public void contributeFunctions(FunctionContributions functionContributions) {
+        String pattern = functionContributions.getDialect() instanceof PostgreSQLDialect
+                ? RANGE_PATTERN
+                : COLUMNS_PATTERN;
+        functionContributions.getFunctionRegistry()
+                .patternDescriptorBuilder(PERIOD_CONTAINS, pattern)
+                .setExactArgumentCount(3)
+                .setInvariantType(functionContributions.getTypeConfiguration()
+                        .getBasicTypeRegistry()
+                        .resolve(StandardBasicTypes.BOOLEAN))
+                .register();
+    }
+}
@@ -0,0 +1,26 @@
+package ru.practicum.shareit.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Считает SQL-запросы, подготовленные Hibernate в текущем потоке.
+ * Подключается через {@code hibernate.session_factory.statement_inspector} и используется
+ * для контроля количества запросов на страницу выдачи (поиск N+1).
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<long[]> COUNTER = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        COUNTER.get()[0]++;
+        return sql;
+    }
+
+    /**
+     * @return количество SQL-запросов, выполненных текущим потоком с момента старта
+     */
+    public static long count() {
+        return COUNTER.get()[0];
+    }
+}
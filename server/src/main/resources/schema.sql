@@ -4,9 +4,26 @@ DROP TABLE IF EXISTS items CASCADE;
 DROP TABLE IF EXISTS requests CASCADE;
 DROP TABLE IF EXISTS users CASCADE;
 
+DROP SEQUENCE IF EXISTS comments_id_seq;
+DROP SEQUENCE IF EXISTS bookings_id_seq;
+DROP SEQUENCE IF EXISTS items_id_seq;
+DROP SEQUENCE IF EXISTS requests_id_seq;
+DROP SEQUENCE IF EXISTS users_id_seq;
+
+-- btree_gist нужен для ограничения исключения по item_id (=) вместе с периодом (&&)
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Шаг последовательностей совпадает с allocationSize в @SequenceGenerator сущностей:
+-- Hibernate получает блок из 50 идентификаторов за одно обращение и может отправлять INSERT JDBC-батчами
+CREATE SEQUENCE IF NOT EXISTS users_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS requests_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS items_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS bookings_id_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS comments_id_seq START WITH 1 INCREMENT BY 50;
+
 CREATE TABLE IF NOT EXISTS users
 (
-    id    BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id    BIGINT DEFAULT nextval('users_id_seq') PRIMARY KEY,
     name  VARCHAR(255) NOT NULL,
     email VARCHAR(512) NOT NULL,
     CONSTRAINT UQ_USER_EMAIL UNIQUE (email)
@@ -14,7 +31,7 @@ CREATE TABLE IF NOT EXISTS users
 
 CREATE TABLE IF NOT EXISTS requests
 (
-    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id           BIGINT DEFAULT nextval('requests_id_seq') PRIMARY KEY,
     description  VARCHAR(1000)               NOT NULL,
     requestor_id BIGINT                      NOT NULL,
     created      TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -23,36 +40,61 @@ CREATE TABLE IF NOT EXISTS requests
 
 CREATE TABLE IF NOT EXISTS items
 (
-    id           BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
-    name         VARCHAR(255)  NOT NULL,
-    description  VARCHAR(1000) NOT NULL,
-    is_available BOOLEAN       NOT NULL,
-    owner_id     BIGINT        NOT NULL,
-    request_id   BIGINT,
+    id            BIGINT DEFAULT nextval('items_id_seq') PRIMARY KEY,
+    name          VARCHAR(255)  NOT NULL,
+    description   VARCHAR(1000) NOT NULL,
+    is_available  BOOLEAN       NOT NULL,
+    owner_id      BIGINT        NOT NULL,
+    request_id    BIGINT,
+    search_vector TSVECTOR GENERATED ALWAYS AS (
+        setweight(to_tsvector('simple', name), 'A') || setweight(to_tsvector('simple', description), 'B')
+        ) STORED,
     FOREIGN KEY (owner_id) REFERENCES users (id) ON DELETE CASCADE,
     FOREIGN KEY (request_id) REFERENCES requests (id) ON DELETE SET NULL
 );
 
 CREATE TABLE IF NOT EXISTS bookings
 (
-    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id         BIGINT DEFAULT nextval('bookings_id_seq') PRIMARY KEY,
     start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_date   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     item_id    BIGINT                      NOT NULL,
     booker_id  BIGINT                      NOT NULL,
+    -- Копия items.owner_id: списки бронирований владельца читаются по индексу без соединения с items
+    owner_id   BIGINT                      NOT NULL,
     status     VARCHAR(20)                 NOT NULL,
     FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
     FOREIGN KEY (booker_id) REFERENCES users (id) ON DELETE CASCADE,
-    CONSTRAINT valid_booking_dates CHECK (end_date > start_date)
+    FOREIGN KEY (owner_id) REFERENCES users (id) ON DELETE CASCADE,
+    CONSTRAINT valid_booking_dates CHECK (end_date > start_date),
+    CONSTRAINT no_overlapping_bookings EXCLUDE USING gist (
+        item_id WITH =,
+        tsrange(start_date, end_date) WITH &&
+        ) WHERE (status IN ('WAITING', 'APPROVED'))
 );
 
 CREATE TABLE IF NOT EXISTS comments
 (
-    id        BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    id        BIGINT DEFAULT nextval('comments_id_seq') PRIMARY KEY,
     text      VARCHAR(1000)               NOT NULL,
     item_id   BIGINT                      NOT NULL,
     author_id BIGINT                      NOT NULL,
     created   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE,
     FOREIGN KEY (author_id) REFERENCES users (id) ON DELETE CASCADE
-);
\ No newline at end of file
+);
+
+-- Индексы под пути доступа репозиториев: выборки по пользователю/вещи с сортировкой по дате
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_start ON bookings (owner_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date);
+-- Текущие бронирования (period_contains в BookingRepository): период без границ, содержащий момент запроса
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_period ON bookings USING gist (booker_id, tsrange(start_date, end_date, '()'));
+CREATE INDEX IF NOT EXISTS idx_bookings_owner_period ON bookings USING gist (owner_id, tsrange(start_date, end_date, '()'));
+CREATE INDEX IF NOT EXISTS idx_bookings_item_end ON bookings (item_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_booker_end ON bookings (item_id, booker_id, end_date);
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+CREATE INDEX IF NOT EXISTS idx_items_search ON items USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created);
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_created ON requests (requestor_id, created DESC);
@@ -0,0 +1,186 @@
+package ru.practicum.shareit;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.CommentRepository;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.storage.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.util.OffsetPageRequest;
+import ru.practicum.shareit.util.StatementRecordingInspector;
+
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.booking.Booking.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.Booking.BookingStatus.WAITING;
+import static ru.practicum.shareit.booking.dto.BookingCursor.FIRST;
+
+/**
+ * Регрессионный набор планов выполнения: для каждого запроса репозиториев, выбирающего данные
+ * по пользователю, вещи или запросу, снимается {@code EXPLAIN} на заполненной базе
+ * и проверяется, что ни одна таблица не читается полным сканированием.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@DataJpaTest
+class QueryPlanTest {
+
+    static final int USERS = 20;
+    static final int ITEMS_PER_USER = 5;
+    static final int BOOKINGS_PER_ITEM = 10;
+
+    @Autowired
+    TestEntityManager testEntityManager;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    CommentRepository commentRepository;
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
+
+    User user;
+    Item item;
+    ItemRequest request;
+    final LocalDateTime now = LocalDateTime.now();
+    final Pageable page = Pageable.ofSize(10);
+
+    @BeforeEach
+    void seed() {
+        for (int u = 0; u < USERS; u++) {
+            User owner = testEntityManager.persist(User.builder().name("user" + u).email("user" + u + "@mail.com").build());
+            ItemRequest ownerRequest = testEntityManager.persist(ItemRequest.builder()
+                    .description("request of user " + u)
+                    .requestor(owner)
+                    .created(now.minusDays(u))
+                    .build());
+            for (int i = 0; i < ITEMS_PER_USER; i++) {
+                Item ownerItem = testEntityManager.persist(Item.builder()
+                        .name("item" + i)
+                        .description("item " + i + " of user " + u)
+                        .available(true)
+                        .owner(owner)
+                        .request(user != null ? request : null)
+                        .build());
+                for (int b = 0; b < BOOKINGS_PER_ITEM; b++) {
+                    testEntityManager.persist(Booking.builder()
+                            .item(ownerItem)
+                            .booker(user != null ? user : owner)
+                            .status(b % 2 == 0 ? APPROVED : WAITING)
+                            .start(now.plusDays(b - BOOKINGS_PER_ITEM / 2))
+                            .end(now.plusDays(b - BOOKINGS_PER_ITEM / 2 + 1))
+                            .build());
+                }
+                testEntityManager.persist(Comment.builder()
+                        .text("comment")
+                        .item(ownerItem)
+                        .author(owner)
+                        .created(now)
+                        .build());
+                item = ownerItem;
+            }
+            user = owner;
+            request = ownerRequest;
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void bookerBookingQueriesUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findByBookerId(user.getId(), FIRST.start(), FIRST.id(), page));
+        assertNoFullScan(() -> bookingRepository.findByBookerIdAndStatus(
+                user.getId(), WAITING, FIRST.start(), FIRST.id(), page));
+        assertNoFullScan(() -> bookingRepository.findCurrentByBookerId(
+                user.getId(), now, FIRST.start(), FIRST.id(), page));
+        assertNoFullScan(() -> bookingRepository.findPastByBookerId(user.getId(), now, FIRST.start(), FIRST.id(), page));
+        assertNoFullScan(() -> bookingRepository.findFutureByBookerId(
+                user.getId(), now, FIRST.start(), FIRST.id(), page));
+    }
+
+    @Test
+    void ownerBookingQueriesUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findByOwnerId(user.getId(), FIRST.start(), FIRST.id(), page));
+        assertNoFullScan(() -> bookingRepository.findByOwnerIdAndStatus(
+                user.getId(), WAITING, FIRST.start(), FIRST.id(), page));
+        assertNoFullScan(() -> bookingRepository.findCurrentByOwnerId(
+                user.getId(), now, FIRST.start(), FIRST.id(), page));
+        assertNoFullScan(() -> bookingRepository.findPastByOwnerId(user.getId(), now, FIRST.start(), FIRST.id(), page));
+        assertNoFullScan(() -> bookingRepository.findFutureByOwnerId(
+                user.getId(), now, FIRST.start(), FIRST.id(), page));
+    }
+
+    @Test
+    void itemBookingQueriesUseIndex() {
+        assertNoFullScan(() -> bookingRepository.findByItemIdOrderByStartAsc(item.getId()));
+        assertNoFullScan(() -> bookingRepository.existsOverlapping(item.getId(), now, now.plusDays(1),
+                EnumSet.of(APPROVED, WAITING)));
+        assertNoFullScan(() -> bookingRepository.existsFinishedBooking(item.getId(), user.getId(), APPROVED, now));
+        assertNoFullScan(() -> bookingRepository.findPeriodsByItemId(item.getId(), now, now.plusDays(30),
+                EnumSet.of(APPROVED, WAITING)));
+        assertNoFullScan(() -> bookingRepository.findLastBookingsByItemIds(List.of(item.getId(), item.getId() - 1), now));
+        assertNoFullScan(() -> bookingRepository.findNextBookingsByItemIds(List.of(item.getId(), item.getId() - 1), now));
+    }
+
+    @Test
+    void itemQueriesUseIndex() {
+        assertNoFullScan(() -> itemRepository.findByOwnerId(user.getId(), OffsetPageRequest.of(0, 10, Sort.by("id"))));
+        assertNoFullScan(() -> itemRepository.findByRequestId(request.getId()));
+        assertNoFullScan(() -> itemRepository.findByRequestIdIn(List.of(request.getId())));
+    }
+
+    @Test
+    void commentQueriesUseIndex() {
+        assertNoFullScan(() -> commentRepository.findByItemId(item.getId()));
+        assertNoFullScan(() -> commentRepository.findByItemIdIn(List.of(item.getId(), item.getId() - 1)));
+    }
+
+    @Test
+    void requestQueriesUseIndex() {
+        assertNoFullScan(() -> itemRequestRepository.findByRequestorIdOrderByCreatedDesc(user.getId()));
+    }
+
+    private void assertNoFullScan(Runnable query) {
+        query.run();
+        String sql = StatementRecordingInspector.lastStatement();
+        String plan = explain(sql);
+
+        assertThat(plan)
+                .as("План запроса%n%s%nсодержит полное сканирование таблицы:%n%s", sql, plan)
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    private String explain(String sql) {
+        int parameters = (int) sql.chars().filter(c -> c == '?').count();
+        return jdbcTemplate.query("EXPLAIN " + sql, statement -> {
+            for (int i = 1; i <= parameters; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+        }, resultSet -> {
+            StringBuilder plan = new StringBuilder();
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append(System.lineSeparator());
+            }
+            return plan.toString();
+        });
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.Benchmark;
+import ru.practicum.shareit.util.QueryCountInspector;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Вставка бронирований пачками: идентификаторы выдаются последовательностью блоками,
+ * поэтому Hibernate группирует INSERT в JDBC-батчи.
+ * Замер скорости массовой записи включается флагом {@code -Dshareit.benchmark=true}.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingBatchInsertTest {
+
+    static final int CHUNK_SIZE = 1_000;
+    static final int BENCHMARK_BOOKINGS = 100_000;
+
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    User booker;
+    Item item;
+
+    @BeforeEach
+    void init() {
+        User owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        booker = userRepository.save(User.builder().name("booker").email("booker@mail.com").build());
+        item = itemRepository.save(Item.builder()
+                .name("drill")
+                .description("cordless drill")
+                .available(true)
+                .owner(owner)
+                .build());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void insertsAreSentInBatches() {
+        long before = QueryCountInspector.count();
+        insertChunk(0, 200);
+        long statements = QueryCountInspector.count() - before;
+
+        assertThat(bookingRepository.count()).isEqualTo(200);
+        assertThat(statements).isLessThan(20);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+    void bulkInsertThroughput() {
+        insertChunk(0, CHUNK_SIZE);
+
+        long nanos = Benchmark.nanos(() -> {
+            for (int offset = CHUNK_SIZE; offset <= BENCHMARK_BOOKINGS; offset += CHUNK_SIZE) {
+                insertChunk(offset, CHUNK_SIZE);
+            }
+        });
+
+        Benchmark.report("Bulk insert: {} bookings in {} ms, {} rows/sec",
+                BENCHMARK_BOOKINGS, nanos / 1_000_000, Benchmark.perSecond(BENCHMARK_BOOKINGS, nanos));
+        assertThat(bookingRepository.count()).isEqualTo(BENCHMARK_BOOKINGS + CHUNK_SIZE);
+    }
+
+    private void insertChunk(int offset, int count) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Item itemRef = entityManager.getReference(Item.class, item.getId());
+            User bookerRef = entityManager.getReference(User.class, booker.getId());
+            LocalDateTime base = LocalDateTime.of(2030, 1, 1, 0, 0);
+            List<Booking> bookings = new ArrayList<>(count);
+            for (int i = offset; i < offset + count; i++) {
+                bookings.add(Booking.builder()
+                        .item(itemRef)
+                        .booker(bookerRef)
+                        .status(Booking.BookingStatus.APPROVED)
+                        .start(base.plusHours(2L * i))
+                        .end(base.plusHours(2L * i + 1))
+                        .build());
+            }
+            bookingRepository.saveAll(bookings);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+}
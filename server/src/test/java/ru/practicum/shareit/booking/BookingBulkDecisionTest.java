@@ -0,0 +1,116 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingMapperImpl;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceFilter;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.util.QueryCountInspector;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Массовое подтверждение: статусы меняются множественными UPDATE, число запросов не зависит от размера списка.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@DataJpaTest
+@Import({BookingServiceImpl.class, BookingMapperImpl.class, ItemMapperImpl.class, UserMapperImpl.class,
+        UserExistenceFilter.class})
+class BookingBulkDecisionTest {
+
+    static final int BOOKINGS = 50;
+
+    @Autowired
+    BookingServiceImpl bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    TestEntityManager em;
+
+    User owner;
+    User booker;
+    Item item;
+    final List<Booking> bookings = new ArrayList<>();
+
+    @BeforeEach
+    void init() {
+        owner = em.persist(User.builder().name("owner").email("owner@mail.com").build());
+        booker = em.persist(User.builder().name("booker").email("booker@mail.com").build());
+        item = em.persist(Item.builder().name("drill").description("cordless drill").available(true).owner(owner).build());
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(em.persist(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .status(Booking.BookingStatus.WAITING)
+                    .start(base.plusHours(2L * i))
+                    .end(base.plusHours(2L * i + 1))
+                    .build()));
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void decisionsAreAppliedWithConstantQueryCount() {
+        List<BookingDecisionDto> decisions = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            decisions.add(BookingDecisionDto.builder().bookingId(bookings.get(i).getId()).approved(i % 2 == 0).build());
+        }
+
+        long before = QueryCountInspector.count();
+        List<BookingDecisionResultDto> results = bookingService.decideBookings(owner.getId(), decisions);
+        long queries = QueryCountInspector.count() - before;
+        em.clear();
+
+        assertThat(queries).isEqualTo(4);
+        assertThat(results).extracting(BookingDecisionResultDto::getOutcome)
+                .containsOnly(BookingDecisionResultDto.Outcome.APPROVED, BookingDecisionResultDto.Outcome.REJECTED);
+        assertThat(bookingRepository.findAllById(bookings.stream().map(Booking::getId).toList()))
+                .allSatisfy(booking -> assertThat(booking.getStatus()).isIn(
+                        Booking.BookingStatus.APPROVED, Booking.BookingStatus.REJECTED));
+        assertThat(bookingRepository.findById(bookings.get(0).getId()).orElseThrow().getStatus())
+                .isEqualTo(Booking.BookingStatus.APPROVED);
+        assertThat(bookingRepository.findById(bookings.get(1).getId()).orElseThrow().getStatus())
+                .isEqualTo(Booking.BookingStatus.REJECTED);
+    }
+
+    @Test
+    void foreignAndProcessedBookingsAreLeftUntouched() {
+        Long first = bookings.get(0).getId();
+        bookingService.decideBookings(owner.getId(), List.of(decision(first, true)));
+
+        List<BookingDecisionResultDto> results = bookingService.decideBookings(booker.getId(),
+                List.of(decision(bookings.get(1).getId(), true)));
+        List<BookingDecisionResultDto> repeated = bookingService.decideBookings(owner.getId(),
+                List.of(decision(first, false)));
+        em.clear();
+
+        assertThat(results.get(0).getOutcome()).isEqualTo(BookingDecisionResultDto.Outcome.FORBIDDEN);
+        assertThat(repeated.get(0).getOutcome()).isEqualTo(BookingDecisionResultDto.Outcome.CONFLICT);
+        assertThat(bookingRepository.findById(first).orElseThrow().getStatus())
+                .isEqualTo(Booking.BookingStatus.APPROVED);
+        assertThat(bookingRepository.findById(bookings.get(1).getId()).orElseThrow().getStatus())
+                .isEqualTo(Booking.BookingStatus.WAITING);
+    }
+
+    private static BookingDecisionDto decision(Long bookingId, boolean approved) {
+        return BookingDecisionDto.builder().bookingId(bookingId).approved(approved).build();
+    }
+}
@@ -0,0 +1,227 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingMapperImpl;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceFilter;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.util.Benchmark;
+import ru.practicum.shareit.util.QueryCountInspector;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BookingServiceImpl.class, BookingMapperImpl.class, ItemMapperImpl.class, UserMapperImpl.class,
+        UserExistenceFilter.class})
+class BookingConcurrencyTest {
+
+    static final int BOOKERS = 4;
+    static final int APPROVERS = 8;
+    static final int BENCHMARK_BOOKINGS = 2_000;
+
+    @Autowired
+    BookingServiceImpl bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+
+    User owner;
+    Item item;
+    final List<User> bookers = new ArrayList<>();
+
+    @BeforeEach
+    void init() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        item = itemRepository.save(Item.builder()
+                .name("Дрель")
+                .description("Ударная")
+                .available(true)
+                .owner(owner)
+                .build());
+        for (int i = 0; i < BOOKERS; i++) {
+            bookers.add(userRepository.save(User.builder().name("booker" + i).email("booker" + i + "@mail.com").build()));
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        bookingRepository.deleteAll();
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void concurrentOverlappingBookingsAreSerialized() throws Exception {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(BOOKERS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < BOOKERS; i++) {
+                User booker = bookers.get(i);
+                BookingRequestDto request = BookingRequestDto.builder()
+                        .itemId(item.getId())
+                        .start(start.plusHours(i))
+                        .end(start.plusDays(1).plusHours(i))
+                        .build();
+                results.add(executor.submit(() -> {
+                    ready.await();
+                    return bookingService.createBooking(request, booker.getId());
+                }));
+            }
+            ready.countDown();
+
+            int created = 0;
+            int conflicts = 0;
+            for (Future<?> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    created++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ConflictException.class);
+                    conflicts++;
+                }
+            }
+
+            assertThat(created).isEqualTo(1);
+            assertThat(conflicts).isEqualTo(BOOKERS - 1);
+            assertThat(bookingRepository.findAll()).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void concurrentApproveAndRejectLetExactlyOneWin() throws Exception {
+        Booking booking = waitingBookings(1).get(0);
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(APPROVERS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < APPROVERS; i++) {
+                boolean approved = i % 2 == 0;
+                results.add(executor.submit(() -> {
+                    ready.await();
+                    return bookingService.approveBooking(booking.getId(), owner.getId(), approved);
+                }));
+            }
+            ready.countDown();
+
+            int processed = 0;
+            int conflicts = 0;
+            for (Future<?> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    processed++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ConflictException.class);
+                    conflicts++;
+                }
+            }
+
+            assertThat(processed).isEqualTo(1);
+            assertThat(conflicts).isEqualTo(APPROVERS - 1);
+            assertThat(bookingRepository.findById(booking.getId()).orElseThrow().getStatus())
+                    .isIn(Booking.BookingStatus.APPROVED, Booking.BookingStatus.REJECTED);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void approvalIsConditionalUpdateAndSingleRead() {
+        Booking booking = waitingBookings(1).get(0);
+
+        long before = QueryCountInspector.count();
+        bookingService.approveBooking(booking.getId(), owner.getId(), true);
+
+        assertThat(QueryCountInspector.count() - before).isEqualTo(2);
+    }
+
+    /**
+     * Все потоки пытаются подтвердить каждое бронирование: на каждое приходится {@link #APPROVERS} конкурентов.
+     */
+    @Test
+    @EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+    void approvalThroughputUnderContention() throws Exception {
+        List<Booking> bookings = waitingBookings(BENCHMARK_BOOKINGS);
+        AtomicInteger processed = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(APPROVERS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < APPROVERS; i++) {
+                results.add(executor.submit(() -> {
+                    ready.await();
+                    for (Booking booking : bookings) {
+                        try {
+                            bookingService.approveBooking(booking.getId(), owner.getId(), true);
+                            processed.incrementAndGet();
+                        } catch (ConflictException e) {
+                            conflicts.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            long nanos = Benchmark.nanos(() -> {
+                ready.countDown();
+                for (Future<?> result : results) {
+                    result.get(5, TimeUnit.MINUTES);
+                }
+            });
+
+            Benchmark.report("Approve under contention: {} threads, {} calls in {} ms, {} calls/sec",
+                    APPROVERS, APPROVERS * BENCHMARK_BOOKINGS, nanos / 1_000_000,
+                    Benchmark.perSecond(APPROVERS * BENCHMARK_BOOKINGS, nanos));
+            assertThat(processed.get()).isEqualTo(BENCHMARK_BOOKINGS);
+            assertThat(conflicts.get()).isEqualTo((APPROVERS - 1) * BENCHMARK_BOOKINGS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<Booking> waitingBookings(int count) {
+        LocalDateTime base = LocalDateTime.now().plusYears(1);
+        List<Booking> bookings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            bookings.add(Booking.builder()
+                    .item(item)
+                    .booker(bookers.get(i % BOOKERS))
+                    .status(Booking.BookingStatus.WAITING)
+                    .start(base.plusHours(2L * i))
+                    .end(base.plusHours(2L * i + 1))
+                    .build());
+        }
+        return bookingRepository.saveAll(bookings);
+    }
+}
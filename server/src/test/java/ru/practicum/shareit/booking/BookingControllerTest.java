@@ -7,6 +7,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionsRequestDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.service.BookingService;
@@ -27,6 +31,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import static ru.practicum.shareit.booking.Booking.BookingStatus.WAITING;
@@ -102,6 +107,34 @@ class BookingControllerTest {
         verify(bookingService, times(1)).createBooking(bookingRequestDto, user.getId());
     }
 
+    @Test
+    @SneakyThrows
+    void decideBookingsInBulk() {
+        Long ownerId = user.getId();
+        List<BookingDecisionDto> decisions = List.of(
+                BookingDecisionDto.builder().bookingId(1L).approved(true).build(),
+                BookingDecisionDto.builder().bookingId(2L).approved(false).build());
+        List<BookingDecisionResultDto> outcomes = List.of(
+                new BookingDecisionResultDto(1L, BookingDecisionResultDto.Outcome.APPROVED),
+                new BookingDecisionResultDto(2L, BookingDecisionResultDto.Outcome.CONFLICT));
+
+        when(bookingService.decideBookings(ownerId, decisions)).thenReturn(outcomes);
+
+        mvc.perform(patch("/bookings/bulk")
+                        .header(USER_ID_HEADER, ownerId)
+                        .contentType("application/json")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .content(objectMapper.writeValueAsString(
+                                BookingDecisionsRequestDto.builder().decisions(decisions).build())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId").value(1))
+                .andExpect(jsonPath("$[0].outcome").value("APPROVED"))
+                .andExpect(jsonPath("$[1].outcome").value("CONFLICT"));
+
+        verify(bookingService).decideBookings(ownerId, decisions);
+        verify(bookingService, never()).approveBooking(anyLong(), anyLong(), anyBoolean());
+    }
+
     @Test
     @SneakyThrows
     void approveBooking() {
@@ -173,6 +206,37 @@ class BookingControllerTest {
         verify(bookingService, times(1)).getBookingsByBooker(userId, "ALL", 0, 10);
     }
 
+    @Test
+    @SneakyThrows
+    void getBookingsByBookerWithCursorReturnsNextCursorForFullPage() {
+        Long userId = user.getId();
+        String cursor = new BookingCursor(LocalDateTime.of(2030, 1, 1, 12, 0), 5L).encode();
+        bookingResponseDto.setId(3L);
+        when(bookingService.getBookingsByBooker(userId, "ALL", cursor, 1)).thenReturn(List.of(bookingResponseDto));
+
+        mvc.perform(get("/bookings")
+                        .header(USER_ID_HEADER, userId)
+                        .param("size", "1")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(3L))
+                .andExpect(header().string("X-Next-Cursor", BookingCursor.after(bookingResponseDto).encode()));
+
+        verify(bookingService, never()).getBookingsByBooker(anyLong(), anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    @SneakyThrows
+    void getBookingsByOwnerDoesNotReturnNextCursorForLastPage() {
+        Long ownerId = user.getId();
+        when(bookingService.getBookingsByOwner(ownerId, "ALL", 0, 10)).thenReturn(List.of(bookingResponseDto));
+
+        mvc.perform(get("/bookings/owner")
+                        .header(USER_ID_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
     @Test
     @SneakyThrows
     void getBookingsByOwner() {
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.exception.ValidationException;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BookingCursorTest {
+
+    @Test
+    void encodedCursorIsDecodedBack() {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2030, 5, 17, 10, 15, 30, 123_000_000), 42L);
+
+        String encoded = cursor.encode();
+
+        assertThat(encoded).doesNotContain("=", "+", "/");
+        assertThat(BookingCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> BookingCursor.decode("%%%")).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> BookingCursor.decode("bm8tc2VwYXJhdG9y")).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> BookingCursor.decode("YWJjfDE")).isInstanceOf(ValidationException.class);
+    }
+}
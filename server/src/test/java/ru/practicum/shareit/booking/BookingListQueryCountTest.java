@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.booking.dto.BookingMapperImpl;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceFilter;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.util.QueryCountInspector;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@DataJpaTest
+@Import({BookingServiceImpl.class, BookingMapperImpl.class, ItemMapperImpl.class, UserMapperImpl.class, UserExistenceFilter.class})
+class BookingListQueryCountTest {
+
+    static final int BOOKINGS = 10;
+
+    @Autowired
+    BookingServiceImpl bookingService;
+    @Autowired
+    TestEntityManager testEntityManager;
+
+    User owner;
+    User booker;
+
+    @BeforeEach
+    void init() {
+        owner = testEntityManager.persist(User.builder().name("owner").email("owner@mail.com").build());
+        booker = testEntityManager.persist(User.builder().name("booker").email("booker@mail.com").build());
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        for (int i = 0; i < BOOKINGS; i++) {
+            Item item = testEntityManager.persist(Item.builder()
+                    .name("item " + i)
+                    .description("description " + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            testEntityManager.persist(Booking.builder()
+                    .item(item)
+                    .booker(booker)
+                    .status(Booking.BookingStatus.WAITING)
+                    .start(start.plusDays(i))
+                    .end(start.plusDays(i).plusHours(1))
+                    .build());
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void bookerPageIsOneSelectWithoutManagedBookings() {
+        List<BookingResponseDto> page = assertQueries(2,
+                () -> bookingService.getBookingsByBooker(booker.getId(), "ALL", 0, 20));
+
+        assertThat(page).hasSize(BOOKINGS);
+        assertThat(page.getFirst().getItem().getName()).isEqualTo("item 9");
+        assertThat(page.getFirst().getItem().getOwnerId()).isEqualTo(owner.getId());
+        assertThat(page.getFirst().getBooker().getEmail()).isEqualTo("booker@mail.com");
+        assertThat(managedEntities()).isEqualTo(1);
+    }
+
+    @Test
+    void ownerPageIsOneSelectWithoutManagedBookings() {
+        List<BookingResponseDto> page = assertQueries(2,
+                () -> bookingService.getBookingsByOwner(owner.getId(), "WAITING", 0, 20));
+
+        assertThat(page).hasSize(BOOKINGS);
+        assertThat(page).allSatisfy(booking -> assertThat(booking.getItem().getComments()).isEmpty());
+        assertThat(managedEntities()).isEqualTo(1);
+    }
+
+    private <T> T assertQueries(long expected, Supplier<T> action) {
+        long before = QueryCountInspector.count();
+        T result = action.get();
+        assertThat(QueryCountInspector.count() - before).isEqualTo(expected);
+        return result;
+    }
+
+    private int managedEntities() {
+        return testEntityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount();
+    }
+}
@@ -1,12 +1,15 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingListView;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
@@ -19,6 +22,9 @@ class BookingMapperTest {
     @Autowired
     private BookingMapper bookingMapper;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Test
     void toDto_shouldMapBookingToBookingResponseDto() {
         User booker = User.builder()
@@ -90,6 +96,7 @@ class BookingMapperTest {
         assertThat(booking.getEnd()).isEqualTo(dto.getEnd());
         assertThat(booking.getItem()).isEqualTo(item);
         assertThat(booking.getBooker()).isEqualTo(booker);
+        assertThat(booking.getOwner()).isEqualTo(item.getOwner());
     }
 
     @Test
@@ -97,4 +104,32 @@ class BookingMapperTest {
         Booking booking = bookingMapper.toEntity(null, null, null);
         assertThat(booking).isNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    void toResponseDto_shouldSerializeExactlyLikeEntityMapping() throws Exception {
+        User owner = User.builder().id(1L).name("Owner").email("owner@mail.com").build();
+        User booker = User.builder().id(10L).name("Max").email("max@mail.com").build();
+        Item item = Item.builder()
+                .id(20L)
+                .name("Drill")
+                .description("Powerful drill")
+                .available(true)
+                .owner(owner)
+                .request(ItemRequest.builder().id(30L).build())
+                .build();
+        Booking booking = Booking.builder()
+                .id(100L)
+                .start(LocalDateTime.of(2025, 7, 7, 10, 0))
+                .end(LocalDateTime.of(2025, 7, 8, 10, 0, 15))
+                .booker(booker)
+                .item(item)
+                .status(Booking.BookingStatus.APPROVED)
+                .build();
+        BookingListView view = new BookingListView(100L, booking.getStart(), booking.getEnd(),
+                Booking.BookingStatus.APPROVED, 20L, "Drill", "Powerful drill", true, 1L, 30L,
+                10L, "Max", "max@mail.com");
+
+        assertThat(objectMapper.writeValueAsString(bookingMapper.toResponseDto(view)))
+                .isEqualTo(objectMapper.writeValueAsString(bookingMapper.toDto(booking)));
+    }
+}
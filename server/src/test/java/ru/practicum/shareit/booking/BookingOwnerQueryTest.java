@@ -0,0 +1,176 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.EntityManager;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dto.BookingListView;
+import ru.practicum.shareit.booking.dto.BookingMapperImpl;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceFilter;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.util.Benchmark;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static ru.practicum.shareit.booking.dto.BookingCursor.FIRST;
+
+/**
+ * Бронирования хранят копию владельца вещи, и списки владельца фильтруются по ней.
+ * Сравнение со старым запросом через соединение с вещами на владельце со 100 000 бронирований
+ * включается флагом {@code -Dshareit.benchmark=true}.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@DataJpaTest
+@Import({BookingServiceImpl.class, BookingMapperImpl.class, ItemMapperImpl.class, UserMapperImpl.class,
+        UserExistenceFilter.class})
+class BookingOwnerQueryTest {
+
+    static final int BENCHMARK_ITEMS = 1_000;
+    static final int BENCHMARK_BOOKINGS_PER_ITEM = 100;
+    static final int BENCHMARK_ROUNDS = 200;
+    static final String FIND_BY_ITEM_OWNER = BookingListView.SELECT_FROM +
+                                             "WHERE i.owner.id = :ownerId " +
+                                             BookingRepository.ORDER_BY_START_DESC;
+
+    @Autowired
+    BookingServiceImpl bookingService;
+    @Autowired
+    BookingRepository bookingRepository;
+    @Autowired
+    TestEntityManager testEntityManager;
+    @Autowired
+    EntityManager entityManager;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    User owner;
+    User booker;
+    Item item;
+
+    @BeforeEach
+    void init() {
+        owner = testEntityManager.persist(User.builder().name("owner").email("owner@mail.com").build());
+        booker = testEntityManager.persist(User.builder().name("booker").email("booker@mail.com").build());
+        item = testEntityManager.persist(Item.builder()
+                .name("drill")
+                .description("cordless drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        testEntityManager.flush();
+    }
+
+    @Test
+    void createdBookingStoresItemOwner() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingResponseDto created = bookingService.createBooking(BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(start)
+                .end(start.plusHours(1))
+                .build(), booker.getId());
+        testEntityManager.flush();
+
+        Long ownerId = jdbcTemplate.queryForObject("SELECT owner_id FROM bookings WHERE id = ?", Long.class,
+                created.getId());
+        assertThat(ownerId).isEqualTo(owner.getId());
+    }
+
+    @Test
+    void ownerListContainsOnlyBookingsOfOwnedItems() {
+        User otherOwner = testEntityManager.persist(User.builder().name("other").email("other@mail.com").build());
+        Item otherItem = testEntityManager.persist(Item.builder()
+                .name("saw")
+                .description("circular saw")
+                .available(true)
+                .owner(otherOwner)
+                .build());
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking own = testEntityManager.persist(booking(item, start));
+        testEntityManager.persist(booking(otherItem, start));
+        testEntityManager.flush();
+        testEntityManager.clear();
+
+        List<BookingListView> page = bookingRepository.findByOwnerId(owner.getId(), FIRST.start(), FIRST.id(),
+                Pageable.ofSize(10));
+
+        assertThat(page).extracting(BookingListView::id).containsExactly(own.getId());
+        assertThat(page.getFirst().itemOwnerId()).isEqualTo(owner.getId());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+    void ownerPageLatencyWithOwnerColumnAndWithItemJoin() {
+        User otherOwner = testEntityManager.persist(User.builder().name("other").email("other@mail.com").build());
+        seedBookings(owner);
+        seedBookings(otherOwner);
+
+        Pageable page = Pageable.ofSize(10);
+        Supplier<List<BookingListView>> joinQuery = () -> entityManager
+                .createQuery(FIND_BY_ITEM_OWNER, BookingListView.class)
+                .setParameter("ownerId", owner.getId())
+                .setMaxResults(page.getPageSize())
+                .getResultList();
+        Supplier<List<BookingListView>> columnQuery = () -> bookingRepository.findByOwnerId(owner.getId(),
+                FIRST.start(), FIRST.id(), page);
+        assertThat(joinQuery.get()).hasSize(10);
+        assertThat(columnQuery.get()).hasSize(10);
+
+        long joinNanos = Benchmark.averageNanos(BENCHMARK_ROUNDS, joinQuery::get);
+        long columnNanos = Benchmark.averageNanos(BENCHMARK_ROUNDS, columnQuery::get);
+
+        Benchmark.report("Owner page of {} bookings: {} us/op with items join, {} us/op with owner_id",
+                BENCHMARK_ITEMS * BENCHMARK_BOOKINGS_PER_ITEM, joinNanos / 1000, columnNanos / 1000);
+        assertThat(columnNanos).isLessThan(joinNanos * 2);
+    }
+
+    private void seedBookings(User itemOwner) {
+        LocalDateTime start = LocalDateTime.now().minusYears(10);
+        for (int i = 0; i < BENCHMARK_ITEMS; i++) {
+            Item ownerItem = testEntityManager.persist(Item.builder()
+                    .name("item " + i)
+                    .description("item " + i + " of " + itemOwner.getName())
+                    .available(true)
+                    .owner(itemOwner)
+                    .build());
+            testEntityManager.flush();
+            List<Object[]> rows = new ArrayList<>(BENCHMARK_BOOKINGS_PER_ITEM);
+            for (int b = 0; b < BENCHMARK_BOOKINGS_PER_ITEM; b++) {
+                LocalDateTime bookingStart = start.plusHours(2L * (i * BENCHMARK_BOOKINGS_PER_ITEM + b));
+                rows.add(new Object[]{Timestamp.valueOf(bookingStart), Timestamp.valueOf(bookingStart.plusHours(1)),
+                        ownerItem.getId(), booker.getId(), itemOwner.getId(), Booking.BookingStatus.APPROVED.name()});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, owner_id, " +
+                                     "status) VALUES (NEXT VALUE FOR bookings_id_seq, ?, ?, ?, ?, ?, ?)", rows);
+        }
+        testEntityManager.clear();
+    }
+
+    private Booking booking(Item bookedItem, LocalDateTime start) {
+        return Booking.builder()
+                .item(bookedItem)
+                .booker(booker)
+                .status(Booking.BookingStatus.WAITING)
+                .start(start)
+                .end(start.plusHours(1))
+                .build();
+    }
+}
@@ -10,13 +10,20 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingListView;
+import ru.practicum.shareit.booking.dto.TimeSlot;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
 
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 import static ru.practicum.shareit.booking.Booking.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.dto.BookingCursor.FIRST;
 
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @DataJpaTest
@@ -104,51 +111,135 @@ class BookingRepositoryTest {
         bookingRepository.deleteAll();
     }
 
+    @Test
+    void findByBookerIdPagesByCursorWithoutGapsAndDuplicates() {
+        testEntityManager.flush();
+        testEntityManager.clear();
+        List<BookingListView> all = bookingRepository.findByBookerId(user.getId(), FIRST.start(), FIRST.id(), Pageable.ofSize(10));
+        List<BookingListView> paged = new ArrayList<>();
+        List<BookingListView> page = bookingRepository.findByBookerId(user.getId(), FIRST.start(), FIRST.id(), Pageable.ofSize(2));
+        while (!page.isEmpty()) {
+            paged.addAll(page);
+            BookingListView last = page.getLast();
+            page = bookingRepository.findByBookerId(user.getId(), last.start(), last.id(), Pageable.ofSize(2));
+        }
+
+        assertThat(all).hasSize(5);
+        assertThat(paged).extracting(BookingListView::id).containsExactlyElementsOf(all.stream().map(BookingListView::id).toList());
+    }
+
+    @Test
+    void existsOverlappingChecksOnlyBlockingBookings() {
+        Item otherItem = testEntityManager.persist(Item.builder()
+                .name("other")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 12, 0);
+        bookingRepository.save(Booking.builder().item(otherItem).booker(user).status(APPROVED)
+                .start(start).end(start.plusDays(2)).build());
+        bookingRepository.save(Booking.builder().item(otherItem).booker(user).status(Booking.BookingStatus.REJECTED)
+                .start(start.plusDays(5)).end(start.plusDays(6)).build());
+        var statuses = EnumSet.of(APPROVED, Booking.BookingStatus.WAITING);
+
+        assertThat(bookingRepository.existsOverlapping(otherItem.getId(), start.plusDays(1), start.plusDays(3), statuses))
+                .isTrue();
+        assertThat(bookingRepository.existsOverlapping(otherItem.getId(), start.minusDays(1), start.plusDays(3), statuses))
+                .isTrue();
+        assertThat(bookingRepository.existsOverlapping(otherItem.getId(), start.plusDays(2), start.plusDays(3), statuses))
+                .isFalse();
+        assertThat(bookingRepository.existsOverlapping(otherItem.getId(), start.minusDays(1), start, statuses))
+                .isFalse();
+        assertThat(bookingRepository.existsOverlapping(otherItem.getId(), start.plusDays(5), start.plusDays(6), statuses))
+                .isFalse();
+    }
+
+    @Test
+    void findPeriodsReturnsBlockingBookingsInWindowOrderedByStart() {
+        Item otherItem = testEntityManager.persist(Item.builder()
+                .name("other")
+                .description("description")
+                .available(true)
+                .owner(owner)
+                .build());
+        LocalDateTime start = LocalDateTime.of(2030, 1, 10, 12, 0);
+        bookingRepository.save(Booking.builder().item(otherItem).booker(user).status(Booking.BookingStatus.WAITING)
+                .start(start.plusDays(4)).end(start.plusDays(5)).build());
+        bookingRepository.save(Booking.builder().item(otherItem).booker(user).status(APPROVED)
+                .start(start).end(start.plusDays(2)).build());
+        bookingRepository.save(Booking.builder().item(otherItem).booker(user).status(Booking.BookingStatus.REJECTED)
+                .start(start.plusDays(2)).end(start.plusDays(3)).build());
+        bookingRepository.save(Booking.builder().item(otherItem).booker(user).status(APPROVED)
+                .start(start.plusDays(10)).end(start.plusDays(11)).build());
+
+        assertThat(bookingRepository.findPeriodsByItemId(otherItem.getId(), start.plusDays(1), start.plusDays(6),
+                Booking.BookingStatus.BLOCKING))
+                .containsExactly(
+                        new TimeSlot(start, start.plusDays(2)),
+                        new TimeSlot(start.plusDays(4), start.plusDays(5)));
+    }
+
     @Test
     void findAllByBookerId() {
-        var result = bookingRepository.findByBookerIdOrderByStartDesc(user.getId(), Pageable.ofSize(10));
+        var result = bookingRepository.findByBookerId(user.getId(), FIRST.start(), FIRST.id(), Pageable.ofSize(10));
 
         assertThat(result).hasSize(5);
-        assertThat(result.get(0).getStart()).isAfter(result.get(1).getStart());
+        assertThat(result.get(0).start()).isAfter(result.get(1).start());
     }
 
     @Test
     void findAllCurrentBookingsByBookerId() {
         var now = LocalDateTime.now();
-        var result = bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(
-                user.getId(), now, now, Pageable.ofSize(10)
+        var result = bookingRepository.findCurrentByBookerId(
+                user.getId(), now, FIRST.start(), FIRST.id(), Pageable.ofSize(10)
         );
 
         assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(booking.getId());
+        assertThat(result.get(0).id()).isEqualTo(booking.getId());
+    }
+
+    @Test
+    void currentBookingsExcludePeriodBoundaries() {
+        var now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        bookingRepository.save(booking.toBuilder().id(null).start(now).end(now.plusHours(1)).build());
+        bookingRepository.save(booking.toBuilder().id(null).start(now.minusHours(1)).end(now).build());
+
+        var byBooker = bookingRepository.findCurrentByBookerId(
+                user.getId(), now, FIRST.start(), FIRST.id(), Pageable.ofSize(10));
+        var byOwner = bookingRepository.findCurrentByOwnerId(
+                owner.getId(), now, FIRST.start(), FIRST.id(), Pageable.ofSize(10));
+
+        assertThat(byBooker).extracting(BookingListView::id).containsExactly(booking.getId());
+        assertThat(byOwner).extracting(BookingListView::id).containsExactly(booking.getId());
     }
 
     @Test
     void findAllPastBookingsByBookerId() {
         var now = LocalDateTime.now();
-        var result = bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(
-                user.getId(), now, Pageable.ofSize(10));
+        var result = bookingRepository.findPastByBookerId(
+                user.getId(), now, FIRST.start(), FIRST.id(), Pageable.ofSize(10));
 
         assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(pastBooking.getId());
+        assertThat(result.get(0).id()).isEqualTo(pastBooking.getId());
     }
 
 
     @Test
     void findAllFutureBookingsByBookerId() {
         var now = LocalDateTime.now();
-        var result = bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(
-                user.getId(), now, Pageable.ofSize(10));
+        var result = bookingRepository.findFutureByBookerId(
+                user.getId(), now, FIRST.start(), FIRST.id(), Pageable.ofSize(10));
 
         assertThat(result).hasSize(3);
-        assertThat(result).extracting(Booking::getId)
+        assertThat(result).extracting(BookingListView::id)
                 .contains(futureBooking.getId(), waitingBooking.getId(), rejectedBooking.getId());
     }
 
     @Test
     void findAllApprovedBookingsByBookerId() {
-        var result = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                user.getId(), APPROVED, Pageable.ofSize(10)
+        var result = bookingRepository.findByBookerIdAndStatus(
+                user.getId(), APPROVED, FIRST.start(), FIRST.id(), Pageable.ofSize(10)
         );
 
         assertThat(result).hasSize(3); // все 3 с APPROVED
@@ -157,61 +248,73 @@ class BookingRepositoryTest {
 
     @Test
     void findAllWaitingBookingsByBookerId() {
-        var result = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                user.getId(), Booking.BookingStatus.WAITING, Pageable.ofSize(10));
+        var result = bookingRepository.findByBookerIdAndStatus(
+                user.getId(), Booking.BookingStatus.WAITING, FIRST.start(), FIRST.id(), Pageable.ofSize(10));
 
         assertThat(result).hasSize(1);
-        assertThat(result.get(0).getStatus()).isEqualTo(Booking.BookingStatus.WAITING);
+        assertThat(result.get(0).status()).isEqualTo(Booking.BookingStatus.WAITING);
     }
 
     @Test
     void findAllRejectedBookingsByBookerId() {
-        var result = bookingRepository.findByBookerIdAndStatusOrderByStartDesc(
-                user.getId(), Booking.BookingStatus.REJECTED, Pageable.ofSize(10));
+        var result = bookingRepository.findByBookerIdAndStatus(
+                user.getId(), Booking.BookingStatus.REJECTED, FIRST.start(), FIRST.id(), Pageable.ofSize(10));
 
         assertThat(result).hasSize(1);
-        assertThat(result.get(0).getStatus()).isEqualTo(Booking.BookingStatus.REJECTED);
+        assertThat(result.get(0).status()).isEqualTo(Booking.BookingStatus.REJECTED);
     }
 
 
     @Test
     void findAllByOwnerId() {
-        var result = bookingRepository.findByOwnerId(owner.getId(), Pageable.ofSize(10));
+        var result = bookingRepository.findByOwnerId(owner.getId(), FIRST.start(), FIRST.id(), Pageable.ofSize(10));
 
         assertThat(result).hasSize(5);
-        assertThat(result.get(0).getItem().getOwner().getId()).isEqualTo(owner.getId());
+        assertThat(result.get(0).itemOwnerId()).isEqualTo(owner.getId());
     }
 
 
     @Test
     void findAllCurrentBookingsByOwnerId() {
         var now = LocalDateTime.now();
-        var result = bookingRepository.findCurrentByOwnerId(owner.getId(), now, Pageable.ofSize(10));
+        var result = bookingRepository.findCurrentByOwnerId(owner.getId(), now, FIRST.start(), FIRST.id(), Pageable.ofSize(10));
 
         assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(booking.getId());
+        assertThat(result.get(0).id()).isEqualTo(booking.getId());
     }
 
 
     @Test
     void findAllPastBookingsByOwnerId() {
         var now = LocalDateTime.now();
-        var result = bookingRepository.findPastByOwnerId(owner.getId(), now, Pageable.ofSize(10));
+        var result = bookingRepository.findPastByOwnerId(owner.getId(), now, FIRST.start(), FIRST.id(), Pageable.ofSize(10));
 
         assertThat(result).hasSize(1);
-        assertThat(result.get(0).getId()).isEqualTo(pastBooking.getId());
+        assertThat(result.get(0).id()).isEqualTo(pastBooking.getId());
     }
 
     @Test
     void findAllFutureBookingsByOwnerId() {
         var now = LocalDateTime.now();
-        var result = bookingRepository.findFutureByOwnerId(owner.getId(), now, Pageable.ofSize(10));
+        var result = bookingRepository.findFutureByOwnerId(owner.getId(), now, FIRST.start(), FIRST.id(), Pageable.ofSize(10));
 
         assertThat(result).hasSize(3);
-        assertThat(result).extracting(Booking::getId)
+        assertThat(result).extracting(BookingListView::id)
                 .contains(futureBooking.getId(), waitingBooking.getId(), rejectedBooking.getId());
     }
 
+    @Test
+    void existsFinishedBookingMatchesBookerStatusAndEnd() {
+        var now = LocalDateTime.now();
+
+        assertThat(bookingRepository.existsFinishedBooking(item.getId(), user.getId(), APPROVED, now)).isTrue();
+        assertThat(bookingRepository.existsFinishedBooking(item.getId(), owner.getId(), APPROVED, now)).isFalse();
+        assertThat(bookingRepository.existsFinishedBooking(item.getId(), user.getId(), Booking.BookingStatus.WAITING,
+                now)).isFalse();
+        assertThat(bookingRepository.existsFinishedBooking(item.getId(), user.getId(), APPROVED,
+                pastBooking.getEnd().minusMinutes(1))).isFalse();
+    }
+
     @Test
     void findAllByItemIdOrderByStartAsc() {
         var result = bookingRepository.findByItemIdOrderByStartAsc(item.getId());
@@ -222,15 +325,40 @@ class BookingRepositoryTest {
 
     @Test
     void findAllWaitingBookingsByOwnerId() {
-        var result = bookingRepository.findByOwnerIdAndStatus(owner.getId(), Booking.BookingStatus.WAITING, Pageable.ofSize(10));
+        var result = bookingRepository.findByOwnerIdAndStatus(owner.getId(), Booking.BookingStatus.WAITING, FIRST.start(), FIRST.id(), Pageable.ofSize(10));
         assertThat(result).hasSize(1);
-        assertThat(result.get(0).getStatus()).isEqualTo(Booking.BookingStatus.WAITING);
+        assertThat(result.get(0).status()).isEqualTo(Booking.BookingStatus.WAITING);
     }
 
     @Test
     void findAllRejectedBookingsByOwnerId() {
-        var result = bookingRepository.findByOwnerIdAndStatus(owner.getId(), Booking.BookingStatus.REJECTED, Pageable.ofSize(10));
+        var result = bookingRepository.findByOwnerIdAndStatus(owner.getId(), Booking.BookingStatus.REJECTED, FIRST.start(), FIRST.id(), Pageable.ofSize(10));
         assertThat(result).hasSize(1);
-        assertThat(result.get(0).getStatus()).isEqualTo(Booking.BookingStatus.REJECTED);
+        assertThat(result.get(0).status()).isEqualTo(Booking.BookingStatus.REJECTED);
+    }
+
+    @Test
+    void findLastAndNextBookingsByItemIds() {
+        var now = LocalDateTime.now();
+        var last = bookingRepository.findLastBookingsByItemIds(List.of(item.getId()), now);
+        var next = bookingRepository.findNextBookingsByItemIds(List.of(item.getId()), now);
+
+        assertThat(last).hasSize(1);
+        assertThat(last.get(0).getId()).isEqualTo(pastBooking.getId());
+        assertThat(last.get(0).getItemId()).isEqualTo(item.getId());
+        assertThat(last.get(0).getBookerId()).isEqualTo(user.getId());
+        assertThat(last.get(0).getEndDate()).isBefore(now);
+
+        assertThat(next).hasSize(1);
+        assertThat(next.get(0).getId()).isEqualTo(waitingBooking.getId());
+        assertThat(next.get(0).getStartDate()).isAfter(now);
+    }
+
+    @Test
+    void findLastAndNextBookingsByItemIdsWhenItemHasNoBookings() {
+        var now = LocalDateTime.now();
+
+        assertThat(bookingRepository.findLastBookingsByItemIds(List.of(-1L), now)).isEmpty();
+        assertThat(bookingRepository.findNextBookingsByItemIds(List.of(-1L), now)).isEmpty();
     }
-}
\ No newline at end of file
+}
@@ -7,7 +7,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dto.BookingCursor;
+import ru.practicum.shareit.booking.dto.BookingDecisionDto;
+import ru.practicum.shareit.booking.dto.BookingDecisionResultDto;
+import ru.practicum.shareit.booking.dto.BookingListView;
 import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingOwnerView;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
@@ -17,17 +22,23 @@ import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceFilter;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.OffsetPageRequest;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 import static ru.practicum.shareit.booking.Booking.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.Booking.BookingStatus.REJECTED;
 import static ru.practicum.shareit.booking.Booking.BookingStatus.WAITING;
 
 @FieldDefaults(level = AccessLevel.PRIVATE)
@@ -37,6 +48,8 @@ class BookingServiceImplTest {
     @Mock
     UserRepository userRepository;
     @Mock
+    UserExistenceFilter userExistenceFilter;
+    @Mock
     ItemRepository itemRepository;
     @Mock
     BookingRepository bookingRepository;
@@ -80,6 +93,10 @@ class BookingServiceImplTest {
             .booker(user)
             .build();
 
+    final BookingListView bookingView = new BookingListView(booking.getId(), booking.getStart(), booking.getEnd(),
+            booking.getStatus(), item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+            owner.getId(), null, user.getId(), user.getName(), user.getEmail());
+
     final BookingResponseDto bookingResponseDto = BookingResponseDto.builder()
             .id(1L)
             .build();
@@ -87,7 +104,7 @@ class BookingServiceImplTest {
     @Test
     void create() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
         when(bookingMapper.toEntity(any(), any(), any())).thenReturn(booking);
         when(bookingRepository.save(any())).thenReturn(booking);
         when(bookingMapper.toDto(any())).thenReturn(bookingResponseDto);
@@ -99,6 +116,19 @@ class BookingServiceImplTest {
     }
 
 
+    @Test
+    void createWhenPeriodOverlapsExistingBookingShouldThrowConflictException() {
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.existsOverlapping(item.getId(), bookingDto.getStart(), bookingDto.getEnd(),
+                EnumSet.of(WAITING, APPROVED))).thenReturn(true);
+
+        assertThatThrownBy(() -> bookingService.createBooking(bookingDto, user.getId()))
+                .isInstanceOf(ConflictException.class)
+                .hasMessageContaining("уже забронирована");
+        verify(bookingRepository, never()).save(any());
+    }
+
     @Test
     void createWhenEndIsBeforeStartShouldThrowValidationException() {
         BookingRequestDto dto = BookingRequestDto.builder()
@@ -108,7 +138,7 @@ class BookingServiceImplTest {
                 .build();
 
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
 
         assertThatThrownBy(() -> bookingService.createBooking(dto, user.getId()))
                 .isInstanceOf(ValidationException.class)
@@ -124,7 +154,7 @@ class BookingServiceImplTest {
                 .build();
 
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(unavailableItem.getId())).thenReturn(Optional.of(unavailableItem));
+        when(itemRepository.findByIdForUpdate(unavailableItem.getId())).thenReturn(Optional.of(unavailableItem));
 
         assertThatThrownBy(() -> bookingService.createBooking(bookingDto, user.getId()))
                 .isInstanceOf(ValidationException.class)
@@ -134,7 +164,7 @@ class BookingServiceImplTest {
     @Test
     void createWhenItemOwnerEqualsBookerShouldThrowValidationException() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
 
         assertThatThrownBy(() -> bookingService.createBooking(bookingDto, owner.getId()))
                 .isInstanceOf(ValidationException.class)
@@ -143,9 +173,8 @@ class BookingServiceImplTest {
 
     @Test
     void updateWhenStatusNotApproved() {
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-
-        booking.setStatus(APPROVED);
+        when(bookingRepository.compareAndSetStatus(booking.getId(), owner.getId(), WAITING, APPROVED)).thenReturn(0);
+        when(bookingRepository.findViewById(booking.getId())).thenReturn(Optional.of(viewWithStatus(APPROVED)));
 
         assertThatThrownBy(() -> bookingService.approveBooking(booking.getId(), owner.getId(), true))
                 .isInstanceOf(ru.practicum.shareit.exception.ConflictException.class)
@@ -154,19 +183,27 @@ class BookingServiceImplTest {
 
     @Test
     void updateWhenStatusNotWaiting() {
-        Booking approvedBooking = booking.toBuilder().status(APPROVED).build();
+        when(bookingRepository.compareAndSetStatus(booking.getId(), owner.getId(), WAITING, REJECTED)).thenReturn(0);
+        when(bookingRepository.findViewById(booking.getId()))
+                .thenReturn(Optional.of(viewWithStatus(REJECTED)));
 
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(approvedBooking));
-
-        assertThatThrownBy(() -> bookingService.approveBooking(booking.getId(), owner.getId(), true))
+        assertThatThrownBy(() -> bookingService.approveBooking(booking.getId(), owner.getId(), false))
                 .isInstanceOf(ConflictException.class);
     }
 
     @Test
-    void updateWhenUserIsNotItemOwnerShouldThrowValidationException() {
-        Booking waitingBooking = booking.toBuilder().status(WAITING).build();
+    void approveWhenBookingNotFound() {
+        when(bookingRepository.compareAndSetStatus(99L, owner.getId(), WAITING, APPROVED)).thenReturn(0);
+        when(bookingRepository.findViewById(99L)).thenReturn(Optional.empty());
 
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(waitingBooking));
+        assertThatThrownBy(() -> bookingService.approveBooking(99L, owner.getId(), true))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void updateWhenUserIsNotItemOwnerShouldThrowValidationException() {
+        when(bookingRepository.compareAndSetStatus(booking.getId(), user.getId(), WAITING, APPROVED)).thenReturn(0);
+        when(bookingRepository.findViewById(booking.getId())).thenReturn(Optional.of(bookingView));
 
         assertThatThrownBy(() -> bookingService.approveBooking(booking.getId(), user.getId(), true))
                 .isInstanceOf(ValidationException.class)
@@ -208,62 +245,62 @@ class BookingServiceImplTest {
     @Test
     void getAllByBookerWhenBookingStateAll() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdOrderByStartDesc(eq(user.getId()), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findByBookerId(eq(user.getId()), any(), any(), any()))
+                .thenReturn(List.of(bookingView));
 
         List<BookingResponseDto> result = bookingService.getBookingsByBooker(user.getId(), "ALL", 0, 10);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByBookerIdOrderByStartDesc(eq(user.getId()), any());
+        verify(bookingRepository).findByBookerId(eq(user.getId()), any(), any(), any());
     }
 
 
     @Test
     void getAllByBooker_whenBookingStateCURRENT() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(eq(user.getId()), any(), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findCurrentByBookerId(eq(user.getId()), any(), any(), any(), any()))
+                .thenReturn(List.of(bookingView));
 
         List<?> result = bookingService.getBookingsByBooker(user.getId(), "CURRENT", 0, 10);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByBookerIdAndStartBeforeAndEndAfterOrderByStartDesc(eq(user.getId()), any(), any(), any());
+        verify(bookingRepository).findCurrentByBookerId(eq(user.getId()), any(), any(), any(), any());
     }
 
     @Test
     void getAllByBookerWhenBookingStatePAST() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdAndEndBeforeOrderByStartDesc(eq(user.getId()), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findPastByBookerId(eq(user.getId()), any(), any(), any(), any()))
+                .thenReturn(List.of(bookingView));
 
         List<BookingResponseDto> result = bookingService.getBookingsByBooker(user.getId(), "PAST", 0, 10);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByBookerIdAndEndBeforeOrderByStartDesc(eq(user.getId()), any(), any());
+        verify(bookingRepository).findPastByBookerId(eq(user.getId()), any(), any(), any(), any());
     }
 
     @Test
     void getAllByBookerWhenBookingStateFUTURE() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdAndStartAfterOrderByStartDesc(eq(user.getId()), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findFutureByBookerId(eq(user.getId()), any(), any(), any(), any()))
+                .thenReturn(List.of(bookingView));
 
         List<BookingResponseDto> result = bookingService.getBookingsByBooker(user.getId(), "FUTURE", 0, 10);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByBookerIdAndStartAfterOrderByStartDesc(eq(user.getId()), any(), any());
+        verify(bookingRepository).findFutureByBookerId(eq(user.getId()), any(), any(), any(), any());
     }
 
     @Test
     void getAllByBookerWhenBookingStateWAITING() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(eq(user.getId()), eq(WAITING), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findByBookerIdAndStatus(eq(user.getId()), eq(WAITING), any(), any(), any()))
+                .thenReturn(List.of(bookingView));
 
         List<BookingResponseDto> result = bookingService.getBookingsByBooker(user.getId(), "WAITING", 0, 10);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByBookerIdAndStatusOrderByStartDesc(eq(user.getId()), eq(WAITING), any());
+        verify(bookingRepository).findByBookerIdAndStatus(eq(user.getId()), eq(WAITING), any(), any(), any());
     }
 
     @Test
@@ -278,85 +315,118 @@ class BookingServiceImplTest {
     @Test
     void getAllByOwnerWhenBookingStateAll() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByOwnerId(eq(owner.getId()), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findByOwnerId(eq(owner.getId()), any(), any(), any()))
+                .thenReturn(List.of(bookingView));
 
         List<?> result = bookingService.getBookingsByOwner(owner.getId(), "ALL", 0, 10);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByOwnerId(eq(owner.getId()), any());
+        verify(bookingRepository).findByOwnerId(eq(owner.getId()), any(), any(), any());
     }
 
     @Test
     void getAllByOwnerWhenBookingStateCURRENT() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findCurrentByOwnerId(eq(owner.getId()), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findCurrentByOwnerId(eq(owner.getId()), any(), any(), any(), any()))
+                .thenReturn(List.of(bookingView));
 
         List<BookingResponseDto> result = bookingService.getBookingsByOwner(owner.getId(), "CURRENT", 0, 10);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findCurrentByOwnerId(eq(owner.getId()), any(), any());
+        verify(bookingRepository).findCurrentByOwnerId(eq(owner.getId()), any(), any(), any(), any());
     }
 
     @Test
     void getAllByOwnerWhenBookingStatePAST() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findPastByOwnerId(eq(owner.getId()), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findPastByOwnerId(eq(owner.getId()), any(), any(), any(), any()))
+                .thenReturn(List.of(bookingView));
 
         List<BookingResponseDto> result = bookingService.getBookingsByOwner(owner.getId(), "PAST", 0, 10);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findPastByOwnerId(eq(owner.getId()), any(), any());
+        verify(bookingRepository).findPastByOwnerId(eq(owner.getId()), any(), any(), any(), any());
     }
 
     @Test
     void getAllByOwnerWhenBookingStateFUTURE() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findFutureByOwnerId(eq(owner.getId()), any(), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findFutureByOwnerId(eq(owner.getId()), any(), any(), any(), any()))
+                .thenReturn(List.of(bookingView));
 
         List<BookingResponseDto> result = bookingService.getBookingsByOwner(owner.getId(), "FUTURE", 0, 10);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findFutureByOwnerId(eq(owner.getId()), any(), any());
+        verify(bookingRepository).findFutureByOwnerId(eq(owner.getId()), any(), any(), any(), any());
     }
 
     @Test
     void getAllByOwnerWhenBookingStateWAITING() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByOwnerIdAndStatus(eq(owner.getId()), eq(WAITING), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findByOwnerIdAndStatus(eq(owner.getId()), eq(WAITING), any(), any(), any()))
+                .thenReturn(List.of(bookingView));
 
         List<BookingResponseDto> result = bookingService.getBookingsByOwner(owner.getId(), "WAITING", 0, 10);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByOwnerIdAndStatus(eq(owner.getId()), eq(WAITING), any());
+        verify(bookingRepository).findByOwnerIdAndStatus(eq(owner.getId()), eq(WAITING), any(), any(), any());
     }
 
     @Test
     void getAllByOwnerWhenBookingStateREJECTED() {
         when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
-        when(bookingRepository.findByOwnerIdAndStatus(eq(owner.getId()), eq(Booking.BookingStatus.REJECTED), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findByOwnerIdAndStatus(eq(owner.getId()), eq(Booking.BookingStatus.REJECTED), any(), any(), any()))
+                .thenReturn(List.of(bookingView));
 
         List<BookingResponseDto> result = bookingService.getBookingsByOwner(owner.getId(), "REJECTED", 0, 10);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByOwnerIdAndStatus(eq(owner.getId()), eq(Booking.BookingStatus.REJECTED), any());
+        verify(bookingRepository).findByOwnerIdAndStatus(eq(owner.getId()), eq(Booking.BookingStatus.REJECTED), any(), any(), any());
     }
 
     @Test
     void getAllByBookerWhenBookingStateREJECTED() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(bookingRepository.findByBookerIdAndStatusOrderByStartDesc(eq(user.getId()), eq(Booking.BookingStatus.REJECTED), any()))
-                .thenReturn(List.of(booking));
+        when(bookingRepository.findByBookerIdAndStatus(eq(user.getId()), eq(Booking.BookingStatus.REJECTED), any(), any(), any()))
+                .thenReturn(List.of(bookingView));
 
         List<BookingResponseDto> result = bookingService.getBookingsByBooker(user.getId(), "REJECTED", 0, 10);
 
         assertThat(result).hasSize(1);
-        verify(bookingRepository).findByBookerIdAndStatusOrderByStartDesc(eq(user.getId()), eq(Booking.BookingStatus.REJECTED), any());
+        verify(bookingRepository).findByBookerIdAndStatus(eq(user.getId()), eq(Booking.BookingStatus.REJECTED), any(), any(), any());
+    }
+
+    @Test
+    void getAllByBookerWithCursorSeeksAfterCursor() {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2030, 1, 1, 12, 0), 7L);
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(bookingRepository.findPastByBookerId(eq(user.getId()), any(), eq(cursor.start()), eq(cursor.id()),
+                eq(OffsetPageRequest.of(0, 5))))
+                .thenReturn(List.of(bookingView));
+
+        List<BookingResponseDto> result = bookingService.getBookingsByBooker(user.getId(), "PAST", cursor.encode(), 5);
+
+        assertThat(result).hasSize(1);
+    }
+
+    @Test
+    void getAllByOwnerWithoutCursorStartsFromOffset() {
+        when(userRepository.findById(owner.getId())).thenReturn(Optional.of(owner));
+        when(bookingRepository.findByOwnerId(owner.getId(), BookingCursor.FIRST.start(), BookingCursor.FIRST.id(),
+                OffsetPageRequest.of(3, 2)))
+                .thenReturn(List.of(bookingView));
+
+        List<BookingResponseDto> result = bookingService.getBookingsByOwner(owner.getId(), "ALL", 3, 2);
+
+        assertThat(result).hasSize(1);
+    }
+
+    @Test
+    void getAllByOwnerWithInvalidCursorThrowsValidationException() {
+        assertThatThrownBy(() -> bookingService.getBookingsByOwner(owner.getId(), "ALL", "not a cursor", 10))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("Некорректный курсор");
+        verifyNoInteractions(bookingRepository);
     }
 
     @Test
@@ -384,7 +454,7 @@ class BookingServiceImplTest {
         Long nonExistentItemId = 999L;
 
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(nonExistentItemId)).thenReturn(Optional.empty());
+        when(itemRepository.findByIdForUpdate(nonExistentItemId)).thenReturn(Optional.empty());
 
         BookingRequestDto dto = BookingRequestDto.builder()
                 .itemId(nonExistentItemId)
@@ -399,29 +469,90 @@ class BookingServiceImplTest {
 
     @Test
     void approveBookingShouldSetStatusApproved() {
-        Booking waitingBooking = booking.toBuilder().status(WAITING).build();
-
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(waitingBooking));
-        when(bookingMapper.toDto(any())).thenReturn(bookingResponseDto);
+        BookingListView approvedView = viewWithStatus(APPROVED);
+        when(bookingRepository.compareAndSetStatus(booking.getId(), owner.getId(), WAITING, APPROVED)).thenReturn(1);
+        when(bookingRepository.findViewById(booking.getId())).thenReturn(Optional.of(approvedView));
+        when(bookingMapper.toResponseDto(approvedView)).thenReturn(bookingResponseDto);
 
         BookingResponseDto result = bookingService.approveBooking(booking.getId(), owner.getId(), true);
 
-        assertThat(result).isNotNull();
-        verify(bookingRepository).save(any());
-        assertThat(waitingBooking.getStatus()).isEqualTo(APPROVED);
+        assertThat(result).isEqualTo(bookingResponseDto);
+        verify(bookingRepository, never()).save(any());
     }
 
     @Test
     void approveBookingShouldSetStatusRejected() {
-        Booking waitingBooking = booking.toBuilder().status(WAITING).build();
-
-        when(bookingRepository.findById(booking.getId())).thenReturn(Optional.of(waitingBooking));
-        when(bookingMapper.toDto(any())).thenReturn(bookingResponseDto);
+        BookingListView rejectedView = viewWithStatus(REJECTED);
+        when(bookingRepository.compareAndSetStatus(booking.getId(), owner.getId(), WAITING, REJECTED)).thenReturn(1);
+        when(bookingRepository.findViewById(booking.getId())).thenReturn(Optional.of(rejectedView));
+        when(bookingMapper.toResponseDto(rejectedView)).thenReturn(bookingResponseDto);
 
         BookingResponseDto result = bookingService.approveBooking(booking.getId(), owner.getId(), false);
 
-        assertThat(result).isNotNull();
-        verify(bookingRepository).save(any());
-        assertThat(waitingBooking.getStatus()).isEqualTo(Booking.BookingStatus.REJECTED);
+        assertThat(result).isEqualTo(bookingResponseDto);
+        verify(bookingRepository, never()).save(any());
+    }
+
+    @Test
+    void decideBookingsReportsOutcomePerBooking() {
+        Booking waiting = booking.toBuilder().id(1L).status(WAITING).build();
+        Booking rejectedLater = booking.toBuilder().id(2L).status(WAITING).build();
+        Booking processed = booking.toBuilder().id(3L).status(APPROVED).build();
+        Booking foreign = booking.toBuilder().id(4L).status(WAITING).build();
+        Set<Long> ids = Set.of(1L, 2L, 3L, 4L, 5L);
+        when(bookingRepository.findAllByIdForUpdate(ids))
+                .thenReturn(List.of(waiting, rejectedLater, processed, foreign));
+        when(bookingRepository.findOwners(ids)).thenReturn(List.of(
+                new BookingOwnerView(1L, owner.getId()),
+                new BookingOwnerView(2L, owner.getId()),
+                new BookingOwnerView(3L, owner.getId()),
+                new BookingOwnerView(4L, user.getId())));
+
+        List<BookingDecisionResultDto> results = bookingService.decideBookings(owner.getId(), List.of(
+                decision(1L, true), decision(2L, false), decision(3L, true), decision(4L, true), decision(5L, false)));
+
+        assertThat(results).extracting(BookingDecisionResultDto::getOutcome).containsExactly(
+                BookingDecisionResultDto.Outcome.APPROVED,
+                BookingDecisionResultDto.Outcome.REJECTED,
+                BookingDecisionResultDto.Outcome.CONFLICT,
+                BookingDecisionResultDto.Outcome.FORBIDDEN,
+                BookingDecisionResultDto.Outcome.NOT_FOUND);
+        verify(bookingRepository).compareAndSetStatuses(List.of(1L), owner.getId(), WAITING, APPROVED);
+        verify(bookingRepository).compareAndSetStatuses(List.of(2L), owner.getId(), WAITING, REJECTED);
+    }
+
+    @Test
+    void decideBookingsRejectsDuplicates() {
+        assertThatThrownBy(() -> bookingService.decideBookings(owner.getId(),
+                List.of(decision(1L, true), decision(1L, false))))
+                .isInstanceOf(ValidationException.class)
+                .hasMessageContaining("несколько раз");
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void decideBookingsRejectsEmptyAndOversizedLists() {
+        List<BookingDecisionDto> tooMany = new ArrayList<>();
+        for (long id = 1; id <= 101; id++) {
+            tooMany.add(decision(id, true));
+        }
+
+        assertThatThrownBy(() -> bookingService.decideBookings(owner.getId(), List.of()))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> bookingService.decideBookings(owner.getId(), tooMany))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> bookingService.decideBookings(owner.getId(), List.of(decision(1L, null))))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(bookingRepository);
+    }
+
+    private static BookingDecisionDto decision(Long bookingId, Boolean approved) {
+        return BookingDecisionDto.builder().bookingId(bookingId).approved(approved).build();
+    }
+
+    private BookingListView viewWithStatus(Booking.BookingStatus status) {
+        return new BookingListView(booking.getId(), booking.getStart(), booking.getEnd(), status,
+                item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                owner.getId(), null, user.getId(), user.getName(), user.getEmail());
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,74 @@
+package ru.practicum.shareit.bulk;
+
+import lombok.AccessLevel;
+import lombok.SneakyThrows;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.bulk.dto.BulkImportResult;
+import ru.practicum.shareit.bulk.service.BulkImportService;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@WebMvcTest(controllers = BulkImportController.class)
+class BulkImportControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @MockBean
+    BulkImportService bulkImportService;
+
+    @Test
+    @SneakyThrows
+    void importUsersPassesRawBodyToService() {
+        String body = "{\"name\": \"a\", \"email\": \"a@mail.com\"}\n{\"name\": \"b\"";
+        BulkImportResult result = new BulkImportResult();
+        result.received();
+        result.received();
+        result.imported(1);
+        result.reject(2, "Email не должен быть пустым");
+        when(bulkImportService.importUsers(any())).thenAnswer(invocation -> {
+            InputStream stream = invocation.getArgument(0);
+            assertThat(new String(stream.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+            return result;
+        });
+
+        mockMvc.perform(post("/import/users")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.received").value(2))
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(2))
+                .andExpect(jsonPath("$.errors[0].message").value("Email не должен быть пустым"));
+    }
+
+    @Test
+    @SneakyThrows
+    void importItemsRequiresOwner() {
+        when(bulkImportService.importItems(eq(999L), any()))
+                .thenThrow(new NotFoundException("Пользователь не найден"));
+
+        mockMvc.perform(post("/import/items")
+                        .header("X-Sharer-User-Id", 999L)
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{}"))
+                .andExpect(status().isNotFound());
+    }
+}
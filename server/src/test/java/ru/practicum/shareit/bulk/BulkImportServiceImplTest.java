@@ -0,0 +1,160 @@
+package ru.practicum.shareit.bulk;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.json.AutoConfigureJson;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.bulk.dto.BulkImportError;
+import ru.practicum.shareit.bulk.dto.BulkImportResult;
+import ru.practicum.shareit.bulk.service.BulkImportServiceImpl;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.storage.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@DataJpaTest
+@AutoConfigureJson
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({BulkImportServiceImpl.class, UserMapperImpl.class, ItemMapperImpl.class})
+class BulkImportServiceImplTest {
+
+    @Autowired
+    BulkImportServiceImpl bulkImportService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    ItemRequestRepository requestRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM requests");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void importUsersRejectsInvalidLinesAndLoadsTheRest() {
+        userRepository.save(User.builder().name("existing").email("existing@mail.com").build());
+
+        BulkImportResult result = bulkImportService.importUsers(ndjson(
+                "{\"name\": \"first\", \"email\": \"first@mail.com\"}",
+                "{\"name\": \"broken\"",
+                "{\"name\": \"\", \"email\": \"blank@mail.com\"}",
+                "{\"name\": \"again\", \"email\": \"first@mail.com\"}",
+                "{\"name\": \"taken\", \"email\": \"existing@mail.com\"}",
+                "",
+                "{\"name\": \"second\", \"email\": \"second@mail.com\"}"));
+
+        assertThat(result.getReceived()).isEqualTo(6);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(4);
+        assertThat(result.getErrors()).extracting(BulkImportError::line).containsExactly(2L, 3L, 4L, 5L);
+        assertThat(userRepository.findByEmail("second@mail.com")).isPresent();
+        assertThat(userRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void importUsersAppliesSameConstraintsAsCreateEndpoint() {
+        BulkImportResult result = bulkImportService.importUsers(ndjson(
+                "{\"name\": \"dots\", \"email\": \"a@b..c\"}",
+                "{\"name\": \"hyphen\", \"email\": \"a@-b\"}",
+                "{\"name\": \" \", \"email\": \"plain\"}",
+                "{\"name\": \"valid\", \"email\": \"valid@mail.com\"}"));
+
+        assertThat(result.getImported()).isEqualTo(1);
+        assertThat(result.getErrors()).extracting(BulkImportError::line).containsExactly(1L, 2L, 3L);
+        assertThat(result.getErrors()).extracting(BulkImportError::message).containsExactly(
+                "Некорректный email", "Некорректный email", "Некорректный email; Имя не должно быть пустым");
+    }
+
+    @Test
+    void importUsersLoadsSeveralChunks() {
+        int count = 1_201;
+        String body = IntStream.range(0, count)
+                .mapToObj(i -> "{\"name\": \"user" + i + "\", \"email\": \"user" + i + "@mail.com\"}")
+                .collect(Collectors.joining("\n"));
+
+        BulkImportResult result = bulkImportService.importUsers(ndjson(body));
+
+        assertThat(result.getImported()).isEqualTo(count);
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(userRepository.count()).isEqualTo(count);
+    }
+
+    @Test
+    void chunkRejectedByDatabaseIsRetriedRecordByRecord() {
+        BulkImportResult result = bulkImportService.importUsers(ndjson(
+                "{\"name\": \"first\", \"email\": \"first@mail.com\"}",
+                "{\"name\": \"" + "x".repeat(300) + "\", \"email\": \"long@mail.com\"}",
+                "{\"name\": \"second\", \"email\": \"second@mail.com\"}"));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(BulkImportError::line).containsExactly(2L);
+        assertThat(userRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void importItemsAttachesOwnerAndKnownRequests() {
+        User owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        User requestor = userRepository.save(User.builder().name("requestor").email("requestor@mail.com").build());
+        ItemRequest request = requestRepository.save(ItemRequest.builder()
+                .description("need a drill")
+                .requestor(requestor)
+                .created(LocalDateTime.now())
+                .build());
+
+        BulkImportResult result = bulkImportService.importItems(owner.getId(), ndjson(
+                "{\"name\": \"drill\", \"description\": \"cordless\", \"available\": true, \"requestId\": "
+                + request.getId() + "}",
+                "{\"name\": \"saw\", \"description\": \"hand saw\", \"available\": false}",
+                "{\"name\": \"hammer\", \"description\": \"\", \"available\": true}",
+                "{\"name\": \"ladder\", \"description\": \"tall\"}"));
+
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getErrors()).extracting(BulkImportError::line).containsExactly(3L, 4L);
+        List<Item> items = itemRepository.findByRequestId(request.getId());
+        assertThat(items).extracting(Item::getName).containsExactly("drill");
+        assertThat(itemRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void importItemsOfUnknownOwnerThrowsNotFound() {
+        assertThatThrownBy(() -> bulkImportService.importItems(999L, ndjson("{}")))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    private static InputStream ndjson(String... lines) {
+        return new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,151 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.CommentMapperImpl;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.dto.ItemRequestUpdateDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.LikeItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceFilter;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.user.dto.UserUpdateRequestDto;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+import ru.practicum.shareit.util.QueryCountInspector;
+
+import javax.cache.CacheManager;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Кэш второго уровня: повторное чтение пользователя и вещи не идёт в базу,
+ * изменения через сервисы сразу видны, каскадное удаление вытесняет вещи владельца.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "shareit.cache.users.max-size=100",
+        "shareit.cache.users.ttl=30s"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({EntityCacheConfig.class, EntityCacheEvictor.class, UserServiceImpl.class, UserMapperImpl.class,
+        UserExistenceFilter.class, ItemServiceImpl.class, ItemMapperImpl.class, CommentMapperImpl.class,
+        LikeItemSearchEngine.class})
+class EntityCacheTest {
+
+    @Autowired
+    UserServiceImpl userService;
+    @Autowired
+    ItemServiceImpl itemService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    CacheManager entityCacheManager;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    User owner;
+    Item item;
+
+    @BeforeEach
+    void init() {
+        owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        item = itemRepository.save(Item.builder()
+                .name("drill")
+                .description("cordless drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM users");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void repeatedUserLookupIsServedFromCache() {
+        userService.getById(owner.getId());
+        long hitsBefore = region(EntityCacheConfig.USERS).getHitCount();
+
+        long before = QueryCountInspector.count();
+        assertThat(userService.getById(owner.getId()).getName()).isEqualTo("owner");
+
+        assertThat(QueryCountInspector.count() - before).isZero();
+        assertThat(region(EntityCacheConfig.USERS).getHitCount()).isEqualTo(hitsBefore + 1);
+    }
+
+    @Test
+    void userUpdateIsVisibleWithoutDatabaseRead() {
+        userService.getById(owner.getId());
+        userService.update(owner.getId(), UserUpdateRequestDto.builder().name("renamed").build());
+
+        long before = QueryCountInspector.count();
+        assertThat(userService.getById(owner.getId()).getName()).isEqualTo("renamed");
+        assertThat(QueryCountInspector.count() - before).isZero();
+    }
+
+    @Test
+    void itemUpdateRefreshesCachedItem() {
+        itemService.getById(item.getId(), owner.getId());
+        itemService.update(item.getId(), ItemRequestUpdateDto.builder().name("hammer drill").build(), owner.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId())).isTrue();
+        assertThat(itemService.getById(item.getId(), owner.getId()).getName()).isEqualTo("hammer drill");
+    }
+
+    @Test
+    void ownerDeletionEvictsCascadedItems() {
+        itemService.getById(item.getId(), owner.getId());
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId())).isTrue();
+
+        userService.delete(owner.getId());
+
+        assertThat(entityManagerFactory.getCache().contains(Item.class, item.getId())).isFalse();
+        assertThatThrownBy(() -> itemService.getById(item.getId(), owner.getId()))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void regionsAreSizedFromProperties() {
+        @SuppressWarnings("unchecked")
+        CaffeineConfiguration<Object, Object> users = entityCacheManager.getCache(EntityCacheConfig.USERS)
+                .getConfiguration(CaffeineConfiguration.class);
+
+        assertThat(users.getMaximumSize()).isEqualTo(OptionalLong.of(100));
+        assertThat(users.getExpireAfterWrite()).isEqualTo(OptionalLong.of(Duration.ofSeconds(30).toNanos()));
+    }
+
+    private CacheRegionStatistics region(String name) {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getDomainDataRegionStatistics(name);
+    }
+}
@@ -0,0 +1,99 @@
+package ru.practicum.shareit.cache;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.user.UserController;
+import ru.practicum.shareit.user.dto.UserResponseDto;
+import ru.practicum.shareit.user.dto.UserUpdateRequestDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Ответы на GET отдельного ресурса получают ETag, повторный запрос с тем же {@code If-None-Match} — 304 без тела,
+ * а изменённый ресурс — новый ETag и полное тело.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@WebMvcTest(UserController.class)
+@Import(EtagFilterConfig.class)
+class EtagFilterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @MockBean
+    UserService userService;
+
+    @Test
+    void unchangedResourceIsNotModified() throws Exception {
+        when(userService.getById(1L)).thenReturn(user("user"));
+
+        String etag = etagOf(mockMvc.perform(get("/users/1")).andExpect(status().isOk()).andReturn());
+
+        mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void changedResourceGetsNewEtagAndBody() throws Exception {
+        when(userService.getById(1L)).thenReturn(user("user"));
+        String etag = etagOf(mockMvc.perform(get("/users/1")).andReturn());
+
+        when(userService.getById(1L)).thenReturn(user("renamed"));
+        MvcResult result = mockMvc.perform(get("/users/1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(etagOf(result)).isNotEqualTo(etag);
+        assertThat(result.getResponse().getContentAsString()).contains("renamed");
+    }
+
+    @Test
+    void listsAreNotTagged() throws Exception {
+        when(userService.getAll()).thenReturn(List.of(user("user")));
+
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+        mockMvc.perform(get("/users/"))
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void updatesAreNotTagged() throws Exception {
+        when(userService.update(eq(1L), any(UserUpdateRequestDto.class))).thenReturn(user("renamed"));
+
+        mockMvc.perform(patch("/users/1").contentType("application/json").content("{\"name\":\"renamed\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG));
+    }
+
+    private static String etagOf(MvcResult result) {
+        String etag = result.getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotBlank();
+        return etag;
+    }
+
+    private static UserResponseDto user(String name) {
+        return UserResponseDto.builder().id(1L).name(name).email("user@mail.com").build();
+    }
+}
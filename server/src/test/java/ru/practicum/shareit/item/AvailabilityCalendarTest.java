@@ -0,0 +1,60 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.TimeSlot;
+import ru.practicum.shareit.item.service.AvailabilityCalendar;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AvailabilityCalendarTest {
+
+    static final LocalDateTime DAY = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    @Test
+    void overlappingAndTouchingPeriodsAreMerged() {
+        AvailabilityCalendar calendar = AvailabilityCalendar.of(List.of(
+                slot(1, 3), slot(2, 5), slot(5, 6), slot(8, 9)));
+
+        assertThat(calendar.busy(at(0), at(24))).containsExactly(slot(1, 6), slot(8, 9));
+    }
+
+    @Test
+    void busyAndFreeAreClippedToWindow() {
+        AvailabilityCalendar calendar = AvailabilityCalendar.of(List.of(slot(1, 4), slot(6, 10)));
+
+        assertThat(calendar.busy(at(2), at(8))).containsExactly(slot(2, 4), slot(6, 8));
+        assertThat(calendar.free(at(2), at(8))).containsExactly(slot(4, 6));
+        assertThat(calendar.free(at(0), at(12))).containsExactly(slot(0, 1), slot(4, 6), slot(10, 12));
+    }
+
+    @Test
+    void emptyCalendarIsFreeWholeWindow() {
+        AvailabilityCalendar calendar = AvailabilityCalendar.of(List.of());
+
+        assertThat(calendar.busy(at(0), at(5))).isEmpty();
+        assertThat(calendar.free(at(0), at(5))).containsExactly(slot(0, 5));
+        assertThat(calendar.nextFree(at(3), Duration.ofHours(2))).isEqualTo(slot(3, 5));
+    }
+
+    @Test
+    void nextFreeSkipsGapsThatAreTooShort() {
+        AvailabilityCalendar calendar = AvailabilityCalendar.of(List.of(slot(1, 3), slot(4, 6), slot(9, 10)));
+
+        assertThat(calendar.nextFree(at(0), Duration.ofHours(1))).isEqualTo(slot(0, 1));
+        assertThat(calendar.nextFree(at(2), Duration.ofHours(1))).isEqualTo(slot(3, 4));
+        assertThat(calendar.nextFree(at(2), Duration.ofHours(3))).isEqualTo(slot(6, 9));
+        assertThat(calendar.nextFree(at(2), Duration.ofHours(4))).isEqualTo(slot(10, 14));
+    }
+
+    static TimeSlot slot(int startHour, int endHour) {
+        return new TimeSlot(at(startHour), at(endHour));
+    }
+
+    static LocalDateTime at(int hour) {
+        return DAY.plusHours(hour);
+    }
+}
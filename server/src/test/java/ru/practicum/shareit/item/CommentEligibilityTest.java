@@ -0,0 +1,140 @@
+package ru.practicum.shareit.item;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.item.dto.CommentMapperImpl;
+import ru.practicum.shareit.item.dto.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.LikeItemSearchEngine;
+import ru.practicum.shareit.item.service.ItemServiceImpl;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceFilter;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.Benchmark;
+import ru.practicum.shareit.util.QueryCountInspector;
+import ru.practicum.shareit.util.StatementRecordingInspector;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Проверка права на комментарий не должна зависеть от длины истории бронирований вещи.
+ * Замер времени включается флагом {@code -Dshareit.benchmark=true}; перед замером собирается статистика
+ * ({@code ANALYZE}), без которой H2 выбирает индекс наугад, поэтому тест работает вне тестовой транзакции.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ItemServiceImpl.class, ItemMapperImpl.class, CommentMapperImpl.class, LikeItemSearchEngine.class, UserExistenceFilter.class})
+class CommentEligibilityTest {
+
+    static final int BENCHMARK_ROUNDS = 500;
+
+    @Autowired
+    ItemServiceImpl itemService;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    User author;
+    User otherBooker;
+    Item item;
+    LocalDateTime historyStart = LocalDateTime.now().minusYears(10);
+
+    @BeforeEach
+    void init() {
+        User owner = userRepository.save(User.builder().name("owner").email("owner@mail.com").build());
+        author = userRepository.save(User.builder().name("author").email("author@mail.com").build());
+        otherBooker = userRepository.save(User.builder().name("other").email("other@mail.com").build());
+        item = itemRepository.save(Item.builder()
+                .name("drill")
+                .description("cordless drill")
+                .available(true)
+                .owner(owner)
+                .build());
+        insertBookings(author, 1);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM comments");
+        jdbcTemplate.update("DELETE FROM bookings");
+        jdbcTemplate.update("DELETE FROM items");
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void commentQueryCountDoesNotDependOnBookingHistory() {
+        long shortHistoryQueries = countQueries(this::addComment);
+
+        insertBookings(otherBooker, 500);
+        long longHistoryQueries = countQueries(this::addComment);
+
+        assertThat(longHistoryQueries).isEqualTo(shortHistoryQueries);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+    void commentLatencyStaysFlatAsBookingHistoryGrows() {
+        insertBookings(otherBooker, 10);
+        long shortHistoryNanos = measure();
+
+        insertBookings(otherBooker, 50_000);
+        long longHistoryNanos = measure();
+
+        Benchmark.report("addComment: {} us/op with 11 bookings, {} us/op with 50011 bookings",
+                shortHistoryNanos / 1000, longHistoryNanos / 1000);
+        assertThat(longHistoryNanos).isLessThan(shortHistoryNanos * 2);
+    }
+
+    private long measure() {
+        jdbcTemplate.execute("ANALYZE");
+        return Benchmark.averageNanos(BENCHMARK_ROUNDS, this::addComment);
+    }
+
+    private void addComment() {
+        itemService.addComment(item.getId(), author.getId(), CommentRequestDto.builder().text("ok").build());
+    }
+
+    private void insertBookings(User booker, int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime start = historyStart;
+            historyStart = historyStart.plusHours(2);
+            rows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(1)),
+                    item.getId(), booker.getId(), item.getOwner().getId(), Booking.BookingStatus.APPROVED.name()});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO bookings (id, start_date, end_date, item_id, booker_id, owner_id, " +
+                                 "status) VALUES (NEXT VALUE FOR bookings_id_seq, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    /**
+     * Считает запросы без обращений к последовательности ID: они зависят от числа комментариев,
+     * вставленных раньше, а не от истории бронирований.
+     */
+    private long countQueries(Runnable action) {
+        long before = QueryCountInspector.count() - StatementRecordingInspector.sequenceFetches();
+        action.run();
+        return QueryCountInspector.count() - StatementRecordingInspector.sequenceFetches() - before;
+    }
+}
@@ -67,4 +67,13 @@ class CommentRepositoryTest {
         assertEquals(1, comments.size());
         assertEquals("comment", comments.get(0).getText());
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllByItemIdIn() {
+        List<Comment> comments = commentRepository.findByItemIdIn(List.of(item.getId(), -1L));
+
+        assertEquals(1, comments.size());
+        assertEquals(item.getId(), comments.get(0).getItem().getId());
+        assertEquals("name", comments.get(0).getAuthor().getName());
+    }
+}
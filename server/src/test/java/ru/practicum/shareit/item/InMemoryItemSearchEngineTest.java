@@ -0,0 +1,181 @@
+package ru.practicum.shareit.item;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.InMemoryItemSearchEngine;
+import ru.practicum.shareit.item.search.ItemChangedEvent;
+import ru.practicum.shareit.item.search.LikeItemSearchEngine;
+import ru.practicum.shareit.item.search.SearchQuery;
+import ru.practicum.shareit.item.storage.ItemRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserDeletedEvent;
+import ru.practicum.shareit.util.OffsetPageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@DataJpaTest
+@Import(LikeItemSearchEngine.class)
+class InMemoryItemSearchEngineTest {
+
+    static final List<String> WORDS = List.of("дрель", "дрезина", "пила", "пилон", "молоток", "молоко",
+            "лестница", "лес", "drill", "drive", "saw", "ladder", "шуруповёрт", "аккумулятор", "аккорд");
+    static final List<String> SEPARATORS = List.of(" ", " ", "-", ", ", " (", ") ", "/", "«", "» ", " — ", "_");
+
+    @Autowired
+    LikeItemSearchEngine sqlEngine;
+    @Autowired
+    ItemRepository itemRepository;
+    @Autowired
+    TestEntityManager testEntityManager;
+
+    InMemoryItemSearchEngine memoryEngine;
+    User owner;
+
+    @BeforeEach
+    void init() {
+        owner = testEntityManager.persist(User.builder().name("owner").email("owner@mail.com").build());
+        memoryEngine = new InMemoryItemSearchEngine(itemRepository);
+    }
+
+    @Test
+    void returnsSameResultsAsSqlSearch() {
+        Random random = new Random(42);
+        for (int i = 0; i < 150; i++) {
+            save(randomText(random, 2), randomText(random, 5), random.nextInt(5) > 0);
+        }
+        testEntityManager.flush();
+        memoryEngine.rebuild();
+
+        List<String> queries = new ArrayList<>();
+        for (String word : WORDS) {
+            for (int length = 1; length <= word.length(); length++) {
+                queries.add(word.substring(0, length));
+            }
+        }
+        for (int i = 0; i < 50; i++) {
+            queries.add(WORDS.get(random.nextInt(WORDS.size())).substring(0, 2) + " " + randomText(random, 1));
+        }
+
+        for (String text : queries) {
+            SearchQuery query = SearchQuery.parse(text);
+            for (int from : new int[]{0, 7}) {
+                OffsetPageRequest page = OffsetPageRequest.of(from, OffsetPageRequest.MAX_PAGE_SIZE);
+                assertThat(memoryEngine.search(query, page))
+                        .as("Поиск '%s' с from=%d", text, from)
+                        .extracting(Item::getId)
+                        .containsExactlyElementsOf(sqlEngine.search(query, page).stream().map(Item::getId).toList());
+            }
+        }
+    }
+
+    @Test
+    void forgetsItemsOfDeletedOwner() {
+        User other = testEntityManager.persist(User.builder().name("other").email("other@mail.com").build());
+        save("Дрель", "Ударная", true);
+        save("Дрель-шуруповёрт", "Аккумуляторная", true);
+        Item kept = testEntityManager.persist(Item.builder()
+                .name("Дрель").description("Сетевая").available(true).owner(other).build());
+        testEntityManager.flush();
+        memoryEngine.rebuild();
+
+        deleteOwner();
+        memoryEngine.onUserDeleted(new UserDeletedEvent(owner.getId()));
+
+        assertThat(ids("дрел")).containsExactly(kept.getId());
+        assertThat(ids("шуруп")).isEmpty();
+    }
+
+    @Test
+    void fillsPageWhenIndexedItemsAreGoneFromDatabase() {
+        User other = testEntityManager.persist(User.builder().name("other").email("other@mail.com").build());
+        for (int i = 0; i < 3; i++) {
+            save("Пила " + i, "Ручная", true);
+        }
+        List<Long> kept = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            kept.add(testEntityManager.persist(Item.builder()
+                    .name("Пила " + i).description("Ручная").available(true).owner(other).build()).getId());
+        }
+        testEntityManager.flush();
+        memoryEngine.rebuild();
+
+        // Удаление без события: индекс узнаёт о нём только по отсутствию вещей в БД
+        deleteOwner();
+
+        assertThat(memoryEngine.search(SearchQuery.parse("пила"), OffsetPageRequest.of(0, 2)))
+                .extracting(Item::getId)
+                .containsExactlyElementsOf(kept.subList(0, 2));
+        assertThat(ids("пила")).containsExactlyElementsOf(kept);
+    }
+
+    @Test
+    void followsItemChanges() {
+        Item drill = save("Дрель", "Ударная", true);
+        testEntityManager.flush();
+        memoryEngine.rebuild();
+
+        Item saw = save("Пила", "Ручная", true);
+        memoryEngine.onItemChanged(ItemChangedEvent.of(saw));
+        assertThat(ids("пил")).containsExactly(saw.getId());
+
+        drill.setName("Перфоратор");
+        memoryEngine.onItemChanged(ItemChangedEvent.of(drill));
+        assertThat(ids("дрел")).isEmpty();
+        assertThat(ids("перф удар")).containsExactly(drill.getId());
+
+        drill.setAvailable(false);
+        memoryEngine.onItemChanged(ItemChangedEvent.of(drill));
+        assertThat(ids("перф")).isEmpty();
+
+        drill.setAvailable(true);
+        memoryEngine.onItemChanged(ItemChangedEvent.of(drill));
+        assertThat(ids("перф")).containsExactly(drill.getId());
+    }
+
+    private List<Long> ids(String text) {
+        return memoryEngine.search(SearchQuery.parse(text), OffsetPageRequest.of(0, 10)).stream()
+                .map(Item::getId)
+                .toList();
+    }
+
+    private static String randomText(Random random, int words) {
+        List<String> text = new ArrayList<>();
+        for (int i = 0; i < words; i++) {
+            String word = WORDS.get(random.nextInt(WORDS.size()));
+            text.add(random.nextBoolean() ? word : word.toUpperCase());
+        }
+        StringBuilder joined = new StringBuilder(text.get(0));
+        for (int i = 1; i < text.size(); i++) {
+            joined.append(SEPARATORS.get(random.nextInt(SEPARATORS.size()))).append(text.get(i));
+        }
+        return joined.toString();
+    }
+
+    private void deleteOwner() {
+        testEntityManager.getEntityManager().createNativeQuery("DELETE FROM users WHERE id = :id")
+                .setParameter("id", owner.getId())
+                .executeUpdate();
+        testEntityManager.clear();
+    }
+
+    private Item save(String name, String description, boolean available) {
+        return testEntityManager.persist(Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build());
+    }
+}
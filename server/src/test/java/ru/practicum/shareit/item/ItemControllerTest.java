@@ -11,11 +11,14 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.dto.TimeSlot;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.User;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -149,7 +152,7 @@ class ItemControllerTest {
                 .available(true)
                 .build();
 
-        when(itemService.getItemsByOwner(user.getId())).thenReturn(List.of(responseDto));
+        when(itemService.getItemsByOwner(user.getId(), 0, 10)).thenReturn(List.of(responseDto));
 
         String result = mockMvc.perform(get("/items")
                         .header("X-Sharer-User-Id", user.getId()))
@@ -174,7 +177,7 @@ class ItemControllerTest {
                 .available(true)
                 .build();
 
-        when(itemService.searchAvailable("item")).thenReturn(List.of(responseDto));
+        when(itemService.searchAvailable("item", 0, 10)).thenReturn(List.of(responseDto));
 
         String result = mockMvc.perform(get("/items/search")
                         .param("text", "item"))
@@ -188,6 +191,34 @@ class ItemControllerTest {
         assertEquals(1, items.size());
     }
 
+    @Test
+    @SneakyThrows
+    void getAllShouldPassPaginationParams() {
+        when(itemService.getItemsByOwner(user.getId(), 20, 5)).thenReturn(List.of());
+
+        mockMvc.perform(get("/items")
+                        .header("X-Sharer-User-Id", user.getId())
+                        .param("from", "20")
+                        .param("size", "5"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(itemService).getItemsByOwner(user.getId(), 20, 5);
+    }
+
+    @Test
+    @SneakyThrows
+    void searchItemsShouldPassPaginationParams() {
+        when(itemService.searchAvailable("item", 3, 7)).thenReturn(List.of());
+
+        mockMvc.perform(get("/items/search")
+                        .param("text", "item")
+                        .param("from", "3")
+                        .param("size", "7"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(itemService).searchAvailable("item", 3, 7);
+    }
+
     @Test
     @SneakyThrows
     void createCommentWhenCommentIsValidShouldReturnStatusIsOk() {
@@ -216,4 +247,49 @@ class ItemControllerTest {
         CommentResponseDto actual = objectMapper.readValue(result, CommentResponseDto.class);
         assertEquals(responseDto.getText(), actual.getText());
     }
-}
\ No newline at end of file
+
+    @Test
+    @SneakyThrows
+    void getAvailabilityShouldParseWindow() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(7);
+        TimeSlot busy = new TimeSlot(from.plusDays(1), from.plusDays(2));
+        when(itemService.getAvailability(item.getId(), from, to)).thenReturn(ItemAvailabilityDto.builder()
+                .itemId(item.getId())
+                .from(from)
+                .to(to)
+                .busy(List.of(busy))
+                .free(List.of(new TimeSlot(from, busy.start()), new TimeSlot(busy.end(), to)))
+                .build());
+
+        String result = mockMvc.perform(get("/items/{itemId}/availability", item.getId())
+                        .param("from", "2030-01-01T00:00:00")
+                        .param("to", "2030-01-08T00:00:00"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        ItemAvailabilityDto actual = objectMapper.readValue(result, ItemAvailabilityDto.class);
+        assertEquals(List.of(busy), actual.getBusy());
+        assertEquals(2, actual.getFree().size());
+    }
+
+    @Test
+    @SneakyThrows
+    void findNextFreeSlotShouldParseIsoDuration() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 10, 0);
+        TimeSlot slot = new TimeSlot(from, from.plusHours(2));
+        when(itemService.findNextFreeSlot(item.getId(), from, Duration.ofHours(2))).thenReturn(slot);
+
+        String result = mockMvc.perform(get("/items/{itemId}/availability/next-free", item.getId())
+                        .param("duration", "PT2H")
+                        .param("from", "2030-01-01T10:00:00"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        assertEquals(slot, objectMapper.readValue(result, TimeSlot.class));
+    }
+}
@@ -8,9 +8,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.util.OffsetPageRequest;
 
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
@@ -47,7 +50,7 @@ class ItemRepositoryTest {
 
     @Test
     void findByOwnerId() {
-        var result = itemRepository.findByOwnerId(user.getId());
+        var result = itemRepository.findByOwnerId(user.getId(), Pageable.ofSize(10));
 
         assertThat(result).hasSize(1);
 
@@ -55,4 +58,17 @@ class ItemRepositoryTest {
         assertThat(result.get(0).getName()).isEqualTo(item.getName());
     }
 
+    @Test
+    void findByOwnerIdShouldReturnRequestedPage() {
+        Item second = itemRepository.save(Item.builder()
+                .name("second")
+                .description("second description")
+                .available(true)
+                .owner(user)
+                .build());
+
+        var result = itemRepository.findByOwnerId(user.getId(), OffsetPageRequest.of(1, 10, Sort.by("id")));
+
+        assertThat(result).extracting(Item::getId).containsExactly(second.getId());
+    }
 }
\ No newline at end of file
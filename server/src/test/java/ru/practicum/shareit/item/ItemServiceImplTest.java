@@ -8,20 +8,32 @@ import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.web.server.ResponseStatusException;
 import ru.practicum.shareit.booking.Booking;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.dto.BookingShortView;
+import ru.practicum.shareit.booking.dto.TimeSlot;
 import ru.practicum.shareit.exception.ForbiddenException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.exception.ValidationException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemChangedEvent;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
+import ru.practicum.shareit.item.search.SearchQuery;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.item.storage.CommentRepository;
 import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceFilter;
 import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.util.OffsetPageRequest;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -30,6 +42,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @FieldDefaults(level = AccessLevel.PRIVATE)
@@ -45,9 +58,15 @@ class ItemServiceImplTest {
     @Mock
     UserRepository userRepository;
     @Mock
+    UserExistenceFilter userExistenceFilter;
+    @Mock
     ItemMapper itemMapper;
     @Mock
     CommentMapper commentMapper;
+    @Mock
+    ItemSearchEngine itemSearchEngine;
+    @Mock
+    ApplicationEventPublisher eventPublisher;
     @InjectMocks
     ItemServiceImpl itemService;
 
@@ -90,6 +109,8 @@ class ItemServiceImplTest {
 
         verify(itemRepository).save(any());
         verify(userRepository).findById(ownerId);
+        verify(eventPublisher).publishEvent(new ItemChangedEvent(savedItem.getId(), ownerId, savedItem.getName(),
+                savedItem.getDescription(), savedItem.getAvailable()));
     }
 
 
@@ -172,6 +193,7 @@ class ItemServiceImplTest {
         verify(itemRepository, times(1)).findById(itemId);
         verify(itemMapper, times(1)).updateItemFromDto(eq(updateDto), any(Item.class));
         verify(itemMapper, times(1)).toDto(any(Item.class));
+        verify(eventPublisher).publishEvent(new ItemChangedEvent(itemId, ownerId, "New name", "New desc", false));
         verifyNoMoreInteractions(itemRepository, itemMapper);
     }
 
@@ -275,19 +297,11 @@ class ItemServiceImplTest {
         Item item = Item.builder().id(itemId).build();
         User user = User.builder().id(userId).build();
 
-        Booking pastBooking = Booking.builder()
-                .id(1L)
-                .item(item)
-                .booker(user)
-                .start(LocalDateTime.now().minusDays(5))
-                .end(LocalDateTime.now().minusDays(1))
-                .build();
-
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
 
-        when(bookingRepository.findByItemIdOrderByStartAsc(itemId))
-                .thenReturn(List.of(pastBooking));
+        when(bookingRepository.existsFinishedBooking(eq(itemId), eq(userId), eq(Booking.BookingStatus.APPROVED), any()))
+                .thenReturn(true);
 
         when(commentRepository.save(any())).thenAnswer(invocation -> {
             Comment comment = invocation.getArgument(0);
@@ -313,7 +327,8 @@ class ItemServiceImplTest {
 
         inOrder.verify(itemRepository).findById(itemId);
         inOrder.verify(userRepository).findById(userId);
-        inOrder.verify(bookingRepository).findByItemIdOrderByStartAsc(itemId);
+        inOrder.verify(bookingRepository)
+                .existsFinishedBooking(eq(itemId), eq(userId), eq(Booking.BookingStatus.APPROVED), any());
         inOrder.verify(commentRepository).save(any(Comment.class));
         inOrder.verify(commentMapper).toDto(any(Comment.class));
 
@@ -350,7 +365,8 @@ class ItemServiceImplTest {
         when(itemRepository.findById(itemId)).thenReturn(Optional.of(item));
         when(userRepository.findById(userId)).thenReturn(Optional.of(user));
 
-        when(bookingRepository.findByItemIdOrderByStartAsc(itemId)).thenReturn(List.of());
+        when(bookingRepository.existsFinishedBooking(eq(itemId), eq(userId), eq(Booking.BookingStatus.APPROVED), any()))
+                .thenReturn(false);
 
         assertThatThrownBy(() -> itemService.addComment(itemId, userId, dto))
                 .isInstanceOf(ResponseStatusException.class)
@@ -385,21 +401,8 @@ class ItemServiceImplTest {
                 .owner(user)
                 .build();
 
-        var bookingPast = Booking.builder()
-                .id(1L)
-                .item(item)
-                .booker(user)
-                .start(now.minusDays(10))
-                .end(now.minusDays(5))
-                .build();
-
-        var bookingFuture = Booking.builder()
-                .id(2L)
-                .item(item)
-                .booker(user)
-                .start(now.plusDays(5))
-                .end(now.plusDays(10))
-                .build();
+        var bookingPast = bookingView(1L, itemId, 3L, now.minusDays(10), now.minusDays(5));
+        var bookingFuture = bookingView(2L, itemId, 3L, now.plusDays(5), now.plusDays(10));
 
         var comment = Comment.builder()
                 .id(1L)
@@ -409,9 +412,12 @@ class ItemServiceImplTest {
                 .created(now.minusDays(1))
                 .build();
 
-        when(itemRepository.findByOwnerId(ownerId)).thenReturn(List.of(item));
-        when(bookingRepository.findByItemIdOrderByStartAsc(itemId)).thenReturn(List.of(bookingPast, bookingFuture));
-        when(commentRepository.findByItemId(itemId)).thenReturn(List.of(comment));
+        when(itemRepository.findByOwnerId(eq(ownerId), any(Pageable.class))).thenReturn(List.of(item));
+        when(bookingRepository.findLastBookingsByItemIds(eq(List.of(itemId)), any(LocalDateTime.class)))
+                .thenReturn(List.of(bookingPast));
+        when(bookingRepository.findNextBookingsByItemIds(eq(List.of(itemId)), any(LocalDateTime.class)))
+                .thenReturn(List.of(bookingFuture));
+        when(commentRepository.findByItemIdIn(List.of(itemId))).thenReturn(List.of(comment));
 
         ItemResponseDto dto = ItemResponseDto.builder()
                 .id(item.getId())
@@ -429,20 +435,65 @@ class ItemServiceImplTest {
                 .created(comment.getCreated())
                 .build());
 
-        var result = itemService.getItemsByOwner(ownerId);
+        var result = itemService.getItemsByOwner(ownerId, 0, 10);
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getComments()).hasSize(1);
+        assertThat(result.get(0).getLastBooking().getId()).isEqualTo(1L);
+        assertThat(result.get(0).getLastBooking().getBookerId()).isEqualTo(3L);
+        assertThat(result.get(0).getNextBooking().getId()).isEqualTo(2L);
 
         verify(userRepository, times(1)).findById(ownerId);
-        verify(itemRepository, times(1)).findByOwnerId(ownerId);
-        verify(bookingRepository, times(1)).findByItemIdOrderByStartAsc(anyLong());
-        verify(commentRepository, times(1)).findByItemId(anyLong());
+        verify(itemRepository, times(1)).findByOwnerId(ownerId, OffsetPageRequest.of(0, 10, Sort.by("id")));
+        verify(bookingRepository, times(1)).findLastBookingsByItemIds(anyList(), any(LocalDateTime.class));
+        verify(bookingRepository, times(1)).findNextBookingsByItemIds(anyList(), any(LocalDateTime.class));
+        verify(commentRepository, times(1)).findByItemIdIn(anyList());
         verify(itemMapper, times(1)).toDto(any(Item.class));
         verify(commentMapper, times(1)).toDto(any(Comment.class));
         verifyNoMoreInteractions(userRepository, itemRepository, bookingRepository, commentRepository, itemMapper, commentMapper);
     }
 
+    @Test
+    void getItemsByOwner_whenOwnerHasNoItems_shouldNotQueryBookingsAndComments() {
+        Long ownerId = 1L;
+        when(userRepository.findById(ownerId)).thenReturn(Optional.of(User.builder().id(ownerId).build()));
+        when(itemRepository.findByOwnerId(eq(ownerId), any(Pageable.class))).thenReturn(List.of());
+
+        var result = itemService.getItemsByOwner(ownerId, 0, 10);
+
+        assertThat(result).isEmpty();
+        verifyNoInteractions(bookingRepository, commentRepository);
+    }
+
+    private BookingShortView bookingView(Long id, Long itemId, Long bookerId, LocalDateTime start, LocalDateTime end) {
+        return new BookingShortView() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getItemId() {
+                return itemId;
+            }
+
+            @Override
+            public Long getBookerId() {
+                return bookerId;
+            }
+
+            @Override
+            public LocalDateTime getStartDate() {
+                return start;
+            }
+
+            @Override
+            public LocalDateTime getEndDate() {
+                return end;
+            }
+        };
+    }
+
 
     @Test
     void searchAvailable_whenTextProvided_shouldReturnList() {
@@ -454,10 +505,10 @@ class ItemServiceImplTest {
                 .available(true)
                 .build();
 
-        when(itemRepository.searchAvailableByText(text)).thenReturn(List.of(item));
+        when(itemSearchEngine.search(SearchQuery.parse(text), OffsetPageRequest.of(0, 10))).thenReturn(List.of(item));
         when(itemMapper.toDto(item)).thenAnswer(i -> toDtoFromItem(i.getArgument(0)));
 
-        var result = itemService.searchAvailable(text);
+        var result = itemService.searchAvailable(text, 0, 10);
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getName()).isEqualTo("item");
@@ -465,7 +516,116 @@ class ItemServiceImplTest {
 
     @Test
     void searchAvailable_whenTextIsBlank_shouldReturnEmptyList() {
-        var result = itemService.searchAvailable("   ");
+        var result = itemService.searchAvailable("   ", 0, 10);
         assertThat(result).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void searchAvailable_whenTextHasNoWords_shouldReturnEmptyListWithoutSearching() {
+        var result = itemService.searchAvailable(" ,.!? ", 0, 10);
+
+        assertThat(result).isEmpty();
+        verifyNoInteractions(itemSearchEngine);
+    }
+
+    @Test
+    void searchAvailable_whenSizeExceedsLimit_shouldClampPageSize() {
+        when(itemSearchEngine.search(any(SearchQuery.class), any(Pageable.class))).thenReturn(List.of());
+
+        itemService.searchAvailable("Item", 0, 10_000);
+
+        verify(itemSearchEngine).search(new SearchQuery(List.of("item")),
+                OffsetPageRequest.of(0, OffsetPageRequest.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void getAvailabilityBuildsBusyAndFreeSlotsFromBookedPeriods() {
+        Long itemId = 1L;
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime to = from.plusDays(10);
+
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(Item.builder().id(itemId).build()));
+        when(bookingRepository.findPeriodsByItemId(itemId, from, to, Booking.BookingStatus.BLOCKING))
+                .thenReturn(List.of(
+                        new TimeSlot(from.minusDays(1), from.plusDays(2)),
+                        new TimeSlot(from.plusDays(1), from.plusDays(3)),
+                        new TimeSlot(from.plusDays(5), from.plusDays(6))));
+
+        ItemAvailabilityDto availability = itemService.getAvailability(itemId, from, to);
+
+        assertThat(availability.getBusy()).containsExactly(
+                new TimeSlot(from, from.plusDays(3)),
+                new TimeSlot(from.plusDays(5), from.plusDays(6)));
+        assertThat(availability.getFree()).containsExactly(
+                new TimeSlot(from.plusDays(3), from.plusDays(5)),
+                new TimeSlot(from.plusDays(6), to));
+    }
+
+    @Test
+    void getAvailabilityRejectsInvalidWindow() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        assertThatThrownBy(() -> itemService.getAvailability(1L, from, from))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> itemService.getAvailability(1L, from, from.plusYears(2)))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void getAvailabilityOfUnknownItemThrowsNotFound() {
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        when(itemRepository.findById(999L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> itemService.getAvailability(999L, from, from.plusDays(1)))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    @Test
+    void findNextFreeSlotReturnsFirstGapLongEnough() {
+        Long itemId = 1L;
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(Item.builder().id(itemId).build()));
+        when(bookingRepository.findPeriodsByItemId(itemId, from, from.plusDays(366).plusHours(2),
+                Booking.BookingStatus.BLOCKING))
+                .thenReturn(List.of(
+                        new TimeSlot(from.plusHours(1), from.plusHours(2)),
+                        new TimeSlot(from.plusHours(3), from.plusHours(5))));
+
+        TimeSlot slot = itemService.findNextFreeSlot(itemId, from, Duration.ofHours(2));
+
+        assertThat(slot).isEqualTo(new TimeSlot(from.plusHours(5), from.plusHours(7)));
+    }
+
+    @Test
+    void findNextFreeSlotRejectsNonPositiveDuration() {
+        assertThatThrownBy(() -> itemService.findNextFreeSlot(1L, LocalDateTime.now(), Duration.ZERO))
+                .isInstanceOf(ValidationException.class);
+    }
+
+    @Test
+    void findNextFreeSlotRejectsTooLongDuration() {
+        assertThatThrownBy(() -> itemService.findNextFreeSlot(1L, LocalDateTime.now(), Duration.ofHours(9999999999999L)))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> itemService.findNextFreeSlot(1L, LocalDateTime.now(), Duration.ofDays(367)))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> itemService.findNextFreeSlot(1L, LocalDateTime.MAX.minusDays(1), Duration.ofDays(1)))
+                .isInstanceOf(ValidationException.class);
+        verifyNoInteractions(itemRepository, bookingRepository);
+    }
+
+    @Test
+    void findNextFreeSlotBeyondSearchHorizonIsNotFound() {
+        Long itemId = 1L;
+        LocalDateTime from = LocalDateTime.of(2030, 1, 1, 0, 0);
+        LocalDateTime busyUntil = from.plusDays(400);
+
+        when(itemRepository.findById(itemId)).thenReturn(Optional.of(Item.builder().id(itemId).build()));
+        when(bookingRepository.findPeriodsByItemId(itemId, from, from.plusDays(367), Booking.BookingStatus.BLOCKING))
+                .thenReturn(List.of(new TimeSlot(from.minusDays(1), busyUntil)));
+
+        assertThatThrownBy(() -> itemService.findNextFreeSlot(itemId, from, Duration.ofDays(1)))
+                .isInstanceOf(NotFoundException.class);
+    }
+}
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.LikeItemSearchEngine;
+import ru.practicum.shareit.item.search.SearchQuery;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.util.OffsetPageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@DataJpaTest
+@Import(LikeItemSearchEngine.class)
+class LikeItemSearchEngineTest {
+
+    @Autowired
+    LikeItemSearchEngine searchEngine;
+    @Autowired
+    TestEntityManager testEntityManager;
+
+    User owner;
+
+    @BeforeEach
+    void init() {
+        owner = testEntityManager.persist(User.builder().name("owner").email("owner@mail.com").build());
+    }
+
+    @Test
+    void matchesWordPrefixesInNameAndDescription() {
+        Item drill = save("Дрель", "Аккумуляторная дрель-шуруповёрт", true);
+        Item hammer = save("Молоток", "Лёгкий молоток для дрели", true);
+        save("Отвёртка", "Крестовая", true);
+
+        assertThat(search("дрел")).extracting(Item::getId).containsExactly(drill.getId(), hammer.getId());
+        assertThat(search("ККУМ")).isEmpty();
+    }
+
+    @Test
+    void treatsPunctuationAsWordBoundary() {
+        Item screwdriver = save("Дрель-шуруповёрт", "Комплект (аккумулятор, зарядка)", true);
+        Item quoted = save("Набор «Мастер»", "Биты/головки", true);
+
+        assertThat(search("шуруп")).extracting(Item::getId).containsExactly(screwdriver.getId());
+        assertThat(search("аккумулятор зарядка")).extracting(Item::getId).containsExactly(screwdriver.getId());
+        assertThat(search("мастер головки")).extracting(Item::getId).containsExactly(quoted.getId());
+    }
+
+    @Test
+    void requiresEveryWordAndSkipsUnavailableItems() {
+        Item cordless = save("Дрель", "Аккумуляторная", true);
+        save("Дрель", "Сетевая", true);
+        save("Дрель", "Аккумуляторная, сломана", false);
+
+        assertThat(search("аккум дрель")).extracting(Item::getId).containsExactly(cordless.getId());
+    }
+
+    @Test
+    void ranksNameMatchesAboveDescriptionMatches() {
+        Item inDescription = save("Набор", "Пила и топор", true);
+        Item inName = save("Пила", "Ручная", true);
+        Item inBoth = save("Пила", "Пила по дереву", true);
+
+        assertThat(search("пила")).extracting(Item::getId)
+                .containsExactly(inBoth.getId(), inName.getId(), inDescription.getId());
+    }
+
+    @Test
+    void respectsPagination() {
+        Item first = save("Лестница", "Стремянка", true);
+        Item second = save("Лестница", "Раздвижная", true);
+
+        assertThat(searchEngine.search(SearchQuery.parse("лестница"), OffsetPageRequest.of(1, 1)))
+                .extracting(Item::getId)
+                .containsExactly(second.getId());
+        assertThat(searchEngine.search(SearchQuery.parse("лестница"), OffsetPageRequest.of(0, 1)))
+                .extracting(Item::getId)
+                .containsExactly(first.getId());
+    }
+
+    private List<Item> search(String text) {
+        return searchEngine.search(SearchQuery.parse(text), OffsetPageRequest.of(0, 10));
+    }
+
+    private Item save(String name, String description, boolean available) {
+        return testEntityManager.persist(Item.builder()
+                .name(name)
+                .description(description)
+                .available(available)
+                .owner(owner)
+                .build());
+    }
+}
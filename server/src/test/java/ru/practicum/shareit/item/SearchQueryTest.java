@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.search.SearchQuery;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchQueryTest {
+
+    @Test
+    void splitsTextIntoLowerCaseWordsWithoutDuplicates() {
+        SearchQuery query = SearchQuery.parse("  Дрель, ДРЕЛЬ-шуруповёрт (18V)!");
+
+        assertThat(query.tokens()).containsExactly("дрель", "шуруповёрт", "18v");
+        assertThat(query.toTsQuery()).isEqualTo("дрель:* & шуруповёрт:* & 18v:*");
+    }
+
+    @Test
+    void dropsOperatorsAndLimitsNumberOfWords() {
+        assertThat(SearchQuery.parse("a & b | !c:*").tokens()).containsExactly("a", "b", "c");
+        assertThat(SearchQuery.parse("1 2 3 4 5 6 7 8 9 10").tokens()).hasSize(SearchQuery.MAX_TOKENS);
+        assertThat(SearchQuery.parse(" %_ ").isEmpty()).isTrue();
+        assertThat(SearchQuery.parse(null).tokens()).isEqualTo(List.of());
+    }
+}
@@ -0,0 +1,87 @@
+package ru.practicum.shareit.limiter;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.UserController;
+import ru.practicum.shareit.user.dto.UserResponseDto;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.sql.DataSource;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * В режиме виртуальных потоков запросы сверх лимита ждут свободного места и по таймауту получают 503,
+ * а завершённые запросы (в том числе с ошибкой) возвращают своё место.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@WebMvcTest(value = UserController.class, properties = {
+        "spring.threads.virtual.enabled=true",
+        "shareit.db-limiter.max-concurrent-requests=1",
+        "shareit.db-limiter.acquire-timeout=200ms"
+})
+class DatabaseConcurrencyLimiterTest {
+
+    @Autowired
+    MockMvc mockMvc;
+    @Autowired
+    DatabaseConcurrencyLimiter limiter;
+    @MockBean
+    UserService userService;
+    @MockBean
+    DataSource dataSource;
+
+    @Test
+    void requestOverLimitIsRejectedAfterTimeout() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(userService.getById(anyLong())).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return UserResponseDto.builder().id(1L).name("user").email("user@mail.com").build();
+        });
+
+        CompletableFuture<Integer> slow = CompletableFuture.supplyAsync(() -> statusOf("/users/1"));
+        assertThat(entered.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(limiter.getAvailablePermits()).isZero();
+
+        mockMvc.perform(get("/users/2"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.error").value("SERVICE_UNAVAILABLE"));
+
+        release.countDown();
+        assertThat(slow.get(10, TimeUnit.SECONDS)).isEqualTo(200);
+        assertThat(limiter.getAvailablePermits()).isEqualTo(1);
+    }
+
+    @Test
+    void failedRequestReleasesPermit() throws Exception {
+        when(userService.getById(anyLong())).thenThrow(new IllegalStateException("boom"));
+
+        mockMvc.perform(get("/users/1")).andExpect(status().isInternalServerError());
+        mockMvc.perform(get("/users/1")).andExpect(status().isInternalServerError());
+
+        assertThat(limiter.getAvailablePermits()).isEqualTo(limiter.getMaxConcurrentRequests());
+    }
+
+    private int statusOf(String path) {
+        try {
+            return mockMvc.perform(get(path)).andReturn().getResponse().getStatus();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
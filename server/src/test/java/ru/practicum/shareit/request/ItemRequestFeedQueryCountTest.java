@@ -0,0 +1,94 @@
+package ru.practicum.shareit.request;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import ru.practicum.shareit.item.dto.ItemMapperImpl;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestMapperImpl;
+import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
+import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceFilter;
+import ru.practicum.shareit.util.QueryCountInspector;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@DataJpaTest
+@Import({ItemRequestServiceImpl.class, ItemRequestMapperImpl.class, ItemMapperImpl.class, UserExistenceFilter.class})
+class ItemRequestFeedQueryCountTest {
+
+    @Autowired
+    ItemRequestServiceImpl requestService;
+    @Autowired
+    TestEntityManager testEntityManager;
+
+    User requestor;
+    User reader;
+
+    @BeforeEach
+    void init() {
+        requestor = testEntityManager.persist(User.builder().name("requestor").email("requestor@mail.com").build());
+        reader = testEntityManager.persist(User.builder().name("reader").email("reader@mail.com").build());
+    }
+
+    @Test
+    void feedPageQueryCountDoesNotDependOnPageSize() {
+        createRequestsWithAnswers(1);
+        long singleRequestQueries = countQueries(() -> requestService.getAllRequests(reader.getId(), 0, 20));
+
+        createRequestsWithAnswers(9);
+        long[] pageSize = new long[1];
+        long tenRequestsQueries = countQueries(() ->
+                pageSize[0] = requestService.getAllRequests(reader.getId(), 0, 20).size());
+
+        assertThat(pageSize[0]).isEqualTo(10);
+        assertThat(tenRequestsQueries).isEqualTo(singleRequestQueries);
+    }
+
+    @Test
+    void ownFeedContainsAnswersOfEachRequest() {
+        createRequestsWithAnswers(3);
+
+        List<ItemRequestResponseDto> feed = requestService.getOwnRequests(requestor.getId());
+
+        assertThat(feed).hasSize(3);
+        assertThat(feed).allSatisfy(request -> assertThat(request.getItems()).hasSize(2));
+    }
+
+    private void createRequestsWithAnswers(int count) {
+        for (int i = 0; i < count; i++) {
+            ItemRequest request = testEntityManager.persist(ItemRequest.builder()
+                    .description("request " + i)
+                    .requestor(requestor)
+                    .created(LocalDateTime.now())
+                    .build());
+            for (int j = 0; j < 2; j++) {
+                testEntityManager.persist(Item.builder()
+                        .name("answer " + j)
+                        .description("answer to request " + i)
+                        .available(true)
+                        .owner(reader)
+                        .request(request)
+                        .build());
+            }
+        }
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    private long countQueries(Runnable action) {
+        long before = QueryCountInspector.count();
+        action.run();
+        return QueryCountInspector.count() - before;
+    }
+}
@@ -10,6 +10,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemMapper;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.storage.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestMapper;
@@ -17,6 +19,7 @@ import ru.practicum.shareit.request.dto.ItemRequestResponseDto;
 import ru.practicum.shareit.request.service.ItemRequestServiceImpl;
 import ru.practicum.shareit.request.storage.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserExistenceFilter;
 import ru.practicum.shareit.user.UserRepository;
 
 import java.time.LocalDateTime;
@@ -47,6 +50,9 @@ class RequestServiceImplTest {
     @Mock
     UserRepository userRepository;
 
+    @Mock
+    UserExistenceFilter userExistenceFilter;
+
     @InjectMocks
     ItemRequestServiceImpl requestService;
 
@@ -117,8 +123,8 @@ class RequestServiceImplTest {
         InOrder inOrder = inOrder(userRepository, requestRepository, itemRequestMapper, itemRepository, itemMapper);
         inOrder.verify(userRepository, times(1)).findById(user.getId());
         inOrder.verify(requestRepository, times(1)).findByRequestorIdOrderByCreatedDesc(user.getId());
+        inOrder.verify(itemRepository, times(1)).findByRequestIdIn(List.of(requestEntity.getId()));
         inOrder.verify(itemRequestMapper, times(1)).toDto(requestEntity);
-        inOrder.verify(itemRepository, times(1)).findByRequestId(requestEntity.getId());
         inOrder.verify(itemMapper, times(0)).toDto(any()); // Тут мы вернули пустой список, map не вызовется
 
         verifyNoMoreInteractions(userRepository, requestRepository, itemRequestMapper, itemRepository, itemMapper);
@@ -139,13 +145,45 @@ class RequestServiceImplTest {
         InOrder inOrder = inOrder(userRepository, requestRepository, itemRequestMapper, itemRepository, itemMapper);
         inOrder.verify(userRepository, times(1)).findById(user.getId());
         inOrder.verify(requestRepository, times(1)).findAllOtherUsersRequests(eq(user.getId()), any(PageRequest.class));
+        inOrder.verify(itemRepository, times(1)).findByRequestIdIn(List.of(requestEntity.getId()));
         inOrder.verify(itemRequestMapper, times(1)).toDto(requestEntity);
-        inOrder.verify(itemRepository, times(1)).findByRequestId(requestEntity.getId());
         inOrder.verify(itemMapper, times(0)).toDto(any());
 
         verifyNoMoreInteractions(userRepository, requestRepository, itemRequestMapper, itemRepository, itemMapper);
     }
 
+    @Test
+    void getAllRequestsShouldGroupItemsByRequest() {
+        var otherRequest = ru.practicum.shareit.request.ItemRequest.builder()
+                .id(11L)
+                .description("Need a ladder")
+                .requestor(user)
+                .created(LocalDateTime.now())
+                .build();
+        var otherResponse = ItemRequestResponseDto.builder()
+                .id(11L)
+                .description("Need a ladder")
+                .build();
+        var drill = Item.builder().id(100L).name("Drill").request(requestEntity).build();
+        var drillDto = ItemResponseDto.builder().id(100L).name("Drill").build();
+
+        when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+        when(requestRepository.findAllOtherUsersRequests(eq(user.getId()), any(PageRequest.class)))
+                .thenReturn(List.of(requestEntity, otherRequest));
+        when(itemRepository.findByRequestIdIn(List.of(10L, 11L))).thenReturn(List.of(drill));
+        when(itemMapper.toDto(drill)).thenReturn(drillDto);
+        when(itemRequestMapper.toDto(requestEntity)).thenReturn(responseDto);
+        when(itemRequestMapper.toDto(otherRequest)).thenReturn(otherResponse);
+
+        List<ItemRequestResponseDto> requests = requestService.getAllRequests(user.getId(), 0, 10);
+
+        assertThat(requests).extracting(ItemRequestResponseDto::getId).containsExactly(10L, 11L);
+        assertThat(requests.get(0).getItems()).containsExactly(drillDto);
+        assertThat(requests.get(1).getItems()).isEmpty();
+        verify(itemRepository, times(1)).findByRequestIdIn(anyList());
+        verifyNoMoreInteractions(itemRepository);
+    }
+
     @Test
     void getRequestById() {
         when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
@@ -0,0 +1,148 @@
+package ru.practicum.shareit.user;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.ConflictException;
+import ru.practicum.shareit.user.dto.NewUserRequestDto;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.user.dto.UserUpdateRequestDto;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+import ru.practicum.shareit.util.Benchmark;
+import ru.practicum.shareit.util.QueryCountInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Уникальность email обеспечивает ограничение {@link User#EMAIL_CONSTRAINT}: из параллельных регистраций
+ * с одним email проходит ровно одна, остальные получают 409. Замер задержки записи с проверкой
+ * {@code findByEmail} перед вставкой и без неё включается флагом {@code -Dshareit.benchmark=true}.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({UserServiceImpl.class, UserMapperImpl.class, UserExistenceFilter.class})
+class UserEmailConcurrencyTest {
+
+    static final int CLIENTS = 8;
+    static final int BENCHMARK_USERS = 2_000;
+
+    @Autowired
+    UserServiceImpl userService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void concurrentDuplicateCreatesLetExactlyOneWin() throws Exception {
+        CountDownLatch ready = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < CLIENTS; i++) {
+                NewUserRequestDto request = NewUserRequestDto.builder().name("user" + i).email("same@mail.com").build();
+                results.add(executor.submit(() -> {
+                    ready.await();
+                    return userService.create(request);
+                }));
+            }
+            ready.countDown();
+
+            int created = 0;
+            int conflicts = 0;
+            for (Future<?> result : results) {
+                try {
+                    result.get(30, TimeUnit.SECONDS);
+                    created++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ConflictException.class);
+                    conflicts++;
+                }
+            }
+
+            assertThat(created).isEqualTo(1);
+            assertThat(conflicts).isEqualTo(CLIENTS - 1);
+            assertThat(userRepository.findAll()).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void createIsSingleInsert() {
+        userService.create(NewUserRequestDto.builder().name("first").email("first@mail.com").build());
+
+        long before = QueryCountInspector.count();
+        userService.create(NewUserRequestDto.builder().name("second").email("second@mail.com").build());
+
+        assertThat(QueryCountInspector.count() - before).isEqualTo(1);
+    }
+
+    @Test
+    void updateToTakenEmailIsConflict() {
+        userService.create(NewUserRequestDto.builder().name("first").email("first@mail.com").build());
+        Long secondId = userService.create(NewUserRequestDto.builder().name("second").email("second@mail.com").build())
+                .getId();
+
+        assertThatThrownBy(() -> userService.update(secondId,
+                UserUpdateRequestDto.builder().email("first@mail.com").build()))
+                .isInstanceOf(ConflictException.class);
+        assertThat(userService.getById(secondId).getEmail()).isEqualTo("second@mail.com");
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "shareit.benchmark", matches = "true")
+    void createLatencyWithAndWithoutPreCheck() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (int i = 0; i < BENCHMARK_USERS; i++) {
+            String email = "warmup" + i + "@mail.com";
+            transaction.executeWithoutResult(status -> userRepository.findByEmail(email));
+            userService.create(NewUserRequestDto.builder().name("warmup").email("warmup-" + i + "@mail.com").build());
+        }
+
+        long checkedNanos = Benchmark.nanos(() -> {
+            for (int i = 0; i < BENCHMARK_USERS; i++) {
+                String email = "checked" + i + "@mail.com";
+                transaction.executeWithoutResult(status -> {
+                    if (userRepository.findByEmail(email).isEmpty()) {
+                        userRepository.save(User.builder().name("checked").email(email).build());
+                    }
+                });
+            }
+        }) / BENCHMARK_USERS;
+
+        long constraintNanos = Benchmark.nanos(() -> {
+            for (int i = 0; i < BENCHMARK_USERS; i++) {
+                userService.create(NewUserRequestDto.builder()
+                        .name("constraint").email("constraint" + i + "@mail.com").build());
+            }
+        }) / BENCHMARK_USERS;
+
+        Benchmark.report("User create: {} us/op with findByEmail pre-check, {} us/op with constraint only",
+                checkedNanos / 1000, constraintNanos / 1000);
+        assertThat(constraintNanos).isLessThan(checkedNanos * 2);
+    }
+}
@@ -0,0 +1,157 @@
+package ru.practicum.shareit.user;
+
+import lombok.AccessLevel;
+import lombok.experimental.FieldDefaults;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.NewUserRequestDto;
+import ru.practicum.shareit.user.dto.UserMapperImpl;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+import ru.practicum.shareit.util.QueryCountInspector;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Неизвестный {@code X-Sharer-User-Id} отсекается без запроса к БД, а новые и удалённые пользователи
+ * сразу учитываются фильтром.
+ */
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({UserExistenceFilter.class, UserServiceImpl.class, UserMapperImpl.class})
+class UserExistenceFilterTest {
+
+    @Autowired
+    UserExistenceFilter userExistenceFilter;
+    @Autowired
+    UserServiceImpl userService;
+    @Autowired
+    UserRepository userRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    User user;
+
+    @BeforeEach
+    void init() {
+        user = userRepository.save(User.builder().name("user").email("user@mail.com").build());
+        userExistenceFilter.rebuild();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM users");
+    }
+
+    @Test
+    void unknownUserIsRejectedWithoutQuery() {
+        long before = QueryCountInspector.count();
+
+        assertThatThrownBy(() -> userService.getById(user.getId() + 1_000_000))
+                .isInstanceOf(NotFoundException.class);
+
+        assertThat(QueryCountInspector.count() - before).isZero();
+    }
+
+    @Test
+    void existingUserPassesFilter() {
+        assertThat(userExistenceFilter.isKnownMissing(user.getId())).isFalse();
+        assertThat(userService.getById(user.getId()).getName()).isEqualTo("user");
+    }
+
+    @Test
+    void createdUserIsKnownWithoutRebuild() {
+        Long id = userService.create(NewUserRequestDto.builder().name("new").email("new@mail.com").build()).getId();
+
+        assertThat(userExistenceFilter.isKnownMissing(id)).isFalse();
+        assertThat(userService.getById(id).getName()).isEqualTo("new");
+    }
+
+    @Test
+    void deletedUserIsRejectedWithoutQuery() {
+        userService.delete(user.getId());
+
+        long before = QueryCountInspector.count();
+        assertThatThrownBy(() -> userService.getById(user.getId()))
+                .isInstanceOf(NotFoundException.class);
+        assertThat(QueryCountInspector.count() - before).isZero();
+    }
+
+    @Test
+    void userAddedBeforeFirstBuildIsKeptEvenIfScanMissesIt() {
+        UserExistenceFilter filter = new UserExistenceFilter(userRepository, 1_000, 0.01, 100, Duration.ofMinutes(1));
+        // Транзакция ещё не зафиксирована: построение фильтра не увидит этот ID в БД
+        long uncommittedId = user.getId() + 1_000;
+        filter.added(uncommittedId);
+
+        filter.rebuild();
+
+        assertThat(filter.isKnownMissing(uncommittedId)).isFalse();
+        assertThat(filter.isKnownMissing(user.getId())).isFalse();
+        assertThat(filter.isKnownMissing(uncommittedId + 1)).isTrue();
+    }
+
+    @Test
+    void lookupDuringUncommittedCreateDoesNotHideUser() throws Exception {
+        CountDownLatch persisted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        AtomicLong createdId = new AtomicLong();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> create = executor.submit(() -> new TransactionTemplate(transactionManager)
+                    .executeWithoutResult(status -> {
+                        createdId.set(userRepository.saveAndFlush(
+                                User.builder().name("new").email("new@mail.com").build()).getId());
+                        persisted.countDown();
+                        awaitUninterruptibly(commit);
+                    }));
+            assertThat(persisted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            // Транзакция создания ещё открыта: ID уже в фильтре, но строки в БД для других транзакций нет
+            assertThatThrownBy(() -> userService.getById(createdId.get()))
+                    .isInstanceOf(NotFoundException.class);
+
+            commit.countDown();
+            create.get(10, TimeUnit.SECONDS);
+            assertThat(userExistenceFilter.isKnownMissing(createdId.get())).isFalse();
+            assertThat(userService.getById(createdId.get()).getName()).isEqualTo("new");
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void missingUserIsRememberedAfterFirstLookup() {
+        userExistenceFilter.markMissing(user.getId() + 1);
+        assertThat(userExistenceFilter.isKnownMissing(user.getId() + 1)).isTrue();
+
+        userExistenceFilter.added(user.getId() + 1);
+        assertThat(userExistenceFilter.isKnownMissing(user.getId() + 1)).isFalse();
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package ru.practicum.shareit.user;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.user.dto.NewUserRequestDto;
@@ -14,6 +17,7 @@ import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.dto.UserUpdateRequestDto;
 import ru.practicum.shareit.user.service.UserServiceImpl;
 
+import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,6 +34,12 @@ class UserServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserExistenceFilter userExistenceFilter;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -65,37 +75,46 @@ class UserServiceImplTest {
 
     @Test
     void create_whenEmailNotExists_thenCreateUser() {
-        when(userRepository.findByEmail(newUserDto.getEmail())).thenReturn(Optional.empty());
         when(userMapper.toEntity(newUserDto)).thenReturn(user);
-        when(userRepository.save(user)).thenReturn(user);
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
         when(userMapper.toDto(user)).thenReturn(responseDto);
 
         UserResponseDto result = userService.create(newUserDto);
 
         assertThat(result).isEqualTo(responseDto);
 
-        verify(userRepository).findByEmail(newUserDto.getEmail());
         verify(userMapper).toEntity(newUserDto);
-        verify(userRepository).save(user);
+        verify(userRepository).saveAndFlush(user);
         verify(userMapper).toDto(user);
+        verifyNoMoreInteractions(userRepository);
     }
 
     @Test
     void create_whenEmailExists_thenThrowConflict() {
-        when(userRepository.findByEmail(newUserDto.getEmail())).thenReturn(Optional.of(user));
+        when(userMapper.toEntity(newUserDto)).thenReturn(user);
+        when(userRepository.saveAndFlush(user)).thenThrow(violation(User.EMAIL_CONSTRAINT));
 
         assertThatThrownBy(() -> userService.create(newUserDto))
                 .isInstanceOf(ConflictException.class)
                 .hasMessageContaining("уже существует");
 
-        verify(userRepository).findByEmail(newUserDto.getEmail());
-        verifyNoMoreInteractions(userRepository, userMapper);
+        verify(userRepository).saveAndFlush(user);
+        verifyNoMoreInteractions(userRepository);
+    }
+
+    @Test
+    void create_whenOtherConstraintViolated_thenRethrow() {
+        DataIntegrityViolationException violation = violation("FK_SOMETHING");
+        when(userMapper.toEntity(newUserDto)).thenReturn(user);
+        when(userRepository.saveAndFlush(user)).thenThrow(violation);
+
+        assertThatThrownBy(() -> userService.create(newUserDto)).isSameAs(violation);
     }
 
     @Test
     void update_whenUserExists_thenUpdateUser() {
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.save(user)).thenReturn(user);
+        when(userRepository.saveAndFlush(user)).thenReturn(user);
         when(userMapper.toDto(user)).thenReturn(responseDto);
 
         UserResponseDto result = userService.update(1L, updateDto);
@@ -104,7 +123,7 @@ class UserServiceImplTest {
 
         verify(userRepository).findById(1L);
         verify(userMapper).updateUserFromDto(updateDto, user);
-        verify(userRepository).save(user);
+        verify(userRepository).saveAndFlush(user);
         verify(userMapper).toDto(user);
     }
 
@@ -122,19 +141,18 @@ class UserServiceImplTest {
 
     @Test
     void update_whenEmailAlreadyUsed_thenThrowConflict() {
-        User anotherUser = User.builder().id(2L).email("other@example.com").build();
         updateDto.setEmail("other@example.com");
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(userRepository.findByEmail("other@example.com")).thenReturn(Optional.of(anotherUser));
+        when(userRepository.saveAndFlush(user)).thenThrow(violation(User.EMAIL_CONSTRAINT.toLowerCase()));
 
         assertThatThrownBy(() -> userService.update(1L, updateDto))
                 .isInstanceOf(ConflictException.class)
                 .hasMessageContaining("уже используется");
 
         verify(userRepository).findById(1L);
-        verify(userRepository).findByEmail("other@example.com");
-        verifyNoMoreInteractions(userRepository, userMapper);
+        verify(userRepository).saveAndFlush(user);
+        verifyNoMoreInteractions(userRepository);
     }
 
     @Test
@@ -181,5 +199,11 @@ class UserServiceImplTest {
         userService.delete(1L);
 
         verify(userRepository).deleteById(1L);
+        verify(eventPublisher).publishEvent(new UserDeletedEvent(1L));
+    }
+
+    private static DataIntegrityViolationException violation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key"), constraintName));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.util;
+
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Замеры для нагрузочных тестов, включаемых флагом {@code -Dshareit.benchmark=true}.
+ * Результаты пишутся в лог на уровне INFO.
+ */
+@Slf4j
+public class Benchmark {
+
+    private Benchmark() {
+    }
+
+    /**
+     * Операция под замером; может бросать проверяемые исключения.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        void run() throws Exception;
+    }
+
+    /**
+     * Выполняет операцию {@code rounds} раз для прогрева, затем ещё {@code rounds} раз под замером.
+     *
+     * @return среднее время одного выполнения в наносекундах
+     */
+    public static long averageNanos(int rounds, Operation operation) {
+        for (int i = 0; i < rounds; i++) {
+            run(operation);
+        }
+        return nanos(() -> {
+            for (int i = 0; i < rounds; i++) {
+                operation.run();
+            }
+        }) / rounds;
+    }
+
+    /**
+     * @return время однократного выполнения операции в наносекундах
+     */
+    @SneakyThrows
+    public static long nanos(Operation operation) {
+        long start = System.nanoTime();
+        operation.run();
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * @return число операций в секунду
+     */
+    public static long perSecond(long operations, long nanos) {
+        return operations * 1_000_000_000L / nanos;
+    }
+
+    /**
+     * Пишет результат замера в лог.
+     *
+     * @param format сообщение с плейсхолдерами SLF4J
+     */
+    public static void report(String format, Object... args) {
+        log.info(format, args);
+    }
+
+    @SneakyThrows
+    private static void run(Operation operation) {
+        operation.run();
+    }
+}
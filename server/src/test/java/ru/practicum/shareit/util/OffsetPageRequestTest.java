@@ -0,0 +1,39 @@
+package ru.practicum.shareit.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.exception.ValidationException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OffsetPageRequestTest {
+
+    @Test
+    void offsetIsNotAlignedToPageSize() {
+        var pageable = OffsetPageRequest.of(3, 2, Sort.by("id"));
+
+        assertThat(pageable.getOffset()).isEqualTo(3);
+        assertThat(pageable.getPageSize()).isEqualTo(2);
+        assertThat(pageable.getSort()).isEqualTo(Sort.by("id"));
+        assertThat(pageable.next().getOffset()).isEqualTo(5);
+        assertThat(pageable.previousOrFirst().getOffset()).isEqualTo(1);
+        assertThat(pageable.first().getOffset()).isZero();
+        assertThat(pageable.hasPrevious()).isTrue();
+    }
+
+    @Test
+    void pageSizeIsLimited() {
+        var pageable = OffsetPageRequest.of(0, OffsetPageRequest.MAX_PAGE_SIZE + 1);
+
+        assertThat(pageable.getPageSize()).isEqualTo(OffsetPageRequest.MAX_PAGE_SIZE);
+        assertThat(pageable.hasPrevious()).isFalse();
+        assertThat(pageable.withPage(2).getOffset()).isEqualTo(2L * OffsetPageRequest.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void invalidParamsAreRejected() {
+        assertThatThrownBy(() -> OffsetPageRequest.of(-1, 10)).isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> OffsetPageRequest.of(0, 0)).isInstanceOf(ValidationException.class);
+    }
+}
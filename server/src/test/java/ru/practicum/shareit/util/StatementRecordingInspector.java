@@ -0,0 +1,40 @@
+package ru.practicum.shareit.util;
+
+/**
+ * Тестовый вариант {@link QueryCountInspector}: помимо счётчика запоминает SQL последнего
+ * запроса текущего потока, чтобы проверять планы выполнения запросов, и отдельно считает
+ * обращения к последовательностям ID.
+ * Подключается только в тестовом {@code application.yml}.
+ */
+public class StatementRecordingInspector extends QueryCountInspector {
+
+    private static final String SEQUENCE_FETCH = "select next value for ";
+    private static final ThreadLocal<String> LAST_STATEMENT = new ThreadLocal<>();
+    private static final ThreadLocal<long[]> SEQUENCE_FETCHES = ThreadLocal.withInitial(() -> new long[1]);
+
+    @Override
+    public String inspect(String sql) {
+        LAST_STATEMENT.set(sql);
+        if (sql.startsWith(SEQUENCE_FETCH)) {
+            SEQUENCE_FETCHES.get()[0]++;
+        }
+        return super.inspect(sql);
+    }
+
+    /**
+     * @return SQL последнего запроса, подготовленного текущим потоком, с JDBC-параметрами {@code ?}
+     */
+    public static String lastStatement() {
+        return LAST_STATEMENT.get();
+    }
+
+    /**
+     * ID выделяются пачками по {@code allocationSize}, поэтому запрос к последовательности приходится
+     * на случайную вставку в зависимости от того, сколько строк вставили предыдущие тесты.
+     *
+     * @return количество запросов к последовательностям, выполненных текущим потоком с момента старта
+     */
+    public static long sequenceFetches() {
+        return SEQUENCE_FETCHES.get()[0];
+    }
+}